@@ -1,19 +1,35 @@
 package app;
 
 import data_access.*;
+import data_access.api.CachingGeminiDataAccessObject;
+import data_access.api.CoalescingGeminiDataAccessObject;
 import data_access.api.GeminiApiDataAccessObject;
+import data_access.api.ResilientRequestExecutor;
+import data_access.file.FileGeminiResponseCache;
 import data_access.file.FilePlanDataAccessObject;
 import data_access.file.FileSubgoalDataAccessObject;
 import data_access.file.FileSubgoalQnaDataAccessObject;
 import data_access.file.FileUserDataAccessObject;
+import data_access.interfaces.file.JsonDataAccess;
+import data_access.interfaces.plan.DeletePlanDataAccessInterface;
+import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
+import data_access.interfaces.plan.SavePlanDataAccessInterface;
+import data_access.interfaces.plan.ShowPlanDataAccessInterface;
+import data_access.interfaces.plan.ShowPlansDataAccessInterface;
+import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalQnaDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
+import data_access.interfaces.user.LoginUserDataAccessInterface;
+import data_access.interfaces.user.LogoutUserDataAccessInterface;
 import entity.user.UserFactory;
 import entity.subgoal.SubgoalBuilder;
 import interface_adapter.DialogManagerModel;
 import interface_adapter.PartialViewModel;
+import interface_adapter.UseCaseExecutor;
 import interface_adapter.ViewManagerModel;
 import interface_adapter.calendar.CalendarViewModel;
+import interface_adapter.calendar.LoadCalendarController;
+import interface_adapter.calendar.LoadCalendarPresenter;
 import interface_adapter.edit_plan.EditPlanController;
 import interface_adapter.edit_plan.EditPlanPresenter;
 import interface_adapter.logged_in.LoggedInViewModel;
@@ -47,6 +63,7 @@ import interface_adapter.subgoal.show_subgoal.ShowSubgoalViewModel;
 import interface_adapter.subgoal.subgoal_qna.SubgoalQnaController;
 import interface_adapter.subgoal.subgoal_qna.SubgoalQnaPresenter;
 import interface_adapter.subgoal.subgoal_qna.SubgoalQnaViewModel;
+import use_case.edit_plan.EditPlanDataAccessInterface;
 import use_case.edit_plan.EditPlanInputBoundary;
 import use_case.edit_plan.EditPlanInteractor;
 import use_case.edit_plan.EditPlanOutputBoundary;
@@ -73,6 +90,7 @@ import use_case.plan.show_plans.ShowPlansInteractor;
 import use_case.plan.show_plans.ShowPlansOutputBoundary;
 import use_case.remember_me.RememberMeInteractor;
 import use_case.signup.SignupInputBoundary;
+import use_case.signup.SignupUserDataAccessInterface;
 import use_case.signup.SignupInteractor;
 import use_case.signup.SignupOutputBoundary;
 import use_case.subgoal.show_subgoal.ShowSubgoalInputBoundary;
@@ -89,9 +107,14 @@ import view.plan.ShowPlansView;
 
 import javax.swing.*;
 import java.awt.*;
+import java.time.Duration;
 import java.util.HashMap;
+import use_case.load_calendar.LoadCalendarInputBoundary;
+import use_case.load_calendar.LoadCalendarInteractor;
+import use_case.load_calendar.LoadCalendarOutputBoundary;
 import use_case.filter_subgoals.FilterSubgoalsInputBoundary;
 import use_case.filter_subgoals.FilterSubgoalsInteractor;
+import use_case.filter_subgoals.FilterSubgoalsOutputBoundary;
 import view.subgoal.ShowSubgoalView;
 import view.subgoal.SubgoalQnaView;
 import view.view_manager.DialogManager;
@@ -100,7 +123,26 @@ import view.view_manager.ViewManager;
 
 // Delete Plan functionality added
 public class AppBuilder {
+    // number of journaled writes after which a file store is compacted into a new snapshot
+    private static final int JOURNAL_COMPACTION_THRESHOLD = 500;
+    // number of use cases that may run at the same time off the event dispatch thread
+    private static final int USE_CASE_THREADS = 4;
+    // repeated plan requests and questions are answered from disk instead of calling Gemini
+    private static final int GEMINI_CACHE_SIZE = 1000;
+    private static final Duration GEMINI_CACHE_MAX_AGE = Duration.ofDays(7);
+    // Gemini is called at most this often, failed calls are retried, and calls stop for a
+    // while after repeated failures
+    private static final double GEMINI_REQUESTS_PER_SECOND = 1;
+    private static final int GEMINI_MAX_ATTEMPTS = 4;
+    private static final int GEMINI_FAILURE_THRESHOLD = 5;
+    private static final Duration GEMINI_CIRCUIT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    // creates the file stores and the Gemini client in the background and times every startup phase
+    private final StartupLoader startupLoader = new StartupLoader();
+
     final UserFactory userFactory = new UserFactory();
+    // runs every interactor in the background and delivers presenter calls on the EDT
+    final UseCaseExecutor useCaseExecutor = new UseCaseExecutor(USE_CASE_THREADS);
 
     private final JPanel cardPanel = new JPanel();
     private final CardLayout cardLayout = new CardLayout();
@@ -117,25 +159,42 @@ public class AppBuilder {
     // set which data access implementation to use, can be any
     // of the classes from the data_access package
 
-    // DAO version using local file storage
-    final FileUserDataAccessObject userDataAccessObject = new FileUserDataAccessObject("users.json");
-    final FileSubgoalDataAccessObject subgoalDataAccessObject = new FileSubgoalDataAccessObject(
-            "subgoals.json",
-            new SubgoalBuilder());
+    // DAO version using local file storage, loaded in parallel while the first screen is built;
+    // use cases get their interfaces right away, and calls through them wait for the load
+    final Deferred<FileUserDataAccessObject> userDataAccessObject = startupLoader.load("users.json",
+            () -> journaled(new FileUserDataAccessObject("users.json")));
+    final Deferred<FileSubgoalDataAccessObject> subgoalDataAccessObject = startupLoader.load("subgoals.json",
+            () -> journaled(new FileSubgoalDataAccessObject("subgoals.json", new SubgoalBuilder())));
     // DAO version using a shared external database
 
     // Plan data access object - loads from JSON file
     // To use JSON file: new InMemoryPlanDataAccessObject("plans.json")
     // To use demo data: new InMemoryPlanDataAccessObject()
-    final FilePlanDataAccessObject planDataAccessObject = new FilePlanDataAccessObject("plans.json");
-
-    private ShowPlansView showPlansView;
+    final Deferred<FilePlanDataAccessObject> planDataAccessObject = startupLoader.load("plans.json",
+            () -> journaled(new FilePlanDataAccessObject("plans.json")));
+    final Deferred<FileSubgoalQnaDataAccessObject> subgoalQnaDataAccessObject = startupLoader.load(
+            "subgoal_qna.json", () -> journaled(new FileSubgoalQnaDataAccessObject("subgoal_qna.json")));
+
+    final Deferred<FileGeminiResponseCache> geminiResponseCache = startupLoader.load("gemini_cache.json",
+            () -> journaled(new FileGeminiResponseCache("gemini_cache.json", GEMINI_CACHE_SIZE,
+                    GEMINI_CACHE_MAX_AGE)));
+    final Deferred<CachingGeminiDataAccessObject> generatePlanDataAccessObject = startupLoader.load(
+            "Gemini client", () -> {
+                final GeminiApiDataAccessObject geminiApiDataAccessObject = new GeminiApiDataAccessObject(
+                        new ResilientRequestExecutor(GEMINI_REQUESTS_PER_SECOND, GEMINI_MAX_ATTEMPTS,
+                                GEMINI_FAILURE_THRESHOLD, GEMINI_CIRCUIT_OPEN_DURATION));
+                // identical requests in flight at the same time share one call to Gemini
+                final CoalescingGeminiDataAccessObject coalescingGeminiDataAccessObject =
+                        new CoalescingGeminiDataAccessObject(geminiApiDataAccessObject, geminiApiDataAccessObject);
+                return new CachingGeminiDataAccessObject(coalescingGeminiDataAccessObject,
+                        coalescingGeminiDataAccessObject, geminiResponseCache.get());
+            });
+
+    // every view but the login view is built the first time it is shown
+    private LazyView<MainPageView> mainPageView;
+    private LazyView<SignupView> signupView;
+    private LazyView<ShowPlansView> showPlansView;
     private ShowPlansViewModel showPlansViewModel;
-
-    final GeminiApiDataAccessObject generatePlanDataAccessObject = new GeminiApiDataAccessObject();
-
-    private MainPageView  mainPageView;
-    private SignupView signupView;
     private SignupViewModel signupViewModel;
     private LoginViewModel loginViewModel;
     private LoggedInViewModel loggedInViewModel;
@@ -146,40 +205,51 @@ public class AppBuilder {
     private ShowSubgoalViewModel showSubgoalViewModel;
     private SubgoalQnaViewModel subgoalQnaViewModel;
     private LoginView loginView;
-    private GeneratePlanView generatePlanView;
-    private ShowPlanView showPlanView;
-    private SavePlanView savePlanView;
-    private CalendarView calendarView;
-    private ShowSubgoalView showSubgoalView;
-    private SubgoalQnaView subgoalQnaView;
+    private LazyView<GeneratePlanView> generatePlanView;
+    private LazyView<ShowPlanView> showPlanView;
+    private LazyView<SavePlanView> savePlanView;
+    private LazyView<CalendarView> calendarView;
+    private LazyView<ShowSubgoalView> showSubgoalView;
+    private LazyView<SubgoalQnaView> subgoalQnaView;
     private FilterSubgoalsController filterSubgoalsController;
 
 
     public AppBuilder() {
         cardPanel.setLayout(cardLayout);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (geminiResponseCache.isDone()) {
+                System.out.println(geminiResponseCache.get().getStatsSummary());
+            }
+        }, "gemini-cache-stats"));
+    }
+
+    private static <S extends JsonDataAccess<?>> S journaled(S store) {
+        store.enableJournal(JOURNAL_COMPACTION_THRESHOLD);
+        return store;
     }
 
     public AppBuilder addMainView()
     {
-        mainPageView = new MainPageView(viewManagerModel,
+        mainPageView = new LazyView<>(() -> new MainPageView(viewManagerModel,
                 partialViewModel,
                 showPlansViewModel,
-                partialViewManager);
-        cardPanel.add(mainPageView, mainPageView.getViewName());
+                partialViewManager));
+        viewManager.registerView(MainPageView.VIEW_NAME, mainPageView::get);
         return this;
     }
 
     public AppBuilder addSignupView() {
         signupViewModel = new SignupViewModel();
-        signupView = new SignupView(signupViewModel);
-        cardPanel.add(signupView, signupView.getViewName());
+        signupView = new LazyView<>(() -> new SignupView(signupViewModel));
+        viewManager.registerView(SignupView.VIEW_NAME, signupView::get);
         return this;
     }
 
     public AppBuilder addShowPlansView() {
         showPlansViewModel = new ShowPlansViewModel();
-        showPlansView = new ShowPlansView(showPlansViewModel, savePlanViewModel);
-        partialViews.put(showPlansView.getViewName(), showPlansView);
+        showPlansView = new LazyView<>(() -> new ShowPlansView(showPlansViewModel, savePlanViewModel))
+                .catchUpWith(showPlansViewModel);
+        partialViewManager.registerView(ShowPlansView.VIEW_NAME, showPlansView::get);
         return this;
     }
 
@@ -189,8 +259,10 @@ public class AppBuilder {
         PreferenceRepository preferenceRepository = new PreferenceRepository();
         RememberMeInteractor rememberMeUseCase = new RememberMeInteractor(preferenceRepository);
 
-        loginView = new LoginView(loginViewModel, rememberMeUseCase);
-        cardPanel.add(loginView, loginView.getViewName());
+        startupLoader.time("login view", () -> {
+            loginView = new LoginView(loginViewModel, rememberMeUseCase);
+            cardPanel.add(loginView, loginView.getViewName());
+        });
         return this;
     }
 
@@ -201,78 +273,87 @@ public class AppBuilder {
     }
     public AppBuilder addCalendarView() {
         calendarViewModel = new CalendarViewModel();
-        calendarView = new CalendarView(calendarViewModel, subgoalDataAccessObject);
-        partialViews.put(calendarView.getViewName(), calendarView);
+        calendarView = new LazyView<>(() -> new CalendarView(calendarViewModel));
+        partialViewManager.registerView(CalendarView.VIEW_NAME, calendarView::get);
         return this;
     }
 
+    // dialog views are built when they are first opened, after their view model was updated,
+    // so they catch up with its state
     public AppBuilder addSubgoalQnaView() {
         subgoalQnaViewModel = new SubgoalQnaViewModel();
-        subgoalQnaView = new SubgoalQnaView(subgoalQnaViewModel);
-        dialogViews.put(subgoalQnaView.getViewName(), subgoalQnaView);
+        subgoalQnaView = new LazyView<>(() -> new SubgoalQnaView(subgoalQnaViewModel))
+                .catchUpWith(subgoalQnaViewModel);
+        dialogManager.registerView(SubgoalQnaView.VIEW_NAME, subgoalQnaView::get);
         return this;
     }
 
     public AppBuilder addShowSubgoalView() {
         showSubgoalViewModel = new ShowSubgoalViewModel();
-        showSubgoalView = new ShowSubgoalView(showSubgoalViewModel);
-        dialogViews.put(showSubgoalView.getViewName(), showSubgoalView);
+        showSubgoalView = new LazyView<>(() -> new ShowSubgoalView(showSubgoalViewModel))
+                .catchUpWith(showSubgoalViewModel);
+        dialogManager.registerView(ShowSubgoalView.VIEW_NAME, showSubgoalView::get);
         return this;
     }
 
     public AppBuilder addGeneratePlanView() {
         generatePlanViewModel = new GeneratePlanViewModel();
-        generatePlanView = new GeneratePlanView(generatePlanViewModel);
-        partialViews.put(generatePlanView.getViewName(), generatePlanView);
+        generatePlanView = new LazyView<>(() -> new GeneratePlanView(generatePlanViewModel));
+        partialViewManager.registerView(GeneratePlanView.VIEW_NAME, generatePlanView::get);
         return this;
     }
 
     public AppBuilder addShowPlanView() {
         showPlanViewModel = new ShowPlanViewModel();
-        showPlanView = new ShowPlanView(showPlanViewModel);
-        dialogViews.put(showPlanView.getViewName(), showPlanView);
+        showPlanView = new LazyView<>(() -> new ShowPlanView(showPlanViewModel)).catchUpWith(showPlanViewModel);
+        dialogManager.registerView(ShowPlanView.VIEW_NAME, showPlanView::get);
         return this;
     }
 
     public AppBuilder addSavePlanView() {
         savePlanViewModel = new SavePlanViewModel();
-        savePlanView = new SavePlanView(savePlanViewModel);
-        dialogViews.put(savePlanView.getViewName(), savePlanView);
+        savePlanView = new LazyView<>(() -> new SavePlanView(savePlanViewModel)).catchUpWith(savePlanViewModel);
+        dialogManager.registerView(SavePlanView.VIEW_NAME, savePlanView::get);
         return this;
     }
 
     public AppBuilder addSignupUseCase() {
-        final SignupOutputBoundary signupOutputBoundary = new SignupPresenter(viewManagerModel,
-                signupViewModel, loginViewModel);
-        final SignupInputBoundary userSignupInteractor = new SignupInteractor(
-                userDataAccessObject, signupOutputBoundary, userFactory);
+        final SignupOutputBoundary signupOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                SignupOutputBoundary.class, new SignupPresenter(viewManagerModel, signupViewModel, loginViewModel));
+        final SignupInputBoundary userSignupInteractor = useCaseExecutor.runInBackground(
+                SignupInputBoundary.class,
+                new SignupInteractor(userDataAccessObject.as(SignupUserDataAccessInterface.class), signupOutputBoundary, userFactory));
 
         SignupController controller = new SignupController(userSignupInteractor);
-        signupView.setSignupController(controller);
+        signupView.configure(view -> view.setSignupController(controller));
         return this;
     }
 
     public AppBuilder addEditPlanUseCase() {
-        final EditPlanOutputBoundary editPlanOutputBoundary =
-                new EditPlanPresenter(showPlansViewModel);
+        final EditPlanOutputBoundary editPlanOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                EditPlanOutputBoundary.class, new EditPlanPresenter(showPlansViewModel));
 
-        final EditPlanInputBoundary editPlanInteractor =
-                new EditPlanInteractor(planDataAccessObject, editPlanOutputBoundary);
+        final EditPlanInputBoundary editPlanInteractor = useCaseExecutor.runInBackground(
+                EditPlanInputBoundary.class, new EditPlanInteractor(
+                        planDataAccessObject.as(EditPlanDataAccessInterface.class), editPlanOutputBoundary));
 
         final EditPlanController editPlanController =
                 new EditPlanController(editPlanInteractor);
 
-        showPlansView.setEditPlanController(editPlanController);
+        showPlansView.configure(view -> view.setEditPlanController(editPlanController));
         return this;
     }
 
 
     public AppBuilder addLoginUseCase() {
-        final LoginOutputBoundary loginOutputBoundary = new LoginPresenter(viewManagerModel,
-                loggedInViewModel, loginViewModel, signupViewModel, calendarViewModel, showPlansViewModel,
-                showPlanViewModel);
-        final LoginInputBoundary loginInteractor = new LoginInteractor(
-                userDataAccessObject, loginOutputBoundary);
+        final LoginOutputBoundary loginOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                LoginOutputBoundary.class, new LoginPresenter(viewManagerModel,
+                        loggedInViewModel, loginViewModel, signupViewModel, calendarViewModel, showPlansViewModel,
+                        showPlanViewModel));
+        final LoginInputBoundary loginInteractor = useCaseExecutor.runInBackground(
+                LoginInputBoundary.class, new LoginInteractor(
+                        userDataAccessObject.as(LoginUserDataAccessInterface.class), loginOutputBoundary,
+                        planDataAccessObject.as(ShowPlansDataAccessInterface.class)));
 
         LoginController loginController = new LoginController(loginInteractor);
         loginView.setLoginController(loginController);
@@ -284,27 +365,43 @@ public class AppBuilder {
      * @return this builder
      */
     public AppBuilder addShowPlansUseCase() {
-        final ShowPlansOutputBoundary showPlansOutputBoundary = new ShowPlansPresenter(
-                viewManagerModel, showPlansViewModel);
+        final ShowPlansOutputBoundary showPlansOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                ShowPlansOutputBoundary.class, new ShowPlansPresenter(viewManagerModel, showPlansViewModel));
 
-        final ShowPlansInputBoundary showPlansInteractor =
-                new ShowPlansInteractor(planDataAccessObject, showPlansOutputBoundary);
+        final ShowPlansInputBoundary showPlansInteractor = useCaseExecutor.runInBackground(
+                ShowPlansInputBoundary.class, new ShowPlansInteractor(
+                        planDataAccessObject.as(ShowPlansDataAccessInterface.class), showPlansOutputBoundary));
 
         final ShowPlansController showPlansController = new ShowPlansController(showPlansInteractor);
-        showPlansView.setShowPlansController(showPlansController);
-        mainPageView.setShowPlansController(showPlansController);
+        showPlansView.configure(view -> view.setShowPlansController(showPlansController));
+        mainPageView.configure(view -> view.setShowPlansController(showPlansController));
+        return this;
+    }
+
+    public AppBuilder addLoadCalendarUseCase() {
+        final LoadCalendarOutputBoundary loadCalendarPresenter = useCaseExecutor.deliverOnEventThread(
+                LoadCalendarOutputBoundary.class, new LoadCalendarPresenter(calendarViewModel));
+        final LoadCalendarInputBoundary loadCalendarInteractor = useCaseExecutor.runInBackground(
+                LoadCalendarInputBoundary.class,
+                new LoadCalendarInteractor(subgoalDataAccessObject.as(SubgoalDataAccessInterface.class),
+                        loadCalendarPresenter));
+        final LoadCalendarController loadCalendarController = new LoadCalendarController(loadCalendarInteractor);
+        calendarView.configure(view -> view.setLoadCalendarController(loadCalendarController));
         return this;
     }
 
     public AppBuilder addFilterSubgoalsUseCase() {
-        final FilterSubgoalsPresenter filterSubgoalsPresenter = new FilterSubgoalsPresenter(calendarViewModel);
-        final FilterSubgoalsInputBoundary filterSubgoalsInteractor =
-                new FilterSubgoalsInteractor(subgoalDataAccessObject, filterSubgoalsPresenter);
+        final FilterSubgoalsOutputBoundary filterSubgoalsPresenter = useCaseExecutor.deliverOnEventThread(
+                FilterSubgoalsOutputBoundary.class, new FilterSubgoalsPresenter(calendarViewModel));
+        final FilterSubgoalsInputBoundary filterSubgoalsInteractor = useCaseExecutor.runInBackground(
+                FilterSubgoalsInputBoundary.class,
+                new FilterSubgoalsInteractor(subgoalDataAccessObject.as(SubgoalDataAccessInterface.class),
+                        filterSubgoalsPresenter));
         filterSubgoalsController = new FilterSubgoalsController(filterSubgoalsInteractor);
 
         System.out.println("AppBuilder: Created filterSubgoalsController: " + filterSubgoalsController);
 
-        calendarView.setFilterSubgoalsController(filterSubgoalsController);
+        calendarView.configure(view -> view.setFilterSubgoalsController(filterSubgoalsController));
         return this;
     }
 
@@ -313,87 +410,100 @@ public class AppBuilder {
      * @return this builder
      */
     public AppBuilder addDeletePlanUseCase() {
-        final DeletePlanOutputBoundary deletePlanOutputBoundary = new DeletePlanPresenter(showPlansViewModel, calendarViewModel);
+        final DeletePlanOutputBoundary deletePlanOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                DeletePlanOutputBoundary.class, new DeletePlanPresenter(showPlansViewModel, calendarViewModel));
 
-        final DeletePlanInputBoundary deletePlanInteractor =
-                new DeletePlanInteractor(planDataAccessObject, deletePlanOutputBoundary, subgoalDataAccessObject);
+        final DeletePlanInputBoundary deletePlanInteractor = useCaseExecutor.runInBackground(
+                DeletePlanInputBoundary.class,
+                new DeletePlanInteractor(planDataAccessObject.as(DeletePlanDataAccessInterface.class),
+                        deletePlanOutputBoundary, subgoalDataAccessObject.as(SubgoalDataAccessInterface.class),
+                        subgoalQnaDataAccessObject.as(SubgoalQnaDataAccessInterface.class)));
 
         final DeletePlanController deletePlanController = new DeletePlanController(deletePlanInteractor);
-        showPlansView.setDeletePlanController(deletePlanController);
+        showPlansView.configure(view -> view.setDeletePlanController(deletePlanController));
         return this;
     }
 
     public AppBuilder addGeneratePlanUseCase() {
-        final GeneratePlanOutputBoundary generatePlanOutputBoundary = new GeneratePlanPresenter(generatePlanViewModel);
-        final GeneratePlanInputBoundary generatePlanInteractor = new GeneratePlanInteractor(
-                generatePlanDataAccessObject, generatePlanOutputBoundary);
+        final GeneratePlanOutputBoundary generatePlanOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                GeneratePlanOutputBoundary.class, new GeneratePlanPresenter(generatePlanViewModel));
+        final GeneratePlanInputBoundary generatePlanInteractor = useCaseExecutor.runInBackground(
+                GeneratePlanInputBoundary.class,
+                new GeneratePlanInteractor(generatePlanDataAccessObject.as(GeneratePlanDataAccessInterface.class),
+                        generatePlanOutputBoundary));
         GeneratePlanController generatePlanController = new GeneratePlanController(generatePlanInteractor);
-        generatePlanView.setGeneratePlanController(generatePlanController);
+        generatePlanView.configure(view -> view.setGeneratePlanController(generatePlanController));
         return this;
     }
 
     public AppBuilder addSavePlanUseCase() {
-        final SavePlanOutputBoundary savePlanOutputBoundary = new SavePlanPresenter(savePlanViewModel,
-                dialogManagerModel, calendarViewModel);
-        final SavePlanInputBoundary savePlanInteractor = new SavePlanInteractor(savePlanOutputBoundary,
-                planDataAccessObject, subgoalDataAccessObject);
+        final SavePlanOutputBoundary savePlanOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                SavePlanOutputBoundary.class,
+                new SavePlanPresenter(savePlanViewModel, dialogManagerModel, calendarViewModel));
+        final SavePlanInputBoundary savePlanInteractor = useCaseExecutor.runInBackground(
+                SavePlanInputBoundary.class,
+                new SavePlanInteractor(savePlanOutputBoundary,
+                        planDataAccessObject.as(SavePlanDataAccessInterface.class),
+                        subgoalDataAccessObject.as(SubgoalDataAccessInterface.class)));
         SavePlanController savePlanController = new SavePlanController(savePlanInteractor);
-        showPlanView.setSavePlanController(savePlanController);
+        showPlanView.configure(view -> view.setSavePlanController(savePlanController));
         return this;
     }
 
     public AppBuilder addShowPlanUseCase() {
-        final ShowPlanOutputBoundary showPlanOutputBoundary = new ShowPlanPresenter(showPlanViewModel,
-                dialogManagerModel);
-        final ShowPlanInputBoundary showPlanInteractor = new ShowPlanInteractor(showPlanOutputBoundary,
-                planDataAccessObject);
+        final ShowPlanOutputBoundary showPlanOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                ShowPlanOutputBoundary.class, new ShowPlanPresenter(showPlanViewModel, dialogManagerModel));
+        final ShowPlanInputBoundary showPlanInteractor = useCaseExecutor.runInBackground(
+                ShowPlanInputBoundary.class, new ShowPlanInteractor(showPlanOutputBoundary,
+                        planDataAccessObject.as(ShowPlanDataAccessInterface.class)));
         ShowPlanController showPlanController = new ShowPlanController(showPlanInteractor);
-        generatePlanView.setShowPlanController(showPlanController);
+        generatePlanView.configure(view -> view.setShowPlanController(showPlanController));
         return this;
     }
 
     public AppBuilder addShowSubgoalUseCase() {
-        ShowSubgoalOutputBoundary showSubgoalPresenter = new ShowSubgoalPresenter(
+        final ShowSubgoalPresenter showSubgoalPresenter = new ShowSubgoalPresenter(
                 showSubgoalViewModel, dialogManagerModel, calendarViewModel);
 
         // Pass FilterSubgoalsController so presenter can re-apply filters after changes
         System.out.println("AppBuilder.addShowSubgoalUseCase: filterSubgoalsController is " +
                          (filterSubgoalsController == null ? "NULL" : "NOT NULL"));
         if (filterSubgoalsController != null) {
-            ((ShowSubgoalPresenter) showSubgoalPresenter).setFilterSubgoalsController(filterSubgoalsController);
+            showSubgoalPresenter.setFilterSubgoalsController(filterSubgoalsController);
             System.out.println("AppBuilder: Set filterSubgoalsController on ShowSubgoalPresenter");
         } else {
             System.out.println("AppBuilder: WARNING - filterSubgoalsController is null! Cannot set on presenter.");
         }
 
-        ShowSubgoalInputBoundary showSubgoalInteractor = new ShowSubgoalInteractor(
-                subgoalDataAccessObject,
-                showSubgoalPresenter);
+        ShowSubgoalInputBoundary showSubgoalInteractor = useCaseExecutor.runInBackground(
+                ShowSubgoalInputBoundary.class,
+                new ShowSubgoalInteractor(subgoalDataAccessObject.as(SubgoalDataAccessInterface.class),
+                        useCaseExecutor.deliverOnEventThread(ShowSubgoalOutputBoundary.class, showSubgoalPresenter)));
         ShowSubgoalController showSubgoalController = new ShowSubgoalController(showSubgoalInteractor);
 
-        showSubgoalView.setShowSubgoalController(showSubgoalController);
-        calendarView.setShowSubgoalController(showSubgoalController);
+        showSubgoalView.configure(view -> view.setShowSubgoalController(showSubgoalController));
+        calendarView.configure(view -> view.setShowSubgoalController(showSubgoalController));
 
-        showPlansView.setShowSubgoalController(showSubgoalController);
+        showPlansView.configure(view -> view.setShowSubgoalController(showSubgoalController));
 
         return this;
     }
 
     public AppBuilder addSubgoalQnaUseCase() {
-        SubgoalQnaDataAccessInterface subgoalQnaDataAccessObject =
-                new FileSubgoalQnaDataAccessObject("subgoal_qna.json");
-        SubgoalQnaOutputBoundary subgoalQnaPresenter =
-                new SubgoalQnaPresenter(subgoalQnaViewModel, dialogManagerModel);
-        SubgoalQnaGeminiDataAccessInterface qnaGeminiGateway = generatePlanDataAccessObject;
-        SubgoalQnaInputBoundary subgoalQnaInteractor =
-                new SubgoalQnaInteractor(subgoalQnaDataAccessObject,
-                        subgoalDataAccessObject,
+        SubgoalQnaOutputBoundary subgoalQnaPresenter = useCaseExecutor.deliverOnEventThread(
+                SubgoalQnaOutputBoundary.class, new SubgoalQnaPresenter(subgoalQnaViewModel, dialogManagerModel));
+        SubgoalQnaGeminiDataAccessInterface qnaGeminiGateway =
+                generatePlanDataAccessObject.as(SubgoalQnaGeminiDataAccessInterface.class);
+        SubgoalQnaInputBoundary subgoalQnaInteractor = useCaseExecutor.runInBackground(
+                SubgoalQnaInputBoundary.class,
+                new SubgoalQnaInteractor(subgoalQnaDataAccessObject.as(SubgoalQnaDataAccessInterface.class),
+                        subgoalDataAccessObject.as(SubgoalDataAccessInterface.class),
                         qnaGeminiGateway,
-                        subgoalQnaPresenter);
+                        subgoalQnaPresenter));
         SubgoalQnaController subgoalQnaController =
                 new SubgoalQnaController(subgoalQnaInteractor);
-        subgoalQnaView.setSubgoalQnaController(subgoalQnaController);
-        showSubgoalView.setQnaController(subgoalQnaController);
+        subgoalQnaView.configure(view -> view.setSubgoalQnaController(subgoalQnaController));
+        showSubgoalView.configure(view -> view.setQnaController(subgoalQnaController));
         return this;
     }
 
@@ -402,14 +512,15 @@ public class AppBuilder {
      * @return this builder
      */
     public AppBuilder addLogoutUseCase() {
-        final LogoutOutputBoundary logoutOutputBoundary = new LogoutPresenter(viewManagerModel,
-                loggedInViewModel, loginViewModel);
+        final LogoutOutputBoundary logoutOutputBoundary = useCaseExecutor.deliverOnEventThread(
+                LogoutOutputBoundary.class, new LogoutPresenter(viewManagerModel, loggedInViewModel, loginViewModel));
 
-        final LogoutInputBoundary logoutInteractor =
-                new LogoutInteractor(userDataAccessObject, logoutOutputBoundary);
+        final LogoutInputBoundary logoutInteractor = useCaseExecutor.runInBackground(
+                LogoutInputBoundary.class, new LogoutInteractor(
+                        userDataAccessObject.as(LogoutUserDataAccessInterface.class), logoutOutputBoundary));
 
         final LogoutController logoutController = new LogoutController(logoutInteractor);
-        mainPageView.setLogoutController(logoutController);
+        mainPageView.configure(view -> view.setLogoutController(logoutController));
         return this;
     }
 
@@ -419,15 +530,25 @@ public class AppBuilder {
 
         application.add(cardPanel);
 
-        partialViewModel.setState("CalendarView");
+        partialViewModel.setState(CalendarView.VIEW_NAME);
         partialViewModel.firePropertyChange();
 
-        viewManagerModel.setState(signupView.getViewName());
-        viewManagerModel.firePropertyChange();
+        startupLoader.time("first screen", () -> {
+            viewManagerModel.setState(SignupView.VIEW_NAME);
+            viewManagerModel.firePropertyChange();
+        });
 
         return application;
     }
 
+    /**
+     * Reports how long each startup phase took: the phases that build the first screen now,
+     * and the stores and the Gemini client loading in the background once they are ready.
+     */
+    public void reportStartupTimings() {
+        startupLoader.report();
+    }
+
 
 
 
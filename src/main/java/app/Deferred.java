@@ -0,0 +1,87 @@
+package app;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Deferred is an object that is still being created in the background, such as a data store
+ * loading its file. Its interfaces can be handed out right away: calls made through them wait
+ * until the object is ready.
+ *
+ * @param <T> the type of the object
+ */
+final class Deferred<T> {
+
+    private final CompletableFuture<T> future;
+
+    Deferred(CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    /**
+     * Returns the object, waiting for it to be created if needed.
+     *
+     * @return the object
+     * @throws IllegalStateException if creating the object failed
+     */
+    T get() {
+        try {
+            return future.join();
+        }
+        catch (CompletionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Returns whether the object has been created, successfully or not.
+     *
+     * @return true once creating the object has finished
+     */
+    boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Returns one of the object's interfaces. The first call through it waits for the object
+     * to be created.
+     *
+     * @param type the interface to return
+     * @param <I>  the interface type
+     * @return the interface, backed by the object once it is created
+     */
+    <I> I as(Class<I> type) {
+        final Object proxy = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (self, method, args) -> invoke(get(), method, args));
+        return type.cast(proxy);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+        catch (InvocationTargetException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package app;
+
+import interface_adapter.ViewModel;
+
+import javax.swing.*;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * LazyView is a view that is only built when it is first shown. Controllers can be set on it
+ * before that; they are set on the view as soon as it is built. Like every Swing component,
+ * it is only used on the event dispatch thread, or before the window is shown.
+ *
+ * @param <V> the type of the view
+ */
+final class LazyView<V extends JPanel> {
+
+    private final Supplier<V> factory;
+    private final List<Consumer<? super V>> setup = new ArrayList<>();
+    private ViewModel<?> viewModel;
+    private V view;
+
+    LazyView(Supplier<V> factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Brings the view up to date with the state of a view model when it is built, for views
+     * whose view model is updated before they are first shown.
+     *
+     * @param stateViewModel the view model the view listens to
+     * @return this lazy view
+     */
+    LazyView<V> catchUpWith(ViewModel<?> stateViewModel) {
+        this.viewModel = stateViewModel;
+        return this;
+    }
+
+    /**
+     * Applies a setup step, such as setting a controller, to the view once it is built.
+     *
+     * @param step the setup step
+     */
+    void configure(Consumer<? super V> step) {
+        if (view != null) {
+            step.accept(view);
+        }
+        else {
+            setup.add(step);
+        }
+    }
+
+    /**
+     * Returns the view, building it the first time.
+     *
+     * @return the view
+     */
+    V get() {
+        if (view == null) {
+            view = factory.get();
+            for (Consumer<? super V> step : setup) {
+                step.accept(view);
+            }
+            setup.clear();
+            if (viewModel != null && view instanceof PropertyChangeListener) {
+                ((PropertyChangeListener) view).propertyChange(
+                        new PropertyChangeEvent(viewModel, "state", null, viewModel.getState()));
+            }
+        }
+        return view;
+    }
+}
@@ -12,9 +12,11 @@ public class Main {
     /**
      * The main entry point of the application.
      * This method performs the following steps:
-     * - Creates an AppBuilder instance.
+     * - Creates an AppBuilder instance, which starts loading the data stores and the
+     *   Gemini client in the background.
      * - Adds all required views: login, signup, logged-in, generate plan, show plan,
      *   save plan, calendar, subgoal Q&A, show subgoal, show plans, and the main view.
+     *   Only the login view is built right away; the others are built when first shown.
      * - Adds all required use cases: signup, login, generate plan, save plan,
      *   show plan, filter subgoals, show subgoal, subgoal Q&A, logout, show plans,
      *   and delete plan.
@@ -22,6 +24,7 @@ public class Main {
      * - Sets the window size.
      * - Centers the window on the screen.
      * - Makes the window visible.
+     * - Reports how long each startup phase took.
      *
      * @param args command-line arguments (not used)
      */
@@ -45,6 +48,7 @@ public class Main {
                 .addGeneratePlanUseCase()
                 .addSavePlanUseCase()
                 .addShowPlanUseCase()
+                .addLoadCalendarUseCase()
                 .addFilterSubgoalsUseCase()
                 .addShowSubgoalUseCase()
                 .addSubgoalQnaUseCase()
@@ -59,5 +63,6 @@ public class Main {
         application.setSize(windowWidth, windowHeight);
         application.setLocationRelativeTo(null);
         application.setVisible(true);
+        appBuilder.reportStartupTimings();
     }
 }
@@ -0,0 +1,104 @@
+package app;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * StartupLoader creates the slow parts of the application, such as the file stores, in
+ * parallel in the background while the first screen is built, and times every startup phase.
+ */
+final class StartupLoader {
+
+    private final long startNanos = System.nanoTime();
+    private final ExecutorService loaders = Executors.newCachedThreadPool(runnable -> {
+        final Thread thread = new Thread(runnable, "startup-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<CompletableFuture<?>> loads = new ArrayList<>();
+    // phases run on the calling thread, in the order they ran
+    private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+    // phases run in the background, in the order they finished
+    private final Map<String, Long> loadMillis = new LinkedHashMap<>();
+
+    /**
+     * Starts creating an object in the background.
+     *
+     * @param phase   the name the time taken is reported under
+     * @param factory creates the object
+     * @param <T>     the type of the object
+     * @return the object being created
+     */
+    <T> Deferred<T> load(String phase, Supplier<T> factory) {
+        final CompletableFuture<T> load = CompletableFuture.supplyAsync(() -> {
+            final long start = System.nanoTime();
+            try {
+                return factory.get();
+            }
+            finally {
+                record(loadMillis, phase, start);
+            }
+        }, loaders);
+        load.whenComplete((ignored, ex) -> {
+            if (ex != null) {
+                System.err.println("Could not load " + phase + ": " + ex.getCause());
+            }
+        });
+        loads.add(load);
+        return new Deferred<>(load);
+    }
+
+    /**
+     * Runs a phase on the calling thread and records how long it took.
+     *
+     * @param phase the name the time taken is reported under
+     * @param step  the work to do
+     */
+    void time(String phase, Runnable step) {
+        final long start = System.nanoTime();
+        try {
+            step.run();
+        }
+        finally {
+            record(phaseMillis, phase, start);
+        }
+    }
+
+    /**
+     * Reports the phases run so far with the time the first screen took to appear, and the
+     * background phases once they have all finished.
+     */
+    void report() {
+        System.out.println("Startup: first screen after " + elapsedMillis() + " ms (" + describe(phaseMillis) + ")");
+        CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, ex) -> {
+            System.out.println("Startup: data ready after " + elapsedMillis() + " ms (" + describe(loadMillis) + ")");
+            loaders.shutdown();
+        });
+    }
+
+    private static void record(Map<String, Long> timings, String phase, long startNanos) {
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        synchronized (timings) {
+            timings.put(phase, millis);
+        }
+    }
+
+    private static String describe(Map<String, Long> timings) {
+        final List<String> phases = new ArrayList<>();
+        synchronized (timings) {
+            timings.forEach((phase, millis) -> phases.add(phase + " " + millis + " ms"));
+        }
+        return String.join(", ", phases);
+    }
+
+    private long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+}
@@ -0,0 +1,145 @@
+package data_access.api;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import data_access.file.FileGeminiResponseCache;
+import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
+import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
+
+/**
+ * CachingGeminiDataAccessObject answers repeated Gemini requests from a
+ * {@link FileGeminiResponseCache} and forwards the others to the wrapped gateways.
+ *
+ * <p>Requests are keyed on a {@link PromptKey}, so prompts that differ only in case and
+ * whitespace share a response. Generated plans are keyed on the day as well, because
+ * their deadlines are relative to the current date.
+ * Only successful plans and real answers are cached; failures are always retried.</p>
+ */
+public class CachingGeminiDataAccessObject
+        implements GeneratePlanDataAccessInterface, SubgoalQnaGeminiDataAccessInterface {
+
+    private final GeneratePlanDataAccessInterface planGateway;
+    private final SubgoalQnaGeminiDataAccessInterface answerGateway;
+    private final FileGeminiResponseCache cache;
+
+    /**
+     * Creates a caching gateway in front of the given gateways.
+     *
+     * @param planGateway   generates the plans that are not cached
+     * @param answerGateway answers the questions that are not cached
+     * @param cache         stores the responses
+     */
+    public CachingGeminiDataAccessObject(GeneratePlanDataAccessInterface planGateway,
+                                         SubgoalQnaGeminiDataAccessInterface answerGateway,
+                                         FileGeminiResponseCache cache) {
+        this.planGateway = planGateway;
+        this.answerGateway = answerGateway;
+        this.cache = cache;
+    }
+
+    @Override
+    public JSONObject getPlan(String userMessage) {
+        return getPlanAsync(userMessage).join();
+    }
+
+    @Override
+    public CompletableFuture<JSONObject> getPlanAsync(String userMessage) {
+        final String key = planKey(userMessage);
+        final JSONObject cached = cachedPlan(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return storeWhenDone(planGateway.getPlanAsync(userMessage), plan -> storePlan(key, plan));
+    }
+
+    @Override
+    public CompletableFuture<JSONObject> streamPlan(String userMessage, Consumer<JSONObject> onSubgoal) {
+        final String key = planKey(userMessage);
+        final JSONObject cached = cachedPlan(key);
+        if (cached != null) {
+            final JSONArray subgoals = cached.getJSONObject("responseObject").getJSONArray("subgoals");
+            for (int i = 0; i < subgoals.length(); i++) {
+                onSubgoal.accept(subgoals.getJSONObject(i));
+            }
+            return CompletableFuture.completedFuture(cached);
+        }
+        return storeWhenDone(planGateway.streamPlan(userMessage, onSubgoal), plan -> storePlan(key, plan));
+    }
+
+    @Override
+    public String getAnswerForQuestion(String question) {
+        return getAnswerForQuestionAsync(question).join();
+    }
+
+    @Override
+    public CompletableFuture<String> getAnswerForQuestionAsync(String question) {
+        final String key = answerKey(question);
+        final String cached = cache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return storeWhenDone(answerGateway.getAnswerForQuestionAsync(question), answer -> storeAnswer(key, answer));
+    }
+
+    @Override
+    public CompletableFuture<String> streamAnswerForQuestion(String question, Consumer<String> onChunk) {
+        final String key = answerKey(question);
+        final String cached = cache.get(key);
+        if (cached != null) {
+            onChunk.accept(cached);
+            return CompletableFuture.completedFuture(cached);
+        }
+        return storeWhenDone(answerGateway.streamAnswerForQuestion(question, onChunk),
+                answer -> storeAnswer(key, answer));
+    }
+
+    private JSONObject cachedPlan(String key) {
+        final String cached = cache.get(key);
+        if (cached == null) {
+            return null;
+        }
+        return new JSONObject(cached);
+    }
+
+    private void storePlan(String key, JSONObject plan) {
+        if (plan.optBoolean("success")) {
+            cache.put(key, plan.toString());
+        }
+    }
+
+    private void storeAnswer(String key, String answer) {
+        if (answer != null && !answer.trim().isEmpty() && !GeminiApiDataAccessObject.isFallbackAnswer(answer)) {
+            cache.put(key, answer);
+        }
+    }
+
+    /**
+     * Stores the response once the request succeeds. Cancelling the returned future
+     * cancels the request as well.
+     */
+    private static <T> CompletableFuture<T> storeWhenDone(CompletableFuture<T> request, Consumer<T> store) {
+        final CompletableFuture<T> result = request.thenApply(response -> {
+            store.accept(response);
+            return response;
+        });
+        result.whenComplete((response, error) -> {
+            if (result.isCancelled()) {
+                request.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private static String planKey(String userMessage) {
+        return PromptKey.of("plan", LocalDate.now() + " " + userMessage);
+    }
+
+    private static String answerKey(String question) {
+        return PromptKey.of("answer", question);
+    }
+}
@@ -0,0 +1,102 @@
+package data_access.api;
+
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * CircuitBreaker stops sending requests to a service that keeps failing. After a number of
+ * consecutive failures it opens and refuses every request for a while. Then it lets a single
+ * trial request through: if that succeeds it closes again, otherwise it stays open for
+ * another period.
+ */
+final class CircuitBreaker {
+
+    /**
+     * The states of the breaker.
+     */
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openMillis;
+    private final Clock clock;
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * Creates a closed breaker.
+     *
+     * @param failureThreshold the number of consecutive failures that opens the breaker
+     * @param openDuration     how long the breaker stays open before a trial request
+     * @param clock            the clock used to time the open period
+     */
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openDuration.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Asks to send a request. Every permitted request must be followed by exactly one call
+     * to {@link #onSuccess}, {@link #onFailure} or {@link #onAbandon}.
+     *
+     * @return true if the request may be sent
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN && clock.millis() - openedAt >= openMillis) {
+            state = State.HALF_OPEN;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+            return true;
+        }
+        return state == State.CLOSED;
+    }
+
+    /**
+     * Records that the service answered.
+     */
+    synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    /**
+     * Records that the service failed to answer.
+     */
+    synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.millis();
+        }
+        trialInFlight = false;
+    }
+
+    /**
+     * Records that a permitted request was abandoned before the service answered.
+     */
+    synchronized void onAbandon() {
+        trialInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Thrown instead of sending a request while the breaker is open.
+     */
+    static final class OpenException extends RuntimeException {
+        OpenException() {
+            super("Gemini is not responding; requests are paused for a while");
+        }
+    }
+}
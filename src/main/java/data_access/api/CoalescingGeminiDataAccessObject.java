@@ -0,0 +1,182 @@
+package data_access.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.json.JSONObject;
+
+import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
+import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
+
+/**
+ * CoalescingGeminiDataAccessObject lets concurrent identical Gemini requests share one
+ * outbound call. A request made while an identical one is in flight, as with a double-click
+ * on send or retry, joins it: it is replayed the streamed pieces received so far, receives
+ * the rest as they arrive and completes with the same result.
+ *
+ * <p>Every caller gets its own future. Cancelling it only detaches that caller; the shared
+ * call is cancelled once every caller has cancelled. Requests are matched on their
+ * {@link PromptKey}.</p>
+ */
+public class CoalescingGeminiDataAccessObject
+        implements GeneratePlanDataAccessInterface, SubgoalQnaGeminiDataAccessInterface {
+
+    private final GeneratePlanDataAccessInterface planGateway;
+    private final SubgoalQnaGeminiDataAccessInterface answerGateway;
+    private final Map<String, SharedRequest<JSONObject, JSONObject>> plansInFlight = new ConcurrentHashMap<>();
+    private final Map<String, SharedRequest<String, String>> answersInFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a coalescing gateway in front of the given gateways.
+     *
+     * @param planGateway   generates the plans
+     * @param answerGateway answers the questions
+     */
+    public CoalescingGeminiDataAccessObject(GeneratePlanDataAccessInterface planGateway,
+                                            SubgoalQnaGeminiDataAccessInterface answerGateway) {
+        this.planGateway = planGateway;
+        this.answerGateway = answerGateway;
+    }
+
+    @Override
+    public JSONObject getPlan(String userMessage) {
+        return getPlanAsync(userMessage).join();
+    }
+
+    @Override
+    public CompletableFuture<JSONObject> getPlanAsync(String userMessage) {
+        return streamPlan(userMessage, subgoal -> { });
+    }
+
+    @Override
+    public CompletableFuture<JSONObject> streamPlan(String userMessage, Consumer<JSONObject> onSubgoal) {
+        return join(plansInFlight, PromptKey.of("plan", userMessage), onSubgoal,
+                publish -> planGateway.streamPlan(userMessage, publish));
+    }
+
+    @Override
+    public String getAnswerForQuestion(String question) {
+        return getAnswerForQuestionAsync(question).join();
+    }
+
+    @Override
+    public CompletableFuture<String> getAnswerForQuestionAsync(String question) {
+        return streamAnswerForQuestion(question, chunk -> { });
+    }
+
+    @Override
+    public CompletableFuture<String> streamAnswerForQuestion(String question, Consumer<String> onChunk) {
+        return join(answersInFlight, PromptKey.of("answer", question), onChunk,
+                publish -> answerGateway.streamAnswerForQuestion(question, publish));
+    }
+
+    /**
+     * Subscribes to the request in flight under the key, starting it if there is none.
+     *
+     * @param inFlight the requests in flight by key
+     * @param key      the key of the request
+     * @param listener receives the streamed pieces of the response
+     * @param send     starts the request, publishing its pieces to the given consumer
+     * @param <C>      the type of the streamed pieces
+     * @param <T>      the type of the result
+     * @return this caller's future of the result
+     */
+    private static <C, T> CompletableFuture<T> join(Map<String, SharedRequest<C, T>> inFlight, String key,
+                                                    Consumer<C> listener,
+                                                    Function<Consumer<C>, CompletableFuture<T>> send) {
+        while (true) {
+            final SharedRequest<C, T> created = new SharedRequest<>();
+            final SharedRequest<C, T> shared = inFlight.computeIfAbsent(key, unused -> created);
+            // subscribe before starting, so no piece is published before the first caller listens
+            final CompletableFuture<T> subscription = shared.subscribe(listener);
+            if (subscription == null) {
+                // the shared request was abandoned by all its callers just now
+                inFlight.remove(key, shared);
+                continue;
+            }
+            if (shared == created) {
+                shared.result.whenComplete((result, error) -> inFlight.remove(key, shared));
+                shared.start(send);
+            }
+            return subscription;
+        }
+    }
+
+    /**
+     * One outbound request and the callers waiting for it.
+     *
+     * @param <C> the type of the streamed pieces
+     * @param <T> the type of the result
+     */
+    private static final class SharedRequest<C, T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final List<C> published = new ArrayList<>();
+        private final List<Consumer<C>> listeners = new ArrayList<>();
+        private CompletableFuture<T> request;
+
+        private void start(Function<Consumer<C>, CompletableFuture<T>> send) {
+            final CompletableFuture<T> started;
+            try {
+                started = send.apply(this::publish);
+            }
+            // -@cs[IllegalCatch] a request that fails to start fails every caller waiting for it
+            catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+                return;
+            }
+            synchronized (this) {
+                request = started;
+                if (result.isCancelled()) {
+                    started.cancel(true);
+                }
+            }
+            started.whenComplete((value, error) -> {
+                if (error != null) {
+                    result.completeExceptionally(error);
+                }
+                else {
+                    result.complete(value);
+                }
+            });
+        }
+
+        private synchronized void publish(C piece) {
+            published.add(piece);
+            for (Consumer<C> listener : listeners) {
+                listener.accept(piece);
+            }
+        }
+
+        private synchronized CompletableFuture<T> subscribe(Consumer<C> listener) {
+            if (result.isCancelled()) {
+                return null;
+            }
+            for (C piece : published) {
+                listener.accept(piece);
+            }
+            listeners.add(listener);
+            final CompletableFuture<T> subscription = result.thenApply(value -> value);
+            subscription.whenComplete((value, error) -> {
+                if (subscription.isCancelled()) {
+                    unsubscribe(listener);
+                }
+            });
+            return subscription;
+        }
+
+        private synchronized void unsubscribe(Consumer<C> listener) {
+            listeners.remove(listener);
+            if (listeners.isEmpty() && !result.isDone()) {
+                result.cancel(true);
+                if (request != null) {
+                    request.cancel(true);
+                }
+            }
+        }
+    }
+}
@@ -1,11 +1,23 @@
 package data_access.api;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import org.json.JSONArray;
 import org.json.JSONObject;
 
 import com.google.genai.Client;
+import com.google.genai.ResponseStream;
 import com.google.genai.types.GenerateContentResponse;
 import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
@@ -15,19 +27,79 @@ import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
  * It generates structured plans with subgoals and answers user questions related to subgoals.
  * This class implements both GeneratePlanDataAccessInterface
  * and SubgoalQnaGeminiDataAccessInterface.
+ *
+ * <p>Requests go through the asynchronous Gemini client. Each one is bounded by a
+ * configurable deadline, and cancelling or timing out a returned future also abandons the
+ * request behind it. The blocking methods wait for the asynchronous ones.</p>
+ *
+ * <p>Requests are sent through a {@link ResilientRequestExecutor}, which limits the request
+ * rate, retries rate limiting and server errors with backoff, and stops calling Gemini for a
+ * while after repeated failures. Only the start of a response is retried; a stream that
+ * breaks after text was passed on is reported as failed.</p>
  */
 public class GeminiApiDataAccessObject
         implements GeneratePlanDataAccessInterface, SubgoalQnaGeminiDataAccessInterface {
 
+    private static final String MODEL = "gemini-2.5-flash";
+    private static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    private static final String PLAN_ERROR_MESSAGE = "Something went wrong! Please, try again.";
+    private static final String PLAN_TIMEOUT_MESSAGE = "Gemini took too long to respond. Please, try again.";
+    private static final String ANSWER_ERROR_MESSAGE = "Sorry, I couldn't get an answer from Gemini right now.";
+    private static final String ANSWER_TIMEOUT_MESSAGE = "Sorry, Gemini took too long to answer. Please, try again.";
+    private static final String PLAN_UNAVAILABLE_MESSAGE =
+            "Gemini is not available right now. Please, try again in a minute.";
+    private static final String ANSWER_UNAVAILABLE_MESSAGE =
+            "Sorry, Gemini is not available right now. Please, try again in a minute.";
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 1;
+    private static final int DEFAULT_MAX_ATTEMPTS = 4;
+    private static final int DEFAULT_FAILURE_THRESHOLD = 5;
+    private static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
     private final String apiKey = "INSERT API";
     private final Client client;
+    private final ResilientRequestExecutor executor;
+    private volatile Duration requestTimeout = DEFAULT_REQUEST_TIMEOUT;
 
     /**
      * Creates a new GeminiApiDataAccessObject and initializes
      * the Gemini client with the API key.
      */
     public GeminiApiDataAccessObject() {
-        client = Client.builder().apiKey(apiKey).build();
+        this(new ResilientRequestExecutor(DEFAULT_REQUESTS_PER_SECOND, DEFAULT_MAX_ATTEMPTS,
+                DEFAULT_FAILURE_THRESHOLD, DEFAULT_OPEN_DURATION));
+    }
+
+    /**
+     * Creates a new GeminiApiDataAccessObject that sends its requests through the given
+     * executor.
+     *
+     * @param executor limits, retries and short-circuits the requests
+     */
+    public GeminiApiDataAccessObject(ResilientRequestExecutor executor) {
+        this.client = Client.builder().apiKey(apiKey).build();
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new GeminiApiDataAccessObject with its own client, such as one pointed at a
+     * local server.
+     *
+     * @param client   the Gemini client
+     * @param executor limits, retries and short-circuits the requests
+     */
+    GeminiApiDataAccessObject(Client client, ResilientRequestExecutor executor) {
+        this.client = client;
+        this.executor = executor;
+    }
+
+    /**
+     * Sets how long a single Gemini request may take before it is abandoned and reported
+     * as failed.
+     *
+     * @param requestTimeout the deadline for each request
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
     }
 
     /**
@@ -42,51 +114,93 @@ public class GeminiApiDataAccessObject
      */
     @Override
     public JSONObject getPlan(String userMessage) {
-        boolean success = true;
-        String responseMessage = "Plan generated successfully!";
-        JSONObject responseObject = new JSONObject();
-        try {
-            final GenerateContentResponse response = client.models.generateContent(
-                    "gemini-2.5-flash",
-                    "Here is the plan: " + userMessage + ". Come up with 5-10 subgoals that "
-                            + "the user needs to complete in chronological order to achieve this goal. "
-                            + "If a user provides time frame for plan completion, "
-                            + "split the time interval equaly for all "
-                            + "the subgoals and assign the completion deadline to each of them. If not, then assign "
-                            + "deadlines the way so that the user has enough time to complete each subgoal."
-                            + "IMPORTANT: Make sure all deadline dates are later than " + LocalDate.now()
-                            + "."
-                            + "Generate a json of the following format:"
-                            + "For the plan, the key-value pairs should be: "
-                            + "1. name - plan name string"
-                            + "2. description - plan description string"
-                            + "3. subgoals - json array of subgoals"
-                            + "For each subgoal, the key-value pairs should be: "
-                            + "1. name - subgoal name string"
-                            + "2. description - subgoal description string"
-                            + "3. deadline - subgoal description YYYY-MM-DD string"
-                            + "IMPORTANT: Do not include anything else in the response "
-                            + "apart from the json object.",
-                    null);
-            final String rawResult = response.text();
-            final int first = rawResult.indexOf('\n');
-            final int last = rawResult.lastIndexOf('\n');
-
-            final String responseText = (first >= 0 && last > first)
-                    ? rawResult.substring(first + 1, last)
-                    : "";
-            responseObject = new JSONObject(responseText);
-            final boolean isValid = validateJsonObject(responseObject);
-            if (!isValid) {
-                responseMessage = "Something went wrong! Please, try again.";
-                success = false;
-            }
+        return getPlanAsync(userMessage).join();
+    }
+
+    /**
+     * Requests a plan from the Gemini API without blocking. The future completes with the
+     * same wrapper as {@link #getPlan}; errors and timeouts complete it with an unsuccessful
+     * wrapper rather than exceptionally.
+     *
+     * @param userMessage the user's input describing the desired plan or goal
+     * @return a future of the success flag, response message and parsed plan object
+     */
+    @Override
+    public CompletableFuture<JSONObject> getPlanAsync(String userMessage) {
+        final String prompt = planPrompt(userMessage);
+        return request(() -> client.async.models.generateContent(MODEL, prompt, null),
+                response -> planResponse(new PlanStreamParser(subgoal -> { }).append(response.text())),
+                GeminiApiDataAccessObject::planFallback, response -> { });
+    }
+
+    /**
+     * Requests a plan from the Gemini API as a stream. The response is parsed as it arrives,
+     * and each subgoal is validated and passed on as soon as its JSON object is complete.
+     * Cancelling the returned future closes the stream.
+     *
+     * @param userMessage the user's input describing the desired plan or goal
+     * @param onSubgoal   receives each valid subgoal object in order
+     * @return a future of the success flag, response message and parsed plan object
+     */
+    @Override
+    public CompletableFuture<JSONObject> streamPlan(String userMessage, Consumer<JSONObject> onSubgoal) {
+        final String prompt = planPrompt(userMessage);
+        final AtomicReference<CompletableFuture<JSONObject>> plan = new AtomicReference<>();
+        final BooleanSupplier abandoned = () -> plan.get() != null && plan.get().isDone();
+        plan.set(request(() -> client.async.models.generateContentStream(MODEL, prompt, null), stream -> {
+            final PlanStreamParser parser = new PlanStreamParser(subgoal -> {
+                if (isValidSubgoal(subgoal)) {
+                    onSubgoal.accept(subgoal);
+                }
+            });
+            readStream(stream, parser::append, abandoned);
+            return planResponse(parser);
+        }, GeminiApiDataAccessObject::planFallback, ResponseStream::close));
+        return plan.get();
+    }
+
+    private static String planPrompt(String userMessage) {
+        return "Here is the plan: " + userMessage + ". Come up with 5-10 subgoals that "
+                + "the user needs to complete in chronological order to achieve this goal. "
+                + "If a user provides time frame for plan completion, "
+                + "split the time interval equaly for all "
+                + "the subgoals and assign the completion deadline to each of them. If not, then assign "
+                + "deadlines the way so that the user has enough time to complete each subgoal."
+                + "IMPORTANT: Make sure all deadline dates are later than " + LocalDate.now()
+                + "."
+                + "Generate a json of the following format:"
+                + "For the plan, the key-value pairs should be: "
+                + "1. name - plan name string"
+                + "2. description - plan description string"
+                + "3. subgoals - json array of subgoals"
+                + "For each subgoal, the key-value pairs should be: "
+                + "1. name - subgoal name string"
+                + "2. description - subgoal description string"
+                + "3. deadline - subgoal description YYYY-MM-DD string"
+                + "IMPORTANT: Do not include anything else in the response "
+                + "apart from the json object.";
+    }
+
+    private JSONObject planResponse(PlanStreamParser parser) {
+        final JSONObject responseObject = parser.result();
+        if (!validateJsonObject(responseObject)) {
+            return prepareResponse(responseObject, PLAN_ERROR_MESSAGE, false);
         }
-        catch (Exception ex) {
-            responseMessage = "Something went wrong! Please, try again.";
-            success = false;
+        return prepareResponse(responseObject, "Plan generated successfully!", true);
+    }
+
+    private static JSONObject planFallback(Throwable error) {
+        final String message;
+        if (error instanceof TimeoutException) {
+            message = PLAN_TIMEOUT_MESSAGE;
+        }
+        else if (ResilientRequestExecutor.isUnavailable(error)) {
+            message = PLAN_UNAVAILABLE_MESSAGE;
         }
-        return prepareResponse(responseObject, responseMessage, success);
+        else {
+            message = PLAN_ERROR_MESSAGE;
+        }
+        return prepareResponse(new JSONObject(), message, false);
     }
 
     /**
@@ -99,29 +213,136 @@ public class GeminiApiDataAccessObject
      */
     @Override
     public String getAnswerForQuestion(String userMessage) {
-        String returnMessage = "";
-        final String errorMessage =
-                "Sorry, I couldn't get an answer from Gemini right now.";
-        try {
-            final GenerateContentResponse response = client.models.generateContent(
-                    "gemini-2.5-flash",
-                    "You are a helpful assistant helping a user with a subgoal in their plan. "
-                            + "Answer the following question clearly and concisely:\n\n"
-                            + userMessage
-                            + ". Do not apply any formating to your response.",
-                    null
-            );
-            final String text = response.text();
-            if (text == null || text.trim().isEmpty()) {
-                returnMessage = errorMessage;
+        return getAnswerForQuestionAsync(userMessage).join();
+    }
+
+    /**
+     * Requests an answer from the Gemini API without blocking. Errors and timeouts complete
+     * the future with a fallback message rather than exceptionally.
+     *
+     * @param userMessage the question or prompt provided by the user
+     * @return a future of the plain text answer, or of an error message if the request fails
+     */
+    @Override
+    public CompletableFuture<String> getAnswerForQuestionAsync(String userMessage) {
+        final String prompt = answerPrompt(userMessage);
+        return request(() -> client.async.models.generateContent(MODEL, prompt, null),
+                response -> answerOrFallback(response.text()), GeminiApiDataAccessObject::answerFallback,
+                response -> { });
+    }
+
+    /**
+     * Requests an answer from the Gemini API as a stream and passes each piece of text on as
+     * soon as it arrives. Cancelling the returned future closes the stream.
+     *
+     * @param userMessage the question or prompt provided by the user
+     * @param onChunk     receives the pieces of the answer in order
+     * @return a future of the whole answer, or of an error message if the request fails
+     */
+    @Override
+    public CompletableFuture<String> streamAnswerForQuestion(String userMessage, Consumer<String> onChunk) {
+        final String prompt = answerPrompt(userMessage);
+        final AtomicReference<CompletableFuture<String>> answer = new AtomicReference<>();
+        final BooleanSupplier abandoned = () -> answer.get() != null && answer.get().isDone();
+        answer.set(request(() -> client.async.models.generateContentStream(MODEL, prompt, null),
+                stream -> answerOrFallback(readStream(stream, onChunk, abandoned)),
+                GeminiApiDataAccessObject::answerFallback, ResponseStream::close));
+        return answer.get();
+    }
+
+    private static String answerPrompt(String userMessage) {
+        return "You are a helpful assistant helping a user with a subgoal in their plan. "
+                + "Answer the following question clearly and concisely:\n\n"
+                + userMessage
+                + ". Do not apply any formating to your response.";
+    }
+
+    private static String readStream(ResponseStream<GenerateContentResponse> stream,
+                                     Consumer<String> onChunk, BooleanSupplier abandoned) {
+        final StringBuilder text = new StringBuilder();
+        try (stream) {
+            for (GenerateContentResponse response : stream) {
+                if (abandoned.getAsBoolean()) {
+                    break;
+                }
+                final String chunk = response.text();
+                if (chunk != null && !chunk.isEmpty()) {
+                    text.append(chunk);
+                    onChunk.accept(chunk);
+                }
             }
-            returnMessage = text.trim();
         }
-        // -@cs[IllegalCatch] catch generic exception to provide user-friendly error message
-        catch (Exception ex) {
-            returnMessage = errorMessage;
+        return text.toString();
+    }
+
+    /**
+     * Returns whether an answer is one of the messages reported instead of a real answer
+     * when a request fails.
+     *
+     * @param answer the answer returned by this gateway
+     * @return true if the answer is a fallback message
+     */
+    static boolean isFallbackAnswer(String answer) {
+        return ANSWER_ERROR_MESSAGE.equals(answer) || ANSWER_TIMEOUT_MESSAGE.equals(answer)
+                || ANSWER_UNAVAILABLE_MESSAGE.equals(answer);
+    }
+
+    private static String answerOrFallback(String text) {
+        if (text == null || text.trim().isEmpty()) {
+            return ANSWER_ERROR_MESSAGE;
         }
-        return returnMessage;
+        return text.trim();
+    }
+
+    private static String answerFallback(Throwable error) {
+        if (error instanceof TimeoutException) {
+            return ANSWER_TIMEOUT_MESSAGE;
+        }
+        if (ResilientRequestExecutor.isUnavailable(error)) {
+            return ANSWER_UNAVAILABLE_MESSAGE;
+        }
+        return ANSWER_ERROR_MESSAGE;
+    }
+
+    /**
+     * Sends a request to Gemini and converts the response. The result completes with the
+     * fallback value if the request fails or exceeds the request timeout, retries included,
+     * and the request is abandoned as soon as the result is complete or cancelled. A response
+     * that was already received is released then too: a stream that is still being read is
+     * closed, which stops the read at its next line. Closing drains what the server still
+     * sends before the connection is freed, so it runs in the background rather than on the
+     * thread that completed or cancelled the result.
+     *
+     * @param send     starts the request
+     * @param parse    converts a response; may throw if the response is unusable
+     * @param fallback produces the result for the cause of a failure
+     * @param release  releases a received response once the result is complete
+     * @param <R>      the response type
+     * @param <T>      the result type
+     * @return the future result
+     */
+    private <R, T> CompletableFuture<T> request(Supplier<CompletableFuture<R>> send,
+                                                Function<R, T> parse,
+                                                Function<Throwable, T> fallback,
+                                                Consumer<R> release) {
+        final CompletableFuture<R> request = executor.execute(send);
+        final CompletableFuture<T> result = request
+                .thenApply(parse)
+                .orTimeout(requestTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> fallback.apply(unwrap(error)));
+        result.whenComplete((value, error) -> {
+            request.cancel(true);
+            request.thenAcceptAsync(release);
+        });
+        return result;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
     }
 
     /**
@@ -140,17 +361,9 @@ public class GeminiApiDataAccessObject
                     && responseObject.has("description")
                     && responseObject.has("subgoals");
             final JSONArray subgoals = responseObject.getJSONArray("subgoals");
-            int i = 0;
-            while (isValid) {
-                final JSONObject subgoal = subgoals.getJSONObject(i);
-                isValid = subgoal.has("name")
-                        && subgoal.has("description")
-                        && subgoal.has("deadline");
-                LocalDate.parse(subgoal.getString("deadline"));
-                i++;
-                if (i == subgoals.length()) {
-                    break;
-                }
+            isValid = isValid && subgoals.length() > 0;
+            for (int i = 0; isValid && i < subgoals.length(); i++) {
+                isValid = isValidSubgoal(subgoals.getJSONObject(i));
             }
         }
         // -@cs[IllegalCatch] any parsing/JSON error invalidates the structure
@@ -160,6 +373,27 @@ public class GeminiApiDataAccessObject
         return isValid;
     }
 
+    /**
+     * Checks that a subgoal object has a name, a description and a valid deadline date.
+     *
+     * @param subgoal the subgoal JSON object to validate
+     * @return true if the subgoal is structurally valid, false otherwise
+     */
+    private static boolean isValidSubgoal(JSONObject subgoal) {
+        boolean isValid;
+        try {
+            isValid = subgoal.has("name")
+                    && subgoal.has("description")
+                    && subgoal.has("deadline");
+            LocalDate.parse(subgoal.getString("deadline"));
+        }
+        // -@cs[IllegalCatch] any parsing/JSON error invalidates the structure
+        catch (Exception ex) {
+            isValid = false;
+        }
+        return isValid;
+    }
+
     /**
      * Wraps a response object, message, and success flag into a standard JSON format.
      * The returned JSON contains keys: success, responseMessage, and responseObject.
@@ -169,7 +403,7 @@ public class GeminiApiDataAccessObject
      * @param success         true if the operation succeeded, false otherwise
      * @return a JSONObject containing the success flag, message, and response object
      */
-    private JSONObject prepareResponse(JSONObject responseObject,
+    private static JSONObject prepareResponse(JSONObject responseObject,
                                        String responseMessage,
                                        boolean success) {
         return new JSONObject()
@@ -0,0 +1,118 @@
+package data_access.api;
+
+import java.util.function.Consumer;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * PlanStreamParser reads a plan JSON object from text that arrives in pieces, such as a
+ * streamed Gemini response. Anything before the first opening brace and after the matching
+ * closing brace, such as a Markdown code fence, is ignored. Every object nested directly in
+ * an array of the plan object is reported as soon as its closing brace arrives, so subgoals
+ * can be shown while the rest of the plan is still being generated.
+ */
+class PlanStreamParser {
+
+    // the open containers around the current position, outermost first
+    private static final String SUBGOAL_CONTAINERS = "{[";
+
+    private final Consumer<JSONObject> onSubgoal;
+    private final StringBuilder json = new StringBuilder();
+    private final StringBuilder containers = new StringBuilder();
+    private boolean inString;
+    private boolean escaped;
+    private boolean complete;
+    private int subgoalStart = -1;
+
+    /**
+     * Creates a parser that reports each subgoal object to the given consumer.
+     *
+     * @param onSubgoal receives every complete subgoal object, in order
+     */
+    PlanStreamParser(Consumer<JSONObject> onSubgoal) {
+        this.onSubgoal = onSubgoal;
+    }
+
+    /**
+     * Consumes the next piece of the response.
+     *
+     * @param chunk the text that arrived since the previous piece
+     * @return this parser
+     */
+    PlanStreamParser append(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !complete; i++) {
+            accept(chunk.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Returns the whole plan object once its closing brace has arrived.
+     *
+     * @return the parsed plan object
+     * @throws JSONException if the response did not contain a complete JSON object
+     */
+    JSONObject result() {
+        if (!complete) {
+            throw new JSONException("The response does not contain a complete JSON object");
+        }
+        return new JSONObject(json.toString());
+    }
+
+    private void accept(char c) {
+        if (containers.length() == 0 && c != '{') {
+            return;
+        }
+        json.append(c);
+        if (inString) {
+            if (escaped) {
+                escaped = false;
+            }
+            else if (c == '\\') {
+                escaped = true;
+            }
+            else if (c == '"') {
+                inString = false;
+            }
+            return;
+        }
+        switch (c) {
+            case '"':
+                inString = true;
+                break;
+            case '{':
+                if (SUBGOAL_CONTAINERS.contentEquals(containers)) {
+                    subgoalStart = json.length() - 1;
+                }
+                containers.append(c);
+                break;
+            case '[':
+                containers.append(c);
+                break;
+            case '}':
+            case ']':
+                containers.setLength(containers.length() - 1);
+                if (c == '}' && subgoalStart >= 0 && SUBGOAL_CONTAINERS.contentEquals(containers)) {
+                    report(json.substring(subgoalStart));
+                    subgoalStart = -1;
+                }
+                complete = containers.length() == 0;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void report(String subgoal) {
+        final JSONObject subgoalObject;
+        try {
+            subgoalObject = new JSONObject(subgoal);
+        }
+        catch (JSONException ex) {
+            // a malformed subgoal is not shown early; the whole plan is validated at the end
+            return;
+        }
+        onSubgoal.accept(subgoalObject);
+    }
+}
@@ -0,0 +1,42 @@
+package data_access.api;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Locale;
+
+/**
+ * PromptKey identifies Gemini requests by a SHA-256 hash of their prompt, with case and
+ * whitespace normalized so that prompts differing only in formatting share a key.
+ */
+final class PromptKey {
+
+    private PromptKey() {
+    }
+
+    /**
+     * Hashes a prompt after lower-casing it and collapsing every run of whitespace into
+     * a single space.
+     *
+     * @param kind   the kind of request, so plans and answers never share a key
+     * @param prompt the prompt to hash
+     * @return the hex-encoded key
+     */
+    static String of(String kind, String prompt) {
+        final String normalized = prompt.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException ex) {
+            // every Java platform is required to support SHA-256
+            throw new IllegalStateException(ex);
+        }
+        final byte[] bytes = digest.digest((kind + ':' + normalized).getBytes(StandardCharsets.UTF_8));
+        final StringBuilder key = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            key.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+        }
+        return key.toString();
+    }
+}
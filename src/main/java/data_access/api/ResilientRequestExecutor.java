@@ -0,0 +1,195 @@
+package data_access.api;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.genai.errors.ApiException;
+import com.google.genai.errors.GenAiIOException;
+
+/**
+ * ResilientRequestExecutor sends requests to a remote service without overloading it.
+ * Requests are spaced out by a token bucket, failures the service may recover from are
+ * retried after an exponentially growing, jittered delay, and a circuit breaker fails
+ * requests fast while the service keeps failing.
+ *
+ * <p>Retried failures are rate limiting (429), server errors (5xx) and network errors.
+ * Other errors, such as a malformed request, are reported right away. Cancelling a returned
+ * future abandons the attempt in flight and any retry scheduled after it.</p>
+ */
+public class ResilientRequestExecutor {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+    private static final int FIRST_SERVER_ERROR = 500;
+
+    private final TokenBucket rateLimiter;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Random random;
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an executor with the given limits.
+     *
+     * @param requestsPerSecond the sustained number of requests sent per second
+     * @param maxAttempts       how many times a request is sent before its failure is reported
+     * @param failureThreshold  the number of consecutive failures that opens the circuit
+     * @param openDuration      how long the circuit stays open before requests are tried again
+     */
+    public ResilientRequestExecutor(double requestsPerSecond, int maxAttempts,
+                                    int failureThreshold, Duration openDuration) {
+        this(new TokenBucket(requestsPerSecond, Math.max(1, (int) requestsPerSecond), Clock.systemUTC()),
+                new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()),
+                maxAttempts, Duration.ofMillis(500), Duration.ofSeconds(8), new Random());
+    }
+
+    /**
+     * Creates an executor from its parts.
+     *
+     * @param rateLimiter    spaces out the attempts
+     * @param circuitBreaker fails attempts fast while the service keeps failing
+     * @param maxAttempts    how many times a request is sent before its failure is reported
+     * @param baseDelay      the delay before the first retry, doubled for every further one
+     * @param maxDelay       the longest delay between two attempts
+     * @param random         the source of the jitter
+     */
+    ResilientRequestExecutor(TokenBucket rateLimiter, CircuitBreaker circuitBreaker, int maxAttempts,
+                             Duration baseDelay, Duration maxDelay, Random random) {
+        this.rateLimiter = rateLimiter;
+        this.circuitBreaker = circuitBreaker;
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelay.toMillis();
+        this.maxDelayMillis = maxDelay.toMillis();
+        this.random = random;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "gemini-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Sends a request, retrying it while it fails in a way the service may recover from.
+     *
+     * @param send starts one attempt of the request
+     * @param <R>  the response type
+     * @return the future response; it fails with {@link CircuitBreaker.OpenException} while
+     *         the circuit is open, or with the error of the last attempt
+     */
+    public <R> CompletableFuture<R> execute(Supplier<CompletableFuture<R>> send) {
+        final CompletableFuture<R> result = new CompletableFuture<>();
+        schedule(send, result, 1, 0);
+        return result;
+    }
+
+    /**
+     * Returns whether a request failure is reported as the service being unavailable, that is
+     * whether it was retried or refused by the open circuit.
+     *
+     * @param error the cause of the failure
+     * @return true if the service could not be reached
+     */
+    public static boolean isUnavailable(Throwable error) {
+        return error instanceof CircuitBreaker.OpenException || isRetryable(error);
+    }
+
+    CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    private <R> void schedule(Supplier<CompletableFuture<R>> send, CompletableFuture<R> result,
+                              int attempt, long backoffMillis) {
+        final long delay = backoffMillis + rateLimiter.reserve();
+        if (delay == 0) {
+            attempt(send, result, attempt);
+        }
+        else {
+            scheduler.schedule(() -> attempt(send, result, attempt), delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private <R> void attempt(Supplier<CompletableFuture<R>> send, CompletableFuture<R> result, int attempt) {
+        if (result.isDone()) {
+            return;
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            result.completeExceptionally(new CircuitBreaker.OpenException());
+            return;
+        }
+        CompletableFuture<R> request;
+        try {
+            request = send.get();
+        }
+        // -@cs[IllegalCatch] the client may fail before it returns a future
+        catch (Exception ex) {
+            request = CompletableFuture.failedFuture(ex);
+        }
+        final CompletableFuture<R> sent = request;
+        result.whenComplete((value, error) -> sent.cancel(true));
+        sent.whenComplete((value, error) -> {
+            if (error == null) {
+                circuitBreaker.onSuccess();
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = unwrap(error);
+            if (result.isDone()) {
+                circuitBreaker.onAbandon();
+            }
+            else if (!isRetryable(cause)) {
+                // the service answered, it just refused this request
+                circuitBreaker.onSuccess();
+                result.completeExceptionally(cause);
+            }
+            else {
+                circuitBreaker.onFailure();
+                if (attempt < maxAttempts) {
+                    schedule(send, result, attempt + 1, backoff(attempt));
+                }
+                else {
+                    result.completeExceptionally(cause);
+                }
+            }
+        });
+    }
+
+    /**
+     * Returns the delay before the given retry: half of the capped exponential delay plus a
+     * random share of the other half, so clients that failed together do not retry together.
+     */
+    private long backoff(int attempt) {
+        final long exponential = Math.min(maxDelayMillis, baseDelayMillis << Math.min(attempt - 1, 30));
+        final long half = exponential / 2;
+        final long jitter;
+        synchronized (random) {
+            jitter = (long) (random.nextDouble() * (exponential - half));
+        }
+        return half + jitter;
+    }
+
+    private static boolean isRetryable(Throwable error) {
+        if (error instanceof ApiException) {
+            final int code = ((ApiException) error).code();
+            return code == TOO_MANY_REQUESTS || code >= FIRST_SERVER_ERROR;
+        }
+        return error instanceof GenAiIOException || error instanceof IOException
+                || error != null && error.getCause() instanceof IOException;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
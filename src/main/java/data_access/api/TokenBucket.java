@@ -0,0 +1,49 @@
+package data_access.api;
+
+import java.time.Clock;
+
+/**
+ * TokenBucket limits how often requests are sent. Tokens are added at a fixed rate up to a
+ * burst capacity, and every request takes one. A request that finds the bucket empty
+ * reserves the next token instead of being refused, so waiting requests are spaced out
+ * evenly in the order they arrived.
+ */
+final class TokenBucket {
+
+    private final double tokensPerMilli;
+    private final double capacity;
+    private final Clock clock;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param requestsPerSecond the sustained request rate
+     * @param burst             the number of requests that may be sent at once after a quiet period
+     * @param clock             the clock used to refill the bucket
+     */
+    TokenBucket(double requestsPerSecond, int burst, Clock clock) {
+        this.tokensPerMilli = requestsPerSecond / 1000.0;
+        this.capacity = burst;
+        this.clock = clock;
+        this.tokens = burst;
+        this.lastRefill = clock.millis();
+    }
+
+    /**
+     * Takes a token, reserving a future one if none is left.
+     *
+     * @return how many milliseconds the caller must wait before sending its request
+     */
+    synchronized long reserve() {
+        final long now = clock.millis();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerMilli);
+        lastRefill = now;
+        tokens -= 1;
+        if (tokens >= 0) {
+            return 0;
+        }
+        return (long) Math.ceil(-tokens / tokensPerMilli);
+    }
+}
@@ -0,0 +1,234 @@
+package data_access.file;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.json.JSONObject;
+
+import data_access.interfaces.file.JsonDataAccess;
+
+/**
+ * FileGeminiResponseCache is a file-backed least-recently-used cache of Gemini responses.
+ * It holds at most a fixed number of responses, each for at most a fixed age, and keeps
+ * them across restarts. Every lookup counts as a hit or a miss so the cache can be tuned.
+ */
+public class FileGeminiResponseCache extends JsonDataAccess<FileGeminiResponseCache.CachedResponse> {
+
+    // access order: the first entry is the least recently used one
+    private final LinkedHashMap<String, CachedResponse> responses = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxEntries;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache and loads the responses saved at the given path.
+     *
+     * @param filePath   the path to the JSON file used to persist the cache,
+     *                   or null to keep it in memory only
+     * @param maxEntries the number of responses kept before the least recently used is evicted
+     * @param maxAge     how long a response stays usable after it was stored
+     */
+    public FileGeminiResponseCache(String filePath, int maxEntries, Duration maxAge) {
+        this(filePath, maxEntries, maxAge, Clock.systemUTC());
+    }
+
+    /**
+     * Creates a cache that reads the time from the given clock.
+     *
+     * @param filePath   the path to the JSON file used to persist the cache,
+     *                   or null to keep it in memory only
+     * @param maxEntries the number of responses kept before the least recently used is evicted
+     * @param maxAge     how long a response stays usable after it was stored
+     * @param clock      the clock used to age responses
+     */
+    public FileGeminiResponseCache(String filePath, int maxEntries, Duration maxAge, Clock clock) {
+        super(filePath);
+        this.maxEntries = maxEntries;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.clock = clock;
+        if (isPersistent()) {
+            try {
+                final Map<String, CachedResponse> loaded = new LinkedHashMap<>();
+                loadFromJson(loaded);
+                restore(loaded.values());
+            }
+            // -@cs[IllegalCatch] a broken cache file only means starting with an empty cache
+            catch (Exception ex) {
+                System.err.println("Could not load Gemini response cache: " + ex.getMessage());
+            }
+        }
+    }
+
+    private void restore(Iterable<CachedResponse> loaded) {
+        final List<CachedResponse> fresh = new ArrayList<>();
+        for (CachedResponse response : loaded) {
+            if (!isExpired(response)) {
+                fresh.add(response);
+            }
+        }
+        fresh.sort(Comparator.comparingLong(response -> response.lastUsed));
+        for (CachedResponse response : fresh) {
+            responses.put(response.key, response);
+        }
+        evictOverflow();
+    }
+
+    /**
+     * Returns the cached response for a key and marks it as recently used.
+     *
+     * @param key the normalized request key
+     * @return the cached response, or null on a miss or if the response has expired
+     */
+    public synchronized String get(String key) {
+        final CachedResponse response = responses.get(key);
+        if (response == null || isExpired(response)) {
+            if (response != null) {
+                responses.remove(key);
+                evictions.incrementAndGet();
+                persistDelete(key, responses.values());
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        final CachedResponse used = new CachedResponse(key, response.value, response.created, clock.millis());
+        responses.put(key, used);
+        persistPut(used, responses.values());
+        return used.value;
+    }
+
+    /**
+     * Stores a response, evicting the least recently used ones beyond the size limit.
+     *
+     * @param key   the normalized request key
+     * @param value the response to cache
+     */
+    public synchronized void put(String key, String value) {
+        final long now = clock.millis();
+        final CachedResponse response = new CachedResponse(key, value, now, now);
+        responses.put(key, response);
+        persistPut(response, responses.values());
+        evictOverflow();
+    }
+
+    private void evictOverflow() {
+        final Iterator<CachedResponse> leastRecentlyUsed = responses.values().iterator();
+        final List<String> evicted = new ArrayList<>();
+        while (responses.size() - evicted.size() > maxEntries && leastRecentlyUsed.hasNext()) {
+            evicted.add(leastRecentlyUsed.next().key);
+        }
+        if (evicted.isEmpty()) {
+            return;
+        }
+        responses.keySet().removeAll(evicted);
+        evictions.addAndGet(evicted.size());
+        persistDeleteAll(evicted, responses.values());
+    }
+
+    private boolean isExpired(CachedResponse response) {
+        return clock.millis() - response.created > maxAgeMillis;
+    }
+
+    /**
+     * Returns the number of responses currently cached.
+     *
+     * @return the cache size
+     */
+    public synchronized int size() {
+        return responses.size();
+    }
+
+    /**
+     * Returns the number of lookups that found a usable response.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Returns the number of lookups that found no usable response.
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of responses dropped because of the size or age limit.
+     *
+     * @return the eviction count
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Returns a one-line summary of the cache metrics.
+     *
+     * @return the hits, misses, hit rate, size and evictions of the cache
+     */
+    public String getStatsSummary() {
+        final long hitCount = getHitCount();
+        final long lookups = hitCount + getMissCount();
+        final long hitRate;
+        if (lookups == 0) {
+            hitRate = 0;
+        }
+        else {
+            hitRate = Math.round(100.0 * hitCount / lookups);
+        }
+        return "Gemini cache: " + hitCount + " hits, " + getMissCount() + " misses (" + hitRate + "% hit rate), "
+                + size() + " entries, " + getEvictionCount() + " evictions";
+    }
+
+    @Override
+    protected String getKey(CachedResponse object) {
+        return object.key;
+    }
+
+    @Override
+    public CachedResponse parseJsonObject(JSONObject jsonObject) {
+        return new CachedResponse(jsonObject.getString("key"), jsonObject.getString("value"),
+                jsonObject.getLong("created"), jsonObject.getLong("last_used"));
+    }
+
+    @Override
+    public JSONObject convertObjectToJson(CachedResponse object) {
+        final JSONObject obj = new JSONObject();
+        obj.put("key", object.key);
+        obj.put("value", object.value);
+        obj.put("created", object.created);
+        obj.put("last_used", object.lastUsed);
+        return obj;
+    }
+
+    /**
+     * A cached response with the times it was stored and last used, in epoch milliseconds.
+     */
+    public static final class CachedResponse {
+        private final String key;
+        private final String value;
+        private final long created;
+        private final long lastUsed;
+
+        private CachedResponse(String key, String value, long created, long lastUsed) {
+            this.key = key;
+            this.value = value;
+            this.created = created;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package data_access.file;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import data_access.interfaces.file.JsonDataAccess;
@@ -19,18 +22,25 @@ import use_case.edit_plan.EditPlanDataAccessInterface;
  * FilePlanDataAccessObject provides file-based persistence for plans.
  * It can load plans from a JSON file, cache them in memory,
  * and save changes back to disk.
+ *
+ * <p>Queries take a shared read lock and mutations keep them out while they change memory, so
+ * the store can be used from the EDT and from background workers at the same time. The journal
+ * write of a mutation happens after queries are let back in, so they never wait on disk I/O;
+ * mutations themselves are serialized by a {@link StoreLock}. The per-user cache is a
+ * concurrent map of unmodifiable lists, since several readers may fill it at once.</p>
  */
 public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements ShowPlansDataAccessInterface,
         DeletePlanDataAccessInterface, SavePlanDataAccessInterface, ShowPlanDataAccessInterface,
         EditPlanDataAccessInterface {
 
-    private final List<Plan> allPlans = new ArrayList<>();
-    private final Map<String, List<Plan>> cachedUserPlans = new HashMap<>();
+    private final Map<String, Plan> allPlans = new LinkedHashMap<>();
+    private final Map<String, List<Plan>> cachedUserPlans = new ConcurrentHashMap<>();
+    private final StoreLock lock = new StoreLock();
 
     /**
      * Constructs a FilePlanDataAccessObject that loads plans from a JSON file if provided.
      *
-     * @param plansDataFile path to the JSON file containing plans data, or null for demo data
+     * @param plansDataFile path to the JSON file containing plans data, or null to keep plans in memory only
      */
     public FilePlanDataAccessObject(String plansDataFile) {
         super(plansDataFile);
@@ -44,6 +54,16 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
         }
     }
 
+    @Override
+    protected String getKey(Plan object) {
+        return object.getId();
+    }
+
+    @Override
+    protected Set<String> getDictionaryFields() {
+        return Set.of("username");
+    }
+
     @Override
     public Plan parseJsonObject(JSONObject jsonObject) {
         final String planId = jsonObject.getString("id");
@@ -65,69 +85,12 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
 
     /**
      * Constructs a FilePlanDataAccessObject without an initial JSON file
-     * and uses demo data when needed.
+     * that keeps its plans in memory only.
      */
     public FilePlanDataAccessObject() {
         this(null);
     }
 
-    /**
-     * Initializes demo plans in memory for the given user.
-     * Used when no JSON file is provided or when no plans exist.
-     *
-     * @param username the username to associate with the demo plans
-     */
-    private void initializeDemoPlansForUser(String username) {
-        allPlans.add(new Plan(
-                "demo-001",
-                "Learn Guitar",
-                "Master guitar playing in 6 months",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-002",
-                "Prepare for Exam",
-                "Study for final exams in Computer Science",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-003",
-                "Build Portfolio",
-                "Create a professional portfolio website",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-004",
-                "Learn Spanish",
-                "Become conversational in Spanish",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-005",
-                "Fitness Goal",
-                "Run a half marathon by summer",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-006",
-                "Read 12 Books",
-                "Read one book per month this year",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-007",
-                "Learn Cooking",
-                "Master 20 new recipes",
-                username
-        ));
-        allPlans.add(new Plan(
-                "demo-008",
-                "Side Project",
-                "Build and launch a mobile app",
-                username
-        ));
-    }
-
     /**
      * Returns all plans belonging to the given user, using an in-memory cache.
      *
@@ -135,14 +98,22 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      * @return a list of plans for the given user
      */
     private List<Plan> getPlansForUser(String username) {
-        if (cachedUserPlans.containsKey(username)) {
-            return cachedUserPlans.get(username);
+        final List<Plan> cached = cachedUserPlans.get(username);
+        if (cached != null) {
+            return cached;
+        }
+        lock.readLock().lock();
+        try {
+            final List<Plan> userPlans = Collections.unmodifiableList(allPlans.values().stream()
+                    .filter(plan -> plan.getUsername().equals(username))
+                    .collect(Collectors.toList()));
+            // writers invalidate under the write lock, so this list cannot be stale yet
+            cachedUserPlans.put(username, userPlans);
+            return userPlans;
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        final List<Plan> userPlans = allPlans.stream()
-                .filter(plan -> plan.getUsername().equals(username))
-                .collect(Collectors.toList());
-        cachedUserPlans.put(username, userPlans);
-        return userPlans;
     }
 
     /**
@@ -195,11 +166,17 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      * @return true if a plan was removed, false otherwise
      */
     public boolean removePlan(String planId) {
-        final boolean removed = allPlans.removeIf(plan -> plan.getId().equals(planId));
-        if (removed) {
-            cachedUserPlans.clear();
+        lock.beginWrite();
+        try {
+            final Plan removed = allPlans.remove(planId);
+            if (removed != null) {
+                cachedUserPlans.remove(removed.getUsername());
+            }
+            return removed != null;
+        }
+        finally {
+            lock.endWrite();
         }
-        return removed;
     }
 
     /**
@@ -209,20 +186,30 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      * @return the matching plan or null if not found
      */
     public Plan getPlanById(String planId) {
-        return allPlans.stream()
-                .filter(plan -> plan.getId().equals(planId))
-                .findFirst()
-                .orElse(null);
+        lock.readLock().lock();
+        try {
+            return allPlans.get(planId);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
     }
 
     @Override
     public void updatePlan(Plan plan) {
-        Plan existingPlan = getPlanById(plan.getId());
-        if (allPlans.contains(existingPlan)) {
-            allPlans.remove(existingPlan);
+        lock.beginWrite();
+        try {
+            final Plan existingPlan = allPlans.put(plan.getId(), plan);
+            if (existingPlan != null) {
+                cachedUserPlans.remove(existingPlan.getUsername());
+            }
+            cachedUserPlans.remove(plan.getUsername());
+            lock.publish();
+            persistPut(plan, allPlans.values());
+        }
+        finally {
+            lock.endWrite();
         }
-        allPlans.add(plan);
-        saveToJson(allPlans);
     }
 
     /**
@@ -233,12 +220,20 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      */
     @Override
     public boolean deletePlan(String planId) {
-        final boolean removed = allPlans.removeIf(plan -> plan.getId().equals(planId));
-        if (removed) {
-            cachedUserPlans.clear();
-            saveToJson(allPlans);
+        lock.beginWrite();
+        try {
+            final Plan removed = allPlans.remove(planId);
+            if (removed == null) {
+                return false;
+            }
+            cachedUserPlans.remove(removed.getUsername());
+            lock.publish();
+            persistDelete(planId, allPlans.values());
+            return true;
+        }
+        finally {
+            lock.endWrite();
         }
-        return removed;
     }
 
     /**
@@ -249,9 +244,19 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      */
     @Override
     public void savePlan(Plan plan) {
-        allPlans.add(plan);
-        cachedUserPlans.remove(plan.getUsername());
-        saveToJson(allPlans);
+        lock.beginWrite();
+        try {
+            final Plan existingPlan = allPlans.put(plan.getId(), plan);
+            if (existingPlan != null) {
+                cachedUserPlans.remove(existingPlan.getUsername());
+            }
+            cachedUserPlans.remove(plan.getUsername());
+            lock.publish();
+            persistPut(plan, allPlans.values());
+        }
+        finally {
+            lock.endWrite();
+        }
     }
 
     /**
@@ -262,9 +267,15 @@ public class FilePlanDataAccessObject extends JsonDataAccess<Plan> implements Sh
      */
     @Override
     public boolean planExists(String planName) {
-        return allPlans.stream()
-                .filter(plan -> plan.getName().equals(planName))
-                .findFirst()
-                .orElse(null) != null;
+        lock.readLock().lock();
+        try {
+            return allPlans.values().stream()
+                    .filter(plan -> plan.getName().equals(planName))
+                    .findFirst()
+                    .orElse(null) != null;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
     }
 }
@@ -2,7 +2,11 @@ package data_access.file;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.json.JSONObject;
 
@@ -14,12 +18,23 @@ import entity.subgoal.SubgoalBuilder;
 /**
  * FileSubgoalDataAccessObject is a file-based data access implementation for subgoals that keeps subgoals in memory
  * and persists them as JSON.
+ *
+ * <p>The store is safe to share between the EDT and background workers. Queries take a shared
+ * read lock, so they run in parallel with each other, and a mutation keeps them out only while
+ * it changes the map and the indexes; its journal write happens after queries are let back in,
+ * so they never wait on disk I/O. Mutations are serialized by a {@link StoreLock} until they are
+ * written, so read-modify-write updates such as {@link #updatePriority} cannot lose each other's
+ * changes. Queries return copies that stay valid after the lock is released.</p>
  */
 public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
         implements SubgoalDataAccessInterface {
 
     private final SubgoalBuilder subgoalBuilder;
-    private final ArrayList<Subgoal> subgoals = new ArrayList<>();
+    // keyed by subgoal ID; insertion order is kept so lists come back in the order subgoals were created
+    private final Map<String, Subgoal> subgoals = new LinkedHashMap<>();
+    private final SubgoalIndex index = new SubgoalIndex();
+    private final SubgoalTextIndex textIndex = new SubgoalTextIndex();
+    private final StoreLock lock = new StoreLock();
 
     /**
      * Constructs a FileSubgoalDataAccessObject with an optional file path and builder.
@@ -33,6 +48,8 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
         if (subgoalsFilePath != null) {
             try {
                 loadFromJson(subgoals);
+                subgoals.values().forEach(index::add);
+                subgoals.values().forEach(textIndex::put);
             }
             // -@cs[IllegalCatch] log malformed or unreadable subgoal file but keep app running
             catch (Exception ex) {
@@ -54,10 +71,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public Subgoal getSubgoalById(String id) {
-        return subgoals.stream()
-                .filter(subgoal -> subgoal.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        lock.readLock().lock();
+        try {
+            return subgoals.get(id);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -67,20 +87,26 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public void updatePriority(String id, boolean priority) {
-        final Subgoal old = subgoals.stream()
-                .filter(subgoal -> subgoal.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-        if (old == null) {
-            return;
+        lock.beginWrite();
+        try {
+            final Subgoal old = subgoals.get(id);
+            if (old == null) {
+                return;
+            }
+            final Subgoal updated;
+            synchronized (subgoalBuilder) {
+                updated = subgoalBuilder
+                        .copyFromSubgoal(old)
+                        .setPriority(priority)
+                        .build();
+            }
+            put(updated);
+            lock.publish();
+            this.persistPut(updated, subgoals.values());
+        }
+        finally {
+            lock.endWrite();
         }
-        subgoals.remove(old);
-        final Subgoal updated = subgoalBuilder
-                .copyFromSubgoal(old)
-                .setPriority(priority)
-                .build();
-        subgoals.add(updated);
-        this.saveToJson(subgoals);
     }
 
     /**
@@ -92,9 +118,8 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
     @Override
     public List<Subgoal> getSubgoalsByPlan(String planId, String userId) {
         final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getPlanId().equals(planId)
-                    && subgoal.getUsername().equals(userId)) {
+        for (Subgoal subgoal : getSubgoalsByPlanId(planId)) {
+            if (subgoal.getUsername().equals(userId)) {
                 result.add(subgoal);
             }
         }
@@ -108,13 +133,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getPrioritySubgoals(String userId) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(userId) && subgoal.isPriority()) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.priority(userId);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
     /**
@@ -124,13 +149,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getAllSubgoalsForUser(String userId) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(userId)) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.byUser(userId);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
     /**
@@ -139,12 +164,37 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public void saveSubgoal(Subgoal subgoal) {
-        final Subgoal existing = getSubgoalById(subgoal.getId());
-        if (existing != null) {
-            subgoals.remove(existing);
+        lock.beginWrite();
+        try {
+            put(subgoal);
+            lock.publish();
+            this.persistPut(subgoal, subgoals.values());
+        }
+        finally {
+            lock.endWrite();
+        }
+    }
+
+    /**
+     * Saves or updates all given subgoals in memory and persists them with a single write.
+     * @param batch the subgoals to save
+     */
+    @Override
+    public void saveSubgoals(Collection<Subgoal> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        lock.beginWrite();
+        try {
+            for (Subgoal subgoal : batch) {
+                put(subgoal);
+            }
+            lock.publish();
+            this.persistPutAll(batch, subgoals.values());
+        }
+        finally {
+            lock.endWrite();
         }
-        subgoals.add(subgoal);
-        this.saveToJson(subgoals);
     }
 
     /**
@@ -153,33 +203,68 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      * @param completed the new completed value
      */
     public void updateCompleted(String id, boolean completed) {
-        final Subgoal old = getSubgoalById(id);
-        if (old == null) {
-            return;
+        lock.beginWrite();
+        try {
+            final Subgoal old = subgoals.get(id);
+            if (old == null) {
+                return;
+            }
+            final Subgoal updated;
+            synchronized (subgoalBuilder) {
+                updated = subgoalBuilder
+                        .copyFromSubgoal(old)
+                        .setIsCompleted(completed)
+                        .build();
+            }
+            put(updated);
+            lock.publish();
+            this.persistPut(updated, subgoals.values());
+        }
+        finally {
+            lock.endWrite();
         }
-        subgoals.remove(old);
-        final Subgoal updated = subgoalBuilder
-                .copyFromSubgoal(old)
-                .setIsCompleted(completed)
-                .build();
-        subgoals.add(updated);
-        this.saveToJson(subgoals);
     }
 
     /**
-     * Returns all subgoals for a user whose names contain the given search term.
+     * Returns all subgoals for a user whose names contain the given search term, ignoring
+     * case, most relevant first. Uses the trigram index, so only candidate subgoals are checked.
      * @param name the name fragment to search for
      * @param userId the user identifier
      * @return a list of matching subgoals
      */
+    @Override
     public List<Subgoal> getSubgoalsByName(String name, String userId) {
-        final String searchTerm = name.toLowerCase();
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(userId)
-                    && subgoal.getName().toLowerCase().contains(searchTerm)) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return toSubgoals(textIndex.search(userId, name, false));
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the user's subgoals whose name or description contains the query, ignoring
+     * case, most relevant first.
+     * @param query the text to search for
+     * @param userId the user identifier
+     * @return the matching subgoals, ranked by relevance
+     */
+    @Override
+    public List<Subgoal> searchSubgoals(String query, String userId) {
+        lock.readLock().lock();
+        try {
+            return toSubgoals(textIndex.search(userId, query, true));
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Subgoal> toSubgoals(List<String> ids) {
+        final List<Subgoal> result = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            result.add(subgoals.get(id));
         }
         return result;
     }
@@ -191,13 +276,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getIncompleteSubgoals(String userId) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(userId) && !subgoal.isCompleted()) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.incomplete(userId);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
     /**
@@ -207,13 +292,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getCompletedSubgoals(String userId) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(userId) && subgoal.isCompleted()) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.completed(userId);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
     /**
@@ -223,13 +308,13 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getSubgoalsByUsername(String username) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getUsername().equals(username)) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.byUser(username);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        return result;
     }
 
     /**
@@ -238,12 +323,98 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public void deleteSubgoal(String id) {
-        final Subgoal subgoal = getSubgoalById(id);
-        if (subgoal == null) {
-            return;
+        lock.beginWrite();
+        try {
+            final Subgoal removed = subgoals.remove(id);
+            if (removed == null) {
+                return;
+            }
+            index.remove(removed);
+            textIndex.remove(id);
+            lock.publish();
+            this.persistDelete(id, subgoals.values());
+        }
+        finally {
+            lock.endWrite();
+        }
+    }
+
+    /**
+     * Deletes all subgoals with the given IDs and persists the change with a single write.
+     * @param ids the subgoal identifiers
+     */
+    @Override
+    public void deleteSubgoals(Collection<String> ids) {
+        lock.beginWrite();
+        try {
+            removeAll(ids);
+        }
+        finally {
+            lock.endWrite();
+        }
+    }
+
+    /**
+     * Deletes every subgoal of the given plan, found through the plan index, with a single write.
+     * @param planId the plan identifier
+     * @return the IDs of the deleted subgoals
+     */
+    @Override
+    public List<String> deleteSubgoalsByPlanId(String planId) {
+        lock.beginWrite();
+        try {
+            final List<String> ids = new ArrayList<>();
+            for (Subgoal subgoal : index.byPlan(planId)) {
+                ids.add(subgoal.getId());
+            }
+            removeAll(ids);
+            return ids;
+        }
+        finally {
+            lock.endWrite();
+        }
+    }
+
+    // removes the subgoals and persists their removal; called while a write has begun
+    private void removeAll(Collection<String> ids) {
+        final List<String> removedIds = new ArrayList<>();
+        for (String id : ids) {
+            final Subgoal removed = subgoals.remove(id);
+            if (removed != null) {
+                index.remove(removed);
+                textIndex.remove(id);
+                removedIds.add(id);
+            }
+        }
+        if (!removedIds.isEmpty()) {
+            lock.publish();
+            this.persistDeleteAll(removedIds, subgoals.values());
+        }
+    }
+
+    private void put(Subgoal subgoal) {
+        final Subgoal old = subgoals.put(subgoal.getId(), subgoal);
+        if (old != null) {
+            index.remove(old);
+        }
+        index.add(subgoal);
+        textIndex.put(subgoal);
+    }
+
+    /**
+     * Returns the version of the plan's subgoals from the plan index.
+     * @param planId the plan identifier
+     * @return the current version of the plan's subgoals
+     */
+    @Override
+    public long getPlanVersion(String planId) {
+        lock.readLock().lock();
+        try {
+            return index.planVersion(planId);
+        }
+        finally {
+            lock.readLock().unlock();
         }
-        subgoals.remove(subgoal);
-        this.saveToJson(subgoals);
     }
 
     /**
@@ -253,17 +424,75 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
      */
     @Override
     public List<Subgoal> getSubgoalsByPlanId(String planId) {
-        final List<Subgoal> result = new ArrayList<>();
-        for (Subgoal subgoal : subgoals) {
-            if (subgoal.getPlanId().equals(planId)) {
-                result.add(subgoal);
-            }
+        lock.readLock().lock();
+        try {
+            return index.byPlan(planId);
         }
-        return result;
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the user's subgoals due in the given range from the deadline index.
+     * @param username the user whose subgoals to return
+     * @param from the first deadline to include
+     * @param to the last deadline to include
+     * @return the subgoals due in the range, in deadline order
+     */
+    @Override
+    public List<Subgoal> getSubgoalsInRange(String username, LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return index.inRange(username, from, to);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the next page of upcoming subgoals from the deadline index.
+     * @param username the user whose subgoals to return
+     * @param from the earliest deadline to include
+     * @param after the last subgoal of the previous page, as it was loaded, or null for the first page
+     * @param limit the maximum number of subgoals to return
+     * @return the next page of upcoming subgoals
+     */
+    @Override
+    public List<Subgoal> getUpcomingSubgoals(String username, LocalDate from, Subgoal after, int limit) {
+        lock.readLock().lock();
+        try {
+            return index.upcoming(username, from, after, limit);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ID of the subgoal, which is the key used by the journal.
+     * @param object the subgoal
+     * @return the subgoal ID
+     */
+    @Override
+    protected String getKey(Subgoal object) {
+        return object.getId();
+    }
+
+    /**
+     * Usernames and plan IDs are shared by many subgoals, so the binary snapshot stores
+     * each distinct value once.
+     * @return the dictionary-encoded subgoal fields
+     */
+    @Override
+    protected Set<String> getDictionaryFields() {
+        return Set.of("username", "plan_id");
     }
 
     /**
-     * Parses a JSON object into a Subgoal instance using the configured builder.
+     * Parses a JSON object into a Subgoal instance using the configured builder. Safe to
+     * call from any thread.
      * @param jsonObject the JSON representation of a subgoal
      * @return a Subgoal created from the JSON data
      */
@@ -277,16 +506,19 @@ public class FileSubgoalDataAccessObject extends JsonDataAccess<Subgoal>
         final LocalDate date = LocalDate.parse(jsonObject.getString("deadline"));
         final boolean isPriority = jsonObject.getBoolean("priority");
         final boolean isCompleted = jsonObject.getBoolean("completed");
-        return subgoalBuilder
-                .setId(subgoalId)
-                .setPlanId(planId)
-                .setUsername(username)
-                .setName(name)
-                .setDescription(description)
-                .setDeadline(date)
-                .setPriority(isPriority)
-                .setIsCompleted(isCompleted)
-                .build();
+        // the builder is mutable and shared with the update methods
+        synchronized (subgoalBuilder) {
+            return subgoalBuilder
+                    .setId(subgoalId)
+                    .setPlanId(planId)
+                    .setUsername(username)
+                    .setName(name)
+                    .setDescription(description)
+                    .setDeadline(date)
+                    .setPriority(isPriority)
+                    .setIsCompleted(isCompleted)
+                    .build();
+        }
     }
 
     /**
@@ -1,7 +1,18 @@
 package data_access.file;
 
+import java.util.AbstractCollection;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.json.JSONObject;
 
@@ -13,11 +24,37 @@ import entity.subgoal.SubgoalQuestionAnswerBuilder;
 /**
  * FileSubgoalQnaDataAccessObject is a file-backed DAO that stores and retrieves
  * subgoal question–answer history in JSON format.
+ *
+ * <p>Entries are indexed by subgoal. The history of each subgoal is an immutable list that
+ * is replaced on every change, so reads never lock and never see a change half way through.
+ * Changes to one subgoal's history, including their journal write, hold one of a fixed set
+ * of locks chosen by the subgoal ID, so writes to different subgoals rarely wait for each
+ * other. With the journal enabled, appending an entry writes a single line to the journal.</p>
  */
 public class FileSubgoalQnaDataAccessObject extends JsonDataAccess<SubgoalQuestionAnswer>
         implements SubgoalQnaDataAccessInterface {
 
-    private final ArrayList<SubgoalQuestionAnswer> subgoalQuestionAnswers = new ArrayList<>();
+    private static final int LOCK_STRIPES = 16;
+
+    // keyed by subgoal ID; each history is immutable and in the order the entries were added
+    private final Map<String, List<SubgoalQuestionAnswer>> histories = new ConcurrentHashMap<>();
+    private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+    // every entry of every subgoal, as passed to the snapshot writer
+    private final Collection<SubgoalQuestionAnswer> allEntries = new AbstractCollection<>() {
+        @Override
+        public Iterator<SubgoalQuestionAnswer> iterator() {
+            return histories.values().stream().flatMap(List::stream).iterator();
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (List<SubgoalQuestionAnswer> history : histories.values()) {
+                size += history.size();
+            }
+            return size;
+        }
+    };
 
     /**
      * Creates a FileSubgoalQnaDataAccessObject and loads existing entries from the
@@ -28,9 +65,14 @@ public class FileSubgoalQnaDataAccessObject extends JsonDataAccess<SubgoalQuesti
      */
     public FileSubgoalQnaDataAccessObject(String qnaFilePath) {
         super(qnaFilePath);
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
         if (qnaFilePath != null) {
             try {
-                loadFromJson(subgoalQuestionAnswers);
+                final List<SubgoalQuestionAnswer> loaded = new ArrayList<>();
+                loadFromJson(loaded);
+                index(loaded);
             }
             // -@cs[IllegalCatch] failed Q/A file load should not prevent application startup
             catch (Exception ex) {
@@ -39,6 +81,41 @@ public class FileSubgoalQnaDataAccessObject extends JsonDataAccess<SubgoalQuesti
         }
     }
 
+    private void index(List<SubgoalQuestionAnswer> entries) {
+        final Map<String, List<SubgoalQuestionAnswer>> grouped = new LinkedHashMap<>();
+        for (SubgoalQuestionAnswer entry : entries) {
+            grouped.computeIfAbsent(entry.getSubgoalId(), id -> new ArrayList<>()).add(entry);
+        }
+        for (Map.Entry<String, List<SubgoalQuestionAnswer>> history : grouped.entrySet()) {
+            histories.put(history.getKey(), Collections.unmodifiableList(history.getValue()));
+        }
+    }
+
+    private int stripeOf(String subgoalId) {
+        return Math.floorMod(subgoalId.hashCode(), locks.length);
+    }
+
+    /**
+     * Returns the ID of the Q/A entry, which is the key used by the journal.
+     *
+     * @param object the Q/A entry
+     * @return the ID of the entry
+     */
+    @Override
+    protected String getKey(SubgoalQuestionAnswer object) {
+        return object.getId();
+    }
+
+    /**
+     * Q/A entries for the same subgoal share its ID, so the binary snapshot stores it once.
+     *
+     * @return the dictionary-encoded Q/A fields
+     */
+    @Override
+    protected Set<String> getDictionaryFields() {
+        return Set.of("subgoal_id");
+    }
+
     /**
      * Parses a JSON object into a SubgoalQuestionAnswer entity.
      *
@@ -77,19 +154,26 @@ public class FileSubgoalQnaDataAccessObject extends JsonDataAccess<SubgoalQuesti
      * @return a list of SubgoalQuestionAnswer entries for the subgoal
      */
     @Override
-    public synchronized List<SubgoalQuestionAnswer> getHistory(String subgoalId) {
-        final ArrayList<SubgoalQuestionAnswer> questionAnswers = new ArrayList<>();
-        for (SubgoalQuestionAnswer entry : subgoalQuestionAnswers) {
-            if (entry.getSubgoalId().equals(subgoalId)) {
-                questionAnswers.add(entry);
-            }
-        }
-        return questionAnswers;
+    public List<SubgoalQuestionAnswer> getHistory(String subgoalId) {
+        return new ArrayList<>(histories.getOrDefault(subgoalId, Collections.emptyList()));
+    }
+
+    /**
+     * Returns the newest entries of the history of a given subgoal ID. Only the returned
+     * entries are copied.
+     *
+     * @param subgoalId the identifier of the subgoal whose history is requested
+     * @param limit     the maximum number of entries to return
+     * @return up to {@code limit} of the newest entries, oldest first
+     */
+    @Override
+    public List<SubgoalQuestionAnswer> getRecentHistory(String subgoalId, int limit) {
+        final List<SubgoalQuestionAnswer> history = histories.getOrDefault(subgoalId, Collections.emptyList());
+        return new ArrayList<>(history.subList(Math.max(0, history.size() - limit), history.size()));
     }
 
     /**
-     * Appends a new question–answer entry for the given subgoal and persists
-     * the updated history.
+     * Appends a new question–answer entry for the given subgoal and persists it.
      *
      * @param subgoalId       the identifier of the subgoal the entry belongs to
      * @param questionMessage the question text asked about the subgoal
@@ -97,17 +181,66 @@ public class FileSubgoalQnaDataAccessObject extends JsonDataAccess<SubgoalQuesti
      * @return the newly created SubgoalQuestionAnswer entry
      */
     @Override
-    public synchronized SubgoalQuestionAnswer appendEntry(String subgoalId,
-                                                          String questionMessage,
-                                                          String responseMessage) {
+    public SubgoalQuestionAnswer appendEntry(String subgoalId,
+                                             String questionMessage,
+                                             String responseMessage) {
         final SubgoalQuestionAnswerBuilder builder = new SubgoalQuestionAnswerBuilder();
         final SubgoalQuestionAnswer entry = builder.generateId()
                 .setSubgoalId(subgoalId)
                 .setQuestionMessage(questionMessage)
                 .setResponseMessage(responseMessage)
                 .build();
-        subgoalQuestionAnswers.add(entry);
-        saveToJson(subgoalQuestionAnswers);
+        final ReentrantLock lock = locks[stripeOf(subgoalId)];
+        lock.lock();
+        try {
+            final List<SubgoalQuestionAnswer> history =
+                    new ArrayList<>(histories.getOrDefault(subgoalId, Collections.emptyList()));
+            history.add(entry);
+            histories.put(subgoalId, Collections.unmodifiableList(history));
+            persistPut(entry, allEntries);
+        }
+        finally {
+            lock.unlock();
+        }
         return entry;
     }
+
+    /**
+     * Removes every Q/A entry that belongs to one of the given subgoals and persists the
+     * removal with a single write.
+     *
+     * @param subgoalIds the IDs of the subgoals whose history to remove
+     */
+    @Override
+    public void deleteHistory(Collection<String> subgoalIds) {
+        // locks are taken in stripe order so that two deletes cannot wait for each other
+        final SortedSet<Integer> stripes = new TreeSet<>();
+        for (String subgoalId : subgoalIds) {
+            stripes.add(stripeOf(subgoalId));
+        }
+        for (int stripe : stripes) {
+            locks[stripe].lock();
+        }
+        try {
+            final List<String> removedIds = new ArrayList<>();
+            for (String subgoalId : subgoalIds) {
+                final List<SubgoalQuestionAnswer> removed = histories.remove(subgoalId);
+                if (removed != null) {
+                    for (SubgoalQuestionAnswer entry : removed) {
+                        removedIds.add(entry.getId());
+                    }
+                }
+            }
+            // persisted while the histories are locked, so an entry appended at the same
+            // time cannot be journaled after its delete record
+            if (!removedIds.isEmpty()) {
+                persistDeleteAll(removedIds, allEntries);
+            }
+        }
+        finally {
+            for (int stripe : stripes) {
+                locks[stripe].unlock();
+            }
+        }
+    }
 }
@@ -1,7 +1,8 @@
 package data_access.file;
 
 import java.io.IOException;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.json.JSONObject;
 
@@ -16,6 +17,10 @@ import use_case.signup.SignupUserDataAccessInterface;
  * FileUserDataAccessObject is a file-backed DAO that stores and retrieves user
  * accounts using JSON serialization. It supports signup, login, logout, and
  * password change operations.
+ *
+ * <p>Signup, login, logout and password changes run on background workers, so the store is
+ * shared between threads. Like the subgoal and plan stores, lookups take a shared read lock
+ * and are only kept out while a change updates memory, not while it is written to disk.</p>
  */
 public class FileUserDataAccessObject extends JsonDataAccess<User> implements
         SignupUserDataAccessInterface,
@@ -23,8 +28,9 @@ public class FileUserDataAccessObject extends JsonDataAccess<User> implements
         ChangePasswordUserDataAccessInterface,
         LogoutUserDataAccessInterface {
 
-    private final ArrayList<User> accounts = new ArrayList<>();
-    private String currentUsername;
+    private final Map<String, User> accounts = new LinkedHashMap<>();
+    private final StoreLock lock = new StoreLock();
+    private volatile String currentUsername;
 
     /**
      * Creates a FileUserDataAccessObject and loads existing users from the file
@@ -53,8 +59,15 @@ public class FileUserDataAccessObject extends JsonDataAccess<User> implements
      */
     @Override
     public void save(User user) {
-        accounts.add(user);
-        saveToJson(accounts);
+        lock.beginWrite();
+        try {
+            accounts.put(user.getName(), user);
+            lock.publish();
+            persistPut(user, accounts.values());
+        }
+        finally {
+            lock.endWrite();
+        }
     }
 
     /**
@@ -65,10 +78,13 @@ public class FileUserDataAccessObject extends JsonDataAccess<User> implements
      */
     @Override
     public User get(String username) {
-        return accounts.stream()
-                .filter(user -> user.getName().equals(username))
-                .findFirst()
-                .orElse(null);
+        lock.readLock().lock();
+        try {
+            return accounts.get(username);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -99,7 +115,13 @@ public class FileUserDataAccessObject extends JsonDataAccess<User> implements
      */
     @Override
     public boolean existsByName(String identifier) {
-        return accounts.stream().anyMatch(user -> user.getName().equals(identifier));
+        lock.readLock().lock();
+        try {
+            return accounts.containsKey(identifier);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
@@ -109,8 +131,26 @@ public class FileUserDataAccessObject extends JsonDataAccess<User> implements
      */
     @Override
     public void changePassword(User user) {
-        accounts.add(user);
-        saveToJson(accounts);
+        lock.beginWrite();
+        try {
+            accounts.put(user.getName(), user);
+            lock.publish();
+            persistPut(user, accounts.values());
+        }
+        finally {
+            lock.endWrite();
+        }
+    }
+
+    /**
+     * Returns the username, which is the key used by the journal.
+     *
+     * @param object the user
+     * @return the username of the user
+     */
+    @Override
+    protected String getKey(User object) {
+        return object.getName();
     }
 
     /**
@@ -0,0 +1,67 @@
+package data_access.file;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * StoreLock guards a file store whose changes are kept in memory and then written to disk.
+ * Queries take the shared read lock. A change starts with {@link #beginWrite}, which also
+ * keeps queries out, and calls {@link #publish} once memory is up to date; queries run again
+ * from then on while the change is written to disk. Changes are serialized until
+ * {@link #endWrite}, disk write included, so they reach the journal in the order they were
+ * made and no change runs while a snapshot of the store is copied. Changes do not nest.
+ *
+ * <p>Usage:</p>
+ * <pre>
+ * lock.beginWrite();
+ * try {
+ *     // change memory
+ *     lock.publish();
+ *     // write the change to disk
+ * }
+ * finally {
+ *     lock.endWrite();
+ * }
+ * </pre>
+ */
+final class StoreLock {
+
+    private final ReentrantReadWriteLock memory = new ReentrantReadWriteLock();
+    private final ReentrantLock writer = new ReentrantLock();
+
+    /**
+     * Returns the lock taken by queries.
+     * @return the shared read lock
+     */
+    Lock readLock() {
+        return memory.readLock();
+    }
+
+    /**
+     * Starts a change: waits for earlier changes to finish, including their disk writes, and
+     * then for running queries.
+     */
+    void beginWrite() {
+        writer.lock();
+        memory.writeLock().lock();
+    }
+
+    /**
+     * Lets queries see the change made so far. The change keeps the store to itself until
+     * {@link #endWrite}, except for queries.
+     */
+    void publish() {
+        if (memory.isWriteLockedByCurrentThread()) {
+            memory.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ends a change, publishing it if that has not happened yet.
+     */
+    void endWrite() {
+        publish();
+        writer.unlock();
+    }
+}
@@ -0,0 +1,207 @@
+package data_access.file;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import entity.subgoal.Subgoal;
+
+/**
+ * SubgoalIndex keeps the secondary indexes of {@link FileSubgoalDataAccessObject}: subgoals
+ * by user, by plan, the user-scoped priority, completed and incomplete sets, and a per-user
+ * deadline-ordered tree. Every index is updated incrementally when a subgoal is added or
+ * removed, so a query only touches the subgoals it returns. It also keeps a version per plan
+ * that changes whenever one of the plan's subgoals is added or removed.
+ */
+class SubgoalIndex {
+
+    // within one day incomplete subgoals come first; the ID keeps distinct subgoals apart
+    private static final Comparator<Subgoal> SAME_DAY_ORDER = Comparator
+            .comparing(Subgoal::isCompleted)
+            .thenComparing(Subgoal::getId);
+
+    private final Map<String, Map<String, Subgoal>> byUser = new HashMap<>();
+    private final Map<String, Map<String, Subgoal>> byPlan = new HashMap<>();
+    private final Map<String, Map<String, Subgoal>> priorityByUser = new HashMap<>();
+    private final Map<String, Map<String, Subgoal>> completedByUser = new HashMap<>();
+    private final Map<String, Map<String, Subgoal>> incompleteByUser = new HashMap<>();
+    private final Map<String, NavigableMap<LocalDate, NavigableSet<Subgoal>>> deadlinesByUser = new HashMap<>();
+    // stamped from one counter, so a plan never gets back a version it had before
+    private final Map<String, Long> planVersions = new HashMap<>();
+    private long lastVersion;
+
+    /**
+     * Adds a subgoal to every index it belongs to.
+     * @param subgoal the subgoal to index
+     */
+    void add(Subgoal subgoal) {
+        put(byUser, subgoal.getUsername(), subgoal);
+        put(byPlan, subgoal.getPlanId(), subgoal);
+        planVersions.put(subgoal.getPlanId(), ++lastVersion);
+        if (subgoal.isPriority()) {
+            put(priorityByUser, subgoal.getUsername(), subgoal);
+        }
+        if (subgoal.isCompleted()) {
+            put(completedByUser, subgoal.getUsername(), subgoal);
+        }
+        else {
+            put(incompleteByUser, subgoal.getUsername(), subgoal);
+        }
+        deadlinesByUser.computeIfAbsent(subgoal.getUsername(), unused -> new TreeMap<>())
+                .computeIfAbsent(subgoal.getDeadline(), unused -> new TreeSet<>(SAME_DAY_ORDER))
+                .add(subgoal);
+    }
+
+    /**
+     * Removes a subgoal from every index. The subgoal must be the instance that was added.
+     * @param subgoal the subgoal to remove
+     */
+    void remove(Subgoal subgoal) {
+        remove(byUser, subgoal.getUsername(), subgoal);
+        remove(byPlan, subgoal.getPlanId(), subgoal);
+        if (byPlan.containsKey(subgoal.getPlanId())) {
+            planVersions.put(subgoal.getPlanId(), ++lastVersion);
+        }
+        else {
+            planVersions.remove(subgoal.getPlanId());
+        }
+        remove(priorityByUser, subgoal.getUsername(), subgoal);
+        remove(completedByUser, subgoal.getUsername(), subgoal);
+        remove(incompleteByUser, subgoal.getUsername(), subgoal);
+        final NavigableMap<LocalDate, NavigableSet<Subgoal>> days = deadlinesByUser.get(subgoal.getUsername());
+        if (days != null) {
+            final NavigableSet<Subgoal> day = days.get(subgoal.getDeadline());
+            if (day != null && day.remove(subgoal) && day.isEmpty()) {
+                days.remove(subgoal.getDeadline());
+            }
+            if (days.isEmpty()) {
+                deadlinesByUser.remove(subgoal.getUsername());
+            }
+        }
+    }
+
+    List<Subgoal> byUser(String username) {
+        return list(byUser, username);
+    }
+
+    List<Subgoal> byPlan(String planId) {
+        return list(byPlan, planId);
+    }
+
+    /**
+     * Returns the version of a plan's subgoals. It changes whenever a subgoal of the plan is
+     * added or removed, updates included, and is 0 while the plan has no subgoals.
+     * @param planId the plan
+     * @return the current version of the plan's subgoals
+     */
+    long planVersion(String planId) {
+        return planVersions.getOrDefault(planId, 0L);
+    }
+
+    List<Subgoal> priority(String username) {
+        return list(priorityByUser, username);
+    }
+
+    List<Subgoal> completed(String username) {
+        return list(completedByUser, username);
+    }
+
+    List<Subgoal> incomplete(String username) {
+        return list(incompleteByUser, username);
+    }
+
+    /**
+     * Returns the user's subgoals due between two dates, inclusive, ordered by deadline and
+     * then with incomplete subgoals first.
+     * @param username the owner of the subgoals
+     * @param from the first deadline to include
+     * @param to the last deadline to include
+     * @return the matching subgoals
+     */
+    List<Subgoal> inRange(String username, LocalDate from, LocalDate to) {
+        final List<Subgoal> result = new ArrayList<>();
+        final NavigableMap<LocalDate, NavigableSet<Subgoal>> days = deadlinesByUser.get(username);
+        if (days != null && !to.isBefore(from)) {
+            for (NavigableSet<Subgoal> day : days.subMap(from, true, to, true).values()) {
+                result.addAll(day);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's subgoals due on or after {@code from}, in
+     * the same order as {@link #inRange}, continuing after the given subgoal if one is set.
+     * Only the subgoal's sort key is used, so it need not still be in the index.
+     * @param username the owner of the subgoals
+     * @param from the earliest deadline to include
+     * @param after the last subgoal of the previous page, or null to start at {@code from}
+     * @param limit the maximum number of subgoals to return
+     * @return the next page of upcoming subgoals
+     */
+    List<Subgoal> upcoming(String username, LocalDate from, Subgoal after, int limit) {
+        final List<Subgoal> result = new ArrayList<>();
+        final NavigableMap<LocalDate, NavigableSet<Subgoal>> days = deadlinesByUser.get(username);
+        if (days == null) {
+            return result;
+        }
+        final NavigableMap<LocalDate, NavigableSet<Subgoal>> remaining;
+        if (after != null && !after.getDeadline().isBefore(from)) {
+            final NavigableSet<Subgoal> day = days.get(after.getDeadline());
+            if (day != null) {
+                addUpTo(result, day.tailSet(after, false), limit);
+            }
+            remaining = days.tailMap(after.getDeadline(), false);
+        }
+        else {
+            remaining = days.tailMap(from, true);
+        }
+        for (NavigableSet<Subgoal> day : remaining.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            addUpTo(result, day, limit);
+        }
+        return result;
+    }
+
+    private static void addUpTo(List<Subgoal> result, Iterable<Subgoal> subgoals, int limit) {
+        for (Subgoal subgoal : subgoals) {
+            if (result.size() >= limit) {
+                return;
+            }
+            result.add(subgoal);
+        }
+    }
+
+    private static void put(Map<String, Map<String, Subgoal>> index, String key, Subgoal subgoal) {
+        index.computeIfAbsent(key, unused -> new LinkedHashMap<>()).put(subgoal.getId(), subgoal);
+    }
+
+    private static void remove(Map<String, Map<String, Subgoal>> index, String key, Subgoal subgoal) {
+        final Map<String, Subgoal> bucket = index.get(key);
+        if (bucket == null) {
+            return;
+        }
+        bucket.remove(subgoal.getId());
+        if (bucket.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static List<Subgoal> list(Map<String, Map<String, Subgoal>> index, String key) {
+        final Map<String, Subgoal> bucket = index.get(key);
+        if (bucket == null) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(bucket.values());
+    }
+}
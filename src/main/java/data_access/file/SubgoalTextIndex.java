@@ -0,0 +1,211 @@
+package data_access.file;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import entity.subgoal.Subgoal;
+
+/**
+ * SubgoalTextIndex is a trigram inverted index over subgoal names and descriptions, scoped
+ * per user. A query of three or more characters only looks at the subgoals that contain its
+ * rarest trigram; shorter queries fall back to the user's subgoals. Lower-cased copies of the
+ * texts are kept so that no strings are allocated per subgoal while searching.
+ */
+class SubgoalTextIndex {
+
+    private static final int GRAM = 3;
+
+    // relevance of a match, highest first
+    private static final int EXACT_NAME = 6;
+    private static final int NAME_PREFIX = 5;
+    private static final int NAME_WORD_PREFIX = 4;
+    private static final int NAME_SUBSTRING = 3;
+    private static final int DESCRIPTION_WORD_PREFIX = 2;
+    private static final int DESCRIPTION_SUBSTRING = 1;
+
+    private final Map<String, Document> documents = new HashMap<>();
+    private final Map<String, Set<String>> idsByUser = new HashMap<>();
+    private final Map<String, Map<String, Set<String>>> postingsByUser = new HashMap<>();
+
+    /**
+     * Adds or updates the text of a subgoal. Nothing is re-indexed if its name and
+     * description did not change.
+     * @param subgoal the subgoal to index
+     */
+    void put(Subgoal subgoal) {
+        final Document existing = documents.get(subgoal.getId());
+        if (existing != null) {
+            if (existing.sameText(subgoal)) {
+                return;
+            }
+            remove(subgoal.getId());
+        }
+        final Document document = new Document(subgoal);
+        documents.put(subgoal.getId(), document);
+        idsByUser.computeIfAbsent(document.username, unused -> new LinkedHashSet<>()).add(subgoal.getId());
+        final Map<String, Set<String>> postings =
+                postingsByUser.computeIfAbsent(document.username, unused -> new HashMap<>());
+        for (String gram : grams(document)) {
+            postings.computeIfAbsent(gram, unused -> new HashSet<>()).add(subgoal.getId());
+        }
+    }
+
+    /**
+     * Removes a subgoal from the index.
+     * @param id the ID of the subgoal to remove
+     */
+    void remove(String id) {
+        final Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        final Set<String> ids = idsByUser.get(document.username);
+        ids.remove(id);
+        if (ids.isEmpty()) {
+            idsByUser.remove(document.username);
+        }
+        final Map<String, Set<String>> postings = postingsByUser.get(document.username);
+        for (String gram : grams(document)) {
+            final Set<String> posting = postings.get(gram);
+            if (posting != null && posting.remove(id) && posting.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+        if (postings.isEmpty()) {
+            postingsByUser.remove(document.username);
+        }
+    }
+
+    /**
+     * Returns the IDs of the user's subgoals whose text contains the query, ignoring case,
+     * ordered by relevance: exact name, name prefix, name word prefix, anywhere in the name,
+     * then description word prefix and anywhere in the description.
+     * @param username the owner of the subgoals
+     * @param query the text to search for
+     * @param includeDescriptions whether descriptions are searched as well as names
+     * @return the matching subgoal IDs, most relevant first
+     */
+    List<String> search(String username, String query, boolean includeDescriptions) {
+        final String term = query.toLowerCase(Locale.ROOT);
+        final String wordPrefix = " " + term;
+        final List<Match> matches = new ArrayList<>();
+        for (String id : candidates(username, term)) {
+            final Document document = documents.get(id);
+            final int score = score(document, term, wordPrefix, includeDescriptions);
+            if (score > 0) {
+                matches.add(new Match(id, document.name.length(), score));
+            }
+        }
+        matches.sort(Comparator.comparingInt((Match match) -> -match.score)
+                .thenComparingInt(match -> match.nameLength));
+        final List<String> result = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            result.add(match.id);
+        }
+        return result;
+    }
+
+    private Set<String> candidates(String username, String term) {
+        final Set<String> all = idsByUser.getOrDefault(username, Set.of());
+        if (term.length() < GRAM) {
+            return all;
+        }
+        final Map<String, Set<String>> postings = postingsByUser.getOrDefault(username, Map.of());
+        Set<String> rarest = all;
+        for (int i = 0; i + GRAM <= term.length(); i++) {
+            final Set<String> posting = postings.get(term.substring(i, i + GRAM));
+            if (posting == null) {
+                return Set.of();
+            }
+            if (posting.size() < rarest.size()) {
+                rarest = posting;
+            }
+        }
+        return rarest;
+    }
+
+    private static int score(Document document, String term, String wordPrefix, boolean includeDescriptions) {
+        if (document.name.equals(term)) {
+            return EXACT_NAME;
+        }
+        if (document.name.startsWith(term)) {
+            return NAME_PREFIX;
+        }
+        if (document.name.contains(wordPrefix)) {
+            return NAME_WORD_PREFIX;
+        }
+        if (document.name.contains(term)) {
+            return NAME_SUBSTRING;
+        }
+        if (includeDescriptions) {
+            if (document.description.startsWith(term) || document.description.contains(wordPrefix)) {
+                return DESCRIPTION_WORD_PREFIX;
+            }
+            if (document.description.contains(term)) {
+                return DESCRIPTION_SUBSTRING;
+            }
+        }
+        return 0;
+    }
+
+    private static Set<String> grams(Document document) {
+        final Set<String> grams = new HashSet<>();
+        addGrams(grams, document.name);
+        addGrams(grams, document.description);
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String text) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM));
+        }
+    }
+
+    /**
+     * The indexed, lower-cased text of one subgoal.
+     */
+    private static final class Document {
+        private final String username;
+        private final String originalName;
+        private final String originalDescription;
+        private final String name;
+        private final String description;
+
+        private Document(Subgoal subgoal) {
+            this.username = subgoal.getUsername();
+            this.originalName = Objects.toString(subgoal.getName(), "");
+            this.originalDescription = Objects.toString(subgoal.getDescription(), "");
+            this.name = originalName.toLowerCase(Locale.ROOT);
+            this.description = originalDescription.toLowerCase(Locale.ROOT);
+        }
+
+        private boolean sameText(Subgoal subgoal) {
+            return username.equals(subgoal.getUsername())
+                    && originalName.equals(Objects.toString(subgoal.getName(), ""))
+                    && originalDescription.equals(Objects.toString(subgoal.getDescription(), ""));
+        }
+    }
+
+    /**
+     * A matching subgoal and how well it matched.
+     */
+    private static final class Match {
+        private final String id;
+        private final int nameLength;
+        private final int score;
+
+        private Match(String id, int nameLength, int score) {
+            this.id = id;
+            this.nameLength = nameLength;
+            this.score = score;
+        }
+    }
+}
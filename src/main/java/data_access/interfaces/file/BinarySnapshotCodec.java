@@ -0,0 +1,377 @@
+package data_access.interfaces.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * BinarySnapshotCodec writes and reads a compact binary form of the JSON records kept by
+ * {@link JsonDataAccess}. The format is self-describing, so any JSON record can be stored,
+ * but it is shaped around what the stores actually contain:
+ * <ul>
+ *     <li>every record is length-prefixed, so the file can be read one record at a time;</li>
+ *     <li>field names, and the values of the configured dictionary fields (usernames,
+ *     plan ids, ...), are written once and referred to by index afterwards;</li>
+ *     <li>UUID strings are stored as 16 raw bytes and ISO dates as a varint epoch day.</li>
+ * </ul>
+ * Decoding turns UUIDs and dates back into the exact strings they came from, so the
+ * records handed to {@code parseJsonObject} are identical to the JSON ones.
+ */
+public class BinarySnapshotCodec {
+
+    private static final int MAGIC = 0x50545342;
+    private static final int VERSION = 1;
+
+    private static final int TAG_NULL = 0;
+    private static final int TAG_FALSE = 1;
+    private static final int TAG_TRUE = 2;
+    private static final int TAG_LONG = 3;
+    private static final int TAG_DOUBLE = 4;
+    private static final int TAG_STRING = 5;
+    private static final int TAG_UUID = 6;
+    private static final int TAG_DATE = 7;
+    private static final int TAG_DICT_DEFINE = 8;
+    private static final int TAG_DICT_REF = 9;
+    private static final int TAG_OBJECT = 10;
+    private static final int TAG_ARRAY = 11;
+
+    private static final int UUID_LENGTH = 36;
+    private static final int DATE_LENGTH = 10;
+
+    private final Set<String> dictionaryFields;
+
+    /**
+     * Creates a codec that dictionary-encodes the values of the given fields.
+     *
+     * @param dictionaryFields names of fields whose values repeat across records
+     */
+    public BinarySnapshotCodec(Set<String> dictionaryFields) {
+        this.dictionaryFields = dictionaryFields;
+    }
+
+    /**
+     * Creates a codec that only dictionary-encodes field names.
+     */
+    public BinarySnapshotCodec() {
+        this(Collections.emptySet());
+    }
+
+    /**
+     * Writes all records to the stream. The stream is flushed but not closed.
+     *
+     * @param records the records to write, in order
+     * @param out     the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    public void write(Iterable<JSONObject> records, OutputStream out) throws IOException {
+        final DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        final Map<String, Integer> dictionary = new HashMap<>();
+        final ByteArrayOutputStream recordBytes = new ByteArrayOutputStream();
+        final DataOutputStream record = new DataOutputStream(recordBytes);
+        for (JSONObject object : records) {
+            recordBytes.reset();
+            writeObject(record, object, dictionary);
+            writeVarLong(data, recordBytes.size());
+            recordBytes.writeTo(data);
+        }
+        // a zero length marks the end, since every record is at least one tag long
+        writeVarLong(data, 0);
+        data.flush();
+    }
+
+    /**
+     * Reads records from the stream and hands them to the consumer one at a time.
+     *
+     * @param in       the stream to read from
+     * @param consumer receives every record in file order
+     * @throws IOException if the stream cannot be read or is not a binary snapshot
+     */
+    public void read(InputStream in, Consumer<JSONObject> consumer) throws IOException {
+        final DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a binary snapshot");
+        }
+        final int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported binary snapshot version " + version);
+        }
+        final List<String> dictionary = new ArrayList<>();
+        long length = readVarLong(data);
+        while (length != 0) {
+            if (data.readUnsignedByte() != TAG_OBJECT) {
+                throw new IOException("Expected a record object");
+            }
+            consumer.accept(readObject(data, dictionary));
+            length = readVarLong(data);
+        }
+    }
+
+    /**
+     * Converts a binary snapshot to a pretty-printed JSON array file.
+     *
+     * @param binary the binary snapshot to read
+     * @param json   the JSON file to write
+     * @throws IOException if either file cannot be accessed
+     */
+    public void exportJson(Path binary, Path json) throws IOException {
+        final JSONArray array = new JSONArray();
+        try (InputStream in = Files.newInputStream(binary)) {
+            read(in, array::put);
+        }
+        try (Writer writer = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+            writer.write(array.toString(2));
+        }
+    }
+
+    /**
+     * Converts a JSON array file to a binary snapshot.
+     *
+     * @param json   the JSON file to read
+     * @param binary the binary snapshot to write
+     * @throws IOException if either file cannot be accessed
+     */
+    public void importJson(Path json, Path binary) throws IOException {
+        final JSONArray array = new JSONArray(new String(Files.readAllBytes(json), StandardCharsets.UTF_8));
+        final List<JSONObject> records = new ArrayList<>(array.length());
+        for (int i = 0; i < array.length(); i++) {
+            records.add(array.getJSONObject(i));
+        }
+        try (OutputStream out = Files.newOutputStream(binary)) {
+            write(records, out);
+        }
+    }
+
+    private void writeObject(DataOutputStream out, JSONObject object,
+                             Map<String, Integer> dictionary) throws IOException {
+        out.writeByte(TAG_OBJECT);
+        writeVarLong(out, object.length());
+        for (String key : object.keySet()) {
+            writeDictionaryString(out, key, dictionary);
+            final Object value = object.get(key);
+            if (value instanceof String && dictionaryFields.contains(key)) {
+                writeDictionaryString(out, (String) value, dictionary);
+            }
+            else {
+                writeValue(out, value, dictionary);
+            }
+        }
+    }
+
+    private void writeValue(DataOutputStream out, Object value,
+                            Map<String, Integer> dictionary) throws IOException {
+        if (value == null || JSONObject.NULL.equals(value)) {
+            out.writeByte(TAG_NULL);
+        }
+        else if (value instanceof Boolean) {
+            out.writeByte((Boolean) value ? TAG_TRUE : TAG_FALSE);
+        }
+        else if (value instanceof Integer || value instanceof Long
+                || value instanceof Short || value instanceof Byte) {
+            out.writeByte(TAG_LONG);
+            writeVarLong(out, zigZag(((Number) value).longValue()));
+        }
+        else if (value instanceof Number) {
+            out.writeByte(TAG_DOUBLE);
+            out.writeDouble(((Number) value).doubleValue());
+        }
+        else if (value instanceof JSONObject) {
+            writeObject(out, (JSONObject) value, dictionary);
+        }
+        else if (value instanceof JSONArray) {
+            final JSONArray array = (JSONArray) value;
+            out.writeByte(TAG_ARRAY);
+            writeVarLong(out, array.length());
+            for (int i = 0; i < array.length(); i++) {
+                writeValue(out, array.get(i), dictionary);
+            }
+        }
+        else {
+            // LocalDate and other objects are stored by org.json as-is and serialized with toString()
+            writeString(out, value.toString());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final UUID uuid = asUuid(value);
+        if (uuid != null) {
+            out.writeByte(TAG_UUID);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+            return;
+        }
+        final LocalDate date = asDate(value);
+        if (date != null) {
+            out.writeByte(TAG_DATE);
+            writeVarLong(out, zigZag(date.toEpochDay()));
+            return;
+        }
+        out.writeByte(TAG_STRING);
+        writeUtf8(out, value);
+    }
+
+    private static void writeDictionaryString(DataOutputStream out, String value,
+                                              Map<String, Integer> dictionary) throws IOException {
+        final Integer index = dictionary.get(value);
+        if (index != null) {
+            out.writeByte(TAG_DICT_REF);
+            writeVarLong(out, index);
+        }
+        else {
+            dictionary.put(value, dictionary.size());
+            out.writeByte(TAG_DICT_DEFINE);
+            writeUtf8(out, value);
+        }
+    }
+
+    private static JSONObject readObject(DataInputStream in, List<String> dictionary) throws IOException {
+        final long fields = readVarLong(in);
+        final JSONObject object = new JSONObject();
+        for (long i = 0; i < fields; i++) {
+            final Object key = readValue(in, dictionary);
+            if (!(key instanceof String)) {
+                throw new IOException("Expected a field name");
+            }
+            object.put((String) key, readValue(in, dictionary));
+        }
+        return object;
+    }
+
+    private static Object readValue(DataInputStream in, List<String> dictionary) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+            case TAG_NULL:
+                return JSONObject.NULL;
+            case TAG_FALSE:
+                return Boolean.FALSE;
+            case TAG_TRUE:
+                return Boolean.TRUE;
+            case TAG_LONG:
+                return unZigZag(readVarLong(in));
+            case TAG_DOUBLE:
+                return in.readDouble();
+            case TAG_STRING:
+                return readUtf8(in);
+            case TAG_UUID:
+                return new UUID(in.readLong(), in.readLong()).toString();
+            case TAG_DATE:
+                return LocalDate.ofEpochDay(unZigZag(readVarLong(in))).toString();
+            case TAG_DICT_DEFINE:
+                final String defined = readUtf8(in);
+                dictionary.add(defined);
+                return defined;
+            case TAG_DICT_REF:
+                final long index = readVarLong(in);
+                if (index >= dictionary.size()) {
+                    throw new IOException("Unknown dictionary entry " + index);
+                }
+                return dictionary.get((int) index);
+            case TAG_OBJECT:
+                return readObject(in, dictionary);
+            case TAG_ARRAY:
+                final long length = readVarLong(in);
+                final JSONArray array = new JSONArray();
+                for (long i = 0; i < length; i++) {
+                    array.put(readValue(in, dictionary));
+                }
+                return array;
+            default:
+                throw new IOException("Unknown tag " + tag);
+        }
+    }
+
+    private static UUID asUuid(String value) {
+        if (value.length() != UUID_LENGTH || value.charAt(8) != '-') {
+            return null;
+        }
+        try {
+            final UUID uuid = UUID.fromString(value);
+            // only canonical lower-case forms round-trip to the same string
+            return uuid.toString().equals(value) ? uuid : null;
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private static LocalDate asDate(String value) {
+        if (value.length() != DATE_LENGTH || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return null;
+        }
+        try {
+            final LocalDate date = LocalDate.parse(value);
+            return date.toString().equals(value) ? date : null;
+        }
+        catch (DateTimeParseException ex) {
+            return null;
+        }
+    }
+
+    private static void writeUtf8(DataOutputStream out, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readUtf8(DataInputStream in) throws IOException {
+        final byte[] bytes = new byte[(int) readVarLong(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            final int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated binary snapshot");
+            }
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -1,47 +1,449 @@
 package data_access.interfaces.file;
 import org.json.JSONArray;
 import org.json.JSONObject;
+import org.json.JSONTokener;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 public abstract class JsonDataAccess<T> {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final long DEFAULT_FLUSH_LATENCY_MILLIS = 200;
+
     protected String filePath = "";
 
+    private final JsonJournal journal;
+    private boolean journalEnabled;
+    private int compactionThreshold;
+    private long flushLatencyMillis = DEFAULT_FLUSH_LATENCY_MILLIS;
+    private final AtomicReference<List<T>> pendingSnapshot = new AtomicReference<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private ScheduledExecutorService writerExecutor;
+    private BinarySnapshotCodec binaryCodec;
+
     protected JsonDataAccess(String filePath) {
         this.filePath = filePath;
+        this.journal = isPersistent() ? new JsonJournal(filePath) : null;
+    }
+
+    /**
+     * Switches this store to journaled persistence. Instead of rewriting the whole file on
+     * every mutation, each insert, update or delete is appended as one record to a journal
+     * next to the JSON file. Once the journal holds {@code threshold} records it is folded
+     * into a fresh snapshot on a background thread.
+     *
+     * @param threshold the number of journal records that triggers a compaction
+     */
+    public void enableJournal(int threshold) {
+        if (!isPersistent()) {
+            return;
+        }
+        this.journalEnabled = true;
+        this.compactionThreshold = threshold;
+    }
+
+    /**
+     * Switches snapshots to the compact binary format. Snapshots are then written to
+     * {@code <file>.bin} and the JSON file is left untouched; use {@link #exportToJson()}
+     * to bring it up to date. A binary snapshot on disk is always preferred when loading,
+     * and writing a JSON snapshot again removes it.
+     */
+    public void enableBinarySnapshot() {
+        if (isPersistent()) {
+            this.binaryCodec = new BinarySnapshotCodec(getDictionaryFields());
+        }
+    }
+
+    /**
+     * Writes the current binary snapshot out as a pretty-printed JSON file at the usual
+     * path. Pending changes are flushed first.
+     *
+     * @throws IOException if the snapshot cannot be converted
+     */
+    public void exportToJson() throws IOException {
+        flush();
+        final Path binaryPath = getBinaryPath();
+        if (Files.exists(binaryPath)) {
+            new BinarySnapshotCodec().exportJson(binaryPath, Paths.get(filePath));
+        }
+    }
+
+    /**
+     * Sets how long a dirty store may wait before it is written to disk. Mutations made
+     * within this window are coalesced into a single snapshot write.
+     *
+     * @param millis the maximum delay between a mutation and its flush, in milliseconds
+     */
+    public void setFlushLatency(long millis) {
+        this.flushLatencyMillis = millis;
+    }
+
+    /**
+     * Returns whether this store is backed by a file at all.
+     *
+     * @return true if a file path was configured
+     */
+    protected boolean isPersistent() {
+        return filePath != null && !filePath.isEmpty();
     }
 
+    /**
+     * Marks the store dirty. The snapshot is written on the store's background writer
+     * thread once the flush latency has passed, so the calling thread never waits on disk
+     * I/O and a burst of mutations results in a single write.
+     *
+     * @param collection the full collection to persist
+     */
     protected void saveToJson(Collection<T> collection) {
-        if (filePath == null) {
+        if (!isPersistent()) {
+            return;
+        }
+        final List<T> snapshot;
+        // copying, rotating and publishing the snapshot happen together. Journal appends take
+        // the same lock, so a record is either in the copy or in the fresh journal, and the
+        // writer thread never drops a rotated journal whose records are not in a snapshot on disk
+        synchronized (journal) {
+            snapshot = new ArrayList<>(collection);
+            try {
+                // records journaled so far are part of this snapshot; keep them until it is on disk
+                journal.rotate();
+            }
+            catch (IOException ex) {
+                System.err.println("Could not rotate journal: " + ex.getMessage());
+            }
+            pendingSnapshot.set(snapshot);
+        }
+        if (flushScheduled.compareAndSet(false, true)) {
+            writer().schedule(this::flushPending, flushLatencyMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Blocks until every pending change has been written to disk.
+     */
+    public void flush() {
+        if (writerExecutor == null) {
             return;
         }
         try {
-            JSONArray dataArray = new JSONArray();
-            for (T entry : collection) {
-                dataArray.put(convertObjectToJson(entry));
+            writerExecutor.submit(this::flushPending).get();
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException ex) {
+            System.err.println("Error flushing " + filePath + ": " + ex.getCause());
+        }
+    }
+
+    /**
+     * Persists an inserted or updated entry. In journaled mode only the entry itself is
+     * written; otherwise the whole collection is rewritten.
+     *
+     * @param entry      the entry that was inserted or updated
+     * @param collection the full collection after the change
+     */
+    protected void persistPut(T entry, Collection<T> collection) {
+        appendOrRewrite(() -> journal.appendPut(convertObjectToJson(entry)), collection);
+    }
+
+    /**
+     * Persists a batch of inserted or updated entries as one write: a single journal flush
+     * in journaled mode, otherwise one rewrite of the whole collection.
+     *
+     * @param entries    the entries that were inserted or updated
+     * @param collection the full collection after the change
+     */
+    protected void persistPutAll(Collection<T> entries, Collection<T> collection) {
+        appendOrRewrite(() -> {
+            final List<JSONObject> records = new ArrayList<>(entries.size());
+            for (T entry : entries) {
+                records.add(convertObjectToJson(entry));
             }
-            String jsonContent = dataArray.toString(2);
-            Files.write(Paths.get(filePath), jsonContent.getBytes());
-            System.out.println("Data saved to file: " + filePath);
-        } catch (Exception e) {
-            System.err.println("Error saving data to file: " + e.getMessage());
+            journal.appendPuts(records);
+        }, collection);
+    }
+
+    /**
+     * Persists the removal of the entry with the given key. In journaled mode only a
+     * delete record is written; otherwise the whole collection is rewritten.
+     *
+     * @param key        the key of the removed entry
+     * @param collection the full collection after the change
+     */
+    protected void persistDelete(String key, Collection<T> collection) {
+        appendOrRewrite(() -> journal.appendDelete(key), collection);
+    }
+
+    /**
+     * Persists the removal of several entries as one write.
+     *
+     * @param keys       the keys of the removed entries
+     * @param collection the full collection after the change
+     */
+    protected void persistDeleteAll(List<String> keys, Collection<T> collection) {
+        appendOrRewrite(() -> journal.appendDeletes(keys), collection);
+    }
+
+    private void appendOrRewrite(JournalWrite write, Collection<T> collection) {
+        if (!journalEnabled) {
+            saveToJson(collection);
+            return;
+        }
+        try {
+            write.run();
+        }
+        catch (IOException ex) {
+            System.err.println("Error appending to journal, rewriting snapshot: " + ex.getMessage());
+            saveToJson(collection);
+            return;
+        }
+        compactIfNeeded(collection);
+    }
+
+    private void compactIfNeeded(Collection<T> collection) {
+        if (journal.getEntryCount() >= compactionThreshold && !flushScheduled.get()) {
+            saveToJson(collection);
+        }
+    }
+
+    private synchronized ScheduledExecutorService writer() {
+        if (writerExecutor == null) {
+            writerExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "json-writer " + filePath);
+                thread.setDaemon(true);
+                return thread;
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "json-flush " + filePath));
+        }
+        return writerExecutor;
+    }
+
+    private void flushPending() {
+        flushScheduled.set(false);
+        final List<T> snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        try {
+            writeSnapshot(snapshot);
+            synchronized (journal) {
+                if (pendingSnapshot.get() == null) {
+                    journal.finishCompaction();
+                }
+            }
+        }
+        // -@cs[IllegalCatch] a failed write keeps the rotated journal, so nothing is lost
+        catch (Exception ex) {
+            System.err.println("Error saving data to file: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Writes the snapshot to a temporary file, forces it to disk and atomically renames it
+     * over the live file, so a crash leaves either the old or the new snapshot intact.
+     *
+     * @param snapshot the entries to write
+     * @throws IOException if the snapshot cannot be written
+     */
+    private void writeSnapshot(List<T> snapshot) throws IOException {
+        if (binaryCodec != null) {
+            final Iterable<JSONObject> records = () -> snapshot.stream().map(this::convertObjectToJson).iterator();
+            writeAtomically(getBinaryPath(), out -> binaryCodec.write(records, out));
+            return;
+        }
+        final JSONArray dataArray = new JSONArray();
+        for (T entry : snapshot) {
+            dataArray.put(convertObjectToJson(entry));
+        }
+        final byte[] bytes = dataArray.toString(2).getBytes(StandardCharsets.UTF_8);
+        writeAtomically(Paths.get(filePath), out -> out.write(bytes));
+        Files.deleteIfExists(getBinaryPath());
+    }
+
+    /**
+     * Writes a file to a temporary sibling, forces it to disk and atomically renames it
+     * over the target, so a crash leaves either the old or the new file intact.
+     *
+     * @param target  the file to replace
+     * @param content writes the new file contents
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeAtomically(Path target, SnapshotContent content) throws IOException {
+        final Path temp = Paths.get(target + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final OutputStream out = Channels.newOutputStream(channel);
+            content.writeTo(out);
+            out.flush();
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (AtomicMoveNotSupportedException ex) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
+    private Path getBinaryPath() {
+        return Paths.get(filePath + ".bin");
+    }
+
     protected void loadFromJson(Collection<T> collection) throws IOException {
+        if (journal != null && journal.exists()) {
+            final Map<String, T> records = new LinkedHashMap<>();
+            loadFromJson(records);
+            collection.addAll(records.values());
+            return;
+        }
         try {
-            String jsonString = new String(Files.readAllBytes(Paths.get(this.filePath)));
-            JSONArray jsonArray = new JSONArray(jsonString);
-            for (int i = 0; i < jsonArray.length(); i++) {
-                collection.add(parseJsonObject(jsonArray.getJSONObject(i)));
+            readSnapshot(Paths.get(this.filePath), getBinaryPath(), collection::add);
+        } catch (Exception e) {
+            System.err.println("Error loading data from file: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Loads the snapshot and replays the journal into a map keyed by {@link #getKey}.
+     * Later records replace earlier ones with the same key.
+     *
+     * @param index the map to fill, in file order
+     * @throws IOException if the data cannot be loaded
+     */
+    protected void loadFromJson(Map<String, T> index) throws IOException {
+        try {
+            final Path path = Paths.get(this.filePath);
+            final Path binaryPath = getBinaryPath();
+            final boolean hasJournal = journal != null && journal.exists();
+            if (!hasJournal || Files.exists(binaryPath) || Files.exists(path)) {
+                readSnapshot(path, binaryPath, entry -> index.put(getKey(entry), entry));
+            }
+            if (hasJournal) {
+                replayJournal(index);
             }
         } catch (Exception e) {
             System.err.println("Error loading data from file: " + e.getMessage());
         }
     }
+
+    private void readSnapshot(Path path, Path binaryPath, Consumer<T> consumer) throws IOException {
+        if (Files.exists(binaryPath)) {
+            try (InputStream in = Files.newInputStream(binaryPath)) {
+                new BinarySnapshotCodec().read(in, record -> consumer.accept(parseJsonObject(record)));
+            }
+        }
+        else {
+            readJsonSnapshot(path, consumer);
+        }
+    }
+
+    /**
+     * Streams the records of a JSON array file into the given consumer one at a time.
+     * Only the record currently being parsed is held in memory, instead of the whole
+     * file contents plus a full JSONArray.
+     *
+     * @param path     the snapshot file to read
+     * @param consumer receives every parsed record in file order
+     * @throws IOException if the file cannot be read
+     */
+    private void readJsonSnapshot(Path path, Consumer<T> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+             Reader reader = new BufferedReader(
+                     Channels.newReader(channel, StandardCharsets.UTF_8), READ_BUFFER_SIZE)) {
+            final JSONTokener tokener = new JSONTokener(reader);
+            if (tokener.nextClean() != '[') {
+                throw tokener.syntaxError("A JSON array text must start with '['");
+            }
+            char next = tokener.nextClean();
+            while (next != ']') {
+                tokener.back();
+                consumer.accept(parseJsonObject(new JSONObject(tokener)));
+                next = tokener.nextClean();
+                if (next == ',') {
+                    next = tokener.nextClean();
+                }
+                else if (next != ']') {
+                    throw tokener.syntaxError("Expected ',' or ']'");
+                }
+            }
+        }
+    }
+
+    private void replayJournal(Map<String, T> records) throws IOException {
+        journal.replay(new JsonJournal.Visitor() {
+            @Override
+            public void onPut(JSONObject record) {
+                final T entry = parseJsonObject(record);
+                records.put(getKey(entry), entry);
+            }
+
+            @Override
+            public void onDelete(String key) {
+                records.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Returns the key that identifies the given entry in this store. Journal records are
+     * matched on this key when they are replayed.
+     *
+     * @param object the stored entry
+     * @return the unique key of the entry
+     */
+    protected abstract String getKey(T object);
+
+    /**
+     * Returns the JSON fields whose values repeat across many records, such as usernames.
+     * The binary snapshot format stores each distinct value of these fields only once.
+     *
+     * @return the names of the dictionary-encoded fields
+     */
+    protected Set<String> getDictionaryFields() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * Appends records to the journal.
+     */
+    private interface JournalWrite {
+        void run() throws IOException;
+    }
+
+    /**
+     * Writes the contents of a snapshot file.
+     */
+    private interface SnapshotContent {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
     public abstract T parseJsonObject(JSONObject jsonObject);
     public abstract JSONObject convertObjectToJson(T object);
-}
\ No newline at end of file
+}
@@ -1,7 +1,46 @@
 package data_access.interfaces.plan;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import org.json.JSONArray;
+
 import org.json.JSONObject;
 
 public interface GeneratePlanDataAccessInterface {
     JSONObject getPlan(String userMessage);
+
+    /**
+     * Requests a plan without blocking the caller. Cancelling the returned future abandons
+     * the request. Gateways without a native asynchronous client complete the future on the
+     * calling thread.
+     *
+     * @param userMessage the user's input describing the desired plan or goal
+     * @return a future of the same JSON wrapper {@link #getPlan} returns
+     */
+    default CompletableFuture<JSONObject> getPlanAsync(String userMessage) {
+        return CompletableFuture.completedFuture(getPlan(userMessage));
+    }
+
+    /**
+     * Requests a plan and passes each valid subgoal object to {@code onSubgoal} as soon as
+     * it has been generated, in order. No more subgoals are passed on once the returned future
+     * is cancelled. Gateways that cannot stream pass the subgoals of a successful plan once
+     * the whole plan has arrived.
+     *
+     * @param userMessage the user's input describing the desired plan or goal
+     * @param onSubgoal   receives each subgoal object with its name, description and deadline
+     * @return a future of the same JSON wrapper {@link #getPlan} returns
+     */
+    default CompletableFuture<JSONObject> streamPlan(String userMessage, Consumer<JSONObject> onSubgoal) {
+        return getPlanAsync(userMessage).thenApply(response -> {
+            if (response.getBoolean("success")) {
+                final JSONArray subgoals = response.getJSONObject("responseObject").getJSONArray("subgoals");
+                for (int i = 0; i < subgoals.length(); i++) {
+                    onSubgoal.accept(subgoals.getJSONObject(i));
+                }
+            }
+            return response;
+        });
+    }
 }
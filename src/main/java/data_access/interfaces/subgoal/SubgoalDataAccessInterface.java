@@ -2,15 +2,47 @@ package data_access.interfaces.subgoal;
 
 import entity.subgoal.Subgoal;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 
 public interface SubgoalDataAccessInterface {
+    /**
+     * Order used by the deadline queries: by deadline, then incomplete before completed.
+     */
+    Comparator<Subgoal> DEADLINE_ORDER = Comparator
+            .comparing(Subgoal::getDeadline)
+            .thenComparing(Subgoal::isCompleted)
+            .thenComparing(Subgoal::getId);
+
     List<Subgoal> getSubgoalsByPlan(String planId, String userId);
 
     List<Subgoal> getPrioritySubgoals(String userId);
 
     List<Subgoal> getSubgoalsByName(String name, String userId);
 
+    /**
+     * Returns the user's subgoals whose name or description contains the query, ignoring case.
+     * Implementations backed by a text index return the most relevant matches first.
+     *
+     * @param query  the text to search for
+     * @param userId the user whose subgoals to search
+     * @return the matching subgoals
+     */
+    default List<Subgoal> searchSubgoals(String query, String userId) {
+        final String term = query.toLowerCase();
+        final List<Subgoal> result = new ArrayList<>();
+        for (Subgoal subgoal : getSubgoalsByUsername(userId)) {
+            if (subgoal.getName().toLowerCase().contains(term)
+                    || subgoal.getDescription().toLowerCase().contains(term)) {
+                result.add(subgoal);
+            }
+        }
+        return result;
+    }
+
     List<Subgoal> getCompletedSubgoals(String userId);
 
     List<Subgoal> getIncompleteSubgoals(String userId);
@@ -18,8 +50,32 @@ public interface SubgoalDataAccessInterface {
     Subgoal getSubgoalById(String subgoalId);
     List<Subgoal> getSubgoalsByPlanId(String planId);
 
+    /**
+     * Returns a number that changes whenever a subgoal of the plan is saved, updated or
+     * deleted, so callers can tell whether something they derived from the plan's subgoals is
+     * still current. Changes to other plans leave it alone.
+     *
+     * @param planId the plan whose subgoals to track
+     * @return the current version, or -1 if this store does not track changes and nothing
+     *         derived from it may be reused
+     */
+    default long getPlanVersion(String planId) {
+        return -1;
+    }
+
     void saveSubgoal(Subgoal subgoal);
 
+    /**
+     * Saves or updates several subgoals as one write.
+     *
+     * @param subgoals the subgoals to save
+     */
+    default void saveSubgoals(Collection<Subgoal> subgoals) {
+        for (Subgoal subgoal : subgoals) {
+            saveSubgoal(subgoal);
+        }
+    }
+
     /**
      * Updates the priority flag of the Subgoal with the given ID.
      *
@@ -52,10 +108,81 @@ public interface SubgoalDataAccessInterface {
      */
     List<Subgoal> getAllSubgoalsForUser(String userId);
 
+    /**
+     * Returns the user's subgoals due between two dates, inclusive, ordered by deadline and
+     * then with incomplete subgoals first.
+     *
+     * @param username the user whose subgoals to return
+     * @param from     the first deadline to include
+     * @param to       the last deadline to include
+     * @return the subgoals due in the range
+     */
+    default List<Subgoal> getSubgoalsInRange(String username, LocalDate from, LocalDate to) {
+        final List<Subgoal> result = new ArrayList<>();
+        for (Subgoal subgoal : getSubgoalsByUsername(username)) {
+            if (!subgoal.getDeadline().isBefore(from) && !subgoal.getDeadline().isAfter(to)) {
+                result.add(subgoal);
+            }
+        }
+        result.sort(DEADLINE_ORDER);
+        return result;
+    }
+
+    /**
+     * Returns one page of the user's subgoals due on or after a date, in the same order as
+     * {@link #getSubgoalsInRange}. Pass the last subgoal of a page to get the next one. Pages
+     * continue from that subgoal's place in the order, so the next page is still right if the
+     * subgoal was deleted or changed since it was loaded.
+     *
+     * @param username the user whose subgoals to return
+     * @param from     the earliest deadline to include
+     * @param after    the last subgoal of the previous page, as it was loaded, or null for the first page
+     * @param limit    the maximum number of subgoals to return
+     * @return the next page of upcoming subgoals
+     */
+    default List<Subgoal> getUpcomingSubgoals(String username, LocalDate from, Subgoal after, int limit) {
+        final List<Subgoal> page = new ArrayList<>();
+        for (Subgoal subgoal : getSubgoalsInRange(username, from, LocalDate.MAX)) {
+            if (page.size() >= limit) {
+                break;
+            }
+            if (after == null || DEADLINE_ORDER.compare(subgoal, after) > 0) {
+                page.add(subgoal);
+            }
+        }
+        return page;
+    }
+
     /**
      * Deletes the subgoal with the given ID.
      *
      * @param id the ID of the subgoal to delete
      */
     void deleteSubgoal(String id);
+
+    /**
+     * Deletes several subgoals as one write. IDs that do not exist are ignored.
+     *
+     * @param ids the IDs of the subgoals to delete
+     */
+    default void deleteSubgoals(Collection<String> ids) {
+        for (String id : ids) {
+            deleteSubgoal(id);
+        }
+    }
+
+    /**
+     * Deletes every subgoal of the given plan as one write.
+     *
+     * @param planId the ID of the plan whose subgoals to delete
+     * @return the IDs of the deleted subgoals
+     */
+    default List<String> deleteSubgoalsByPlanId(String planId) {
+        final List<String> ids = new ArrayList<>();
+        for (Subgoal subgoal : getSubgoalsByPlanId(planId)) {
+            ids.add(subgoal.getId());
+        }
+        deleteSubgoals(ids);
+        return ids;
+    }
 }
\ No newline at end of file
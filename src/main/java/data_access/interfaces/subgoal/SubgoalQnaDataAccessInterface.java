@@ -2,6 +2,8 @@ package data_access.interfaces.subgoal;
 
 import entity.subgoal.SubgoalQuestionAnswer;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -14,6 +16,18 @@ public interface SubgoalQnaDataAccessInterface {
      */
     List<SubgoalQuestionAnswer> getHistory(String subgoalId);
 
+    /**
+     * Returns the newest entries of the chat history for the given subgoal, oldest first.
+     *
+     * @param subgoalId the ID of the subgoal whose history to return
+     * @param limit     the maximum number of entries to return
+     * @return a copy of up to {@code limit} of the newest entries
+     */
+    default List<SubgoalQuestionAnswer> getRecentHistory(String subgoalId, int limit) {
+        final List<SubgoalQuestionAnswer> history = getHistory(subgoalId);
+        return new ArrayList<>(history.subList(Math.max(0, history.size() - limit), history.size()));
+    }
+
     /**
      * Appends a new question–answer entry to the history of the given subgoal
      * and returns the created entity.
@@ -21,4 +35,13 @@ public interface SubgoalQnaDataAccessInterface {
     SubgoalQuestionAnswer appendEntry(String subgoalId,
                                       String questionMessage,
                                       String responseMessage);
+
+    /**
+     * Removes the whole Q/A history of the given subgoals, for example after their plan
+     * was deleted. Stores that cannot delete entries keep them.
+     *
+     * @param subgoalIds the IDs of the subgoals whose history to remove
+     */
+    default void deleteHistory(Collection<String> subgoalIds) {
+    }
 }
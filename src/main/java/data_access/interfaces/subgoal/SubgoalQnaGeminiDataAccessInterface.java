@@ -1,5 +1,8 @@
 package data_access.interfaces.subgoal;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
 /**
  * Gateway interface for calling Gemini from the Subgoal Q/A use case.
  */
@@ -9,4 +12,26 @@ public interface SubgoalQnaGeminiDataAccessInterface {
      * Returns an answer from Gemini for the given user question.
      */
     String getAnswerForQuestion(String question);
+
+    /**
+     * Requests an answer without blocking the caller. Cancelling the returned future abandons
+     * the request. Gateways without a native asynchronous client complete the future on the
+     * calling thread.
+     */
+    default CompletableFuture<String> getAnswerForQuestionAsync(String question) {
+        return CompletableFuture.completedFuture(getAnswerForQuestion(question));
+    }
+
+    /**
+     * Requests an answer and passes each piece of text to {@code onChunk} as soon as it
+     * arrives, in order. The returned future completes with the whole answer, or with a
+     * fallback message if the request fails. No more chunks are passed on once the future is
+     * cancelled. Gateways that cannot stream pass the whole answer as a single chunk.
+     */
+    default CompletableFuture<String> streamAnswerForQuestion(String question, Consumer<String> onChunk) {
+        return getAnswerForQuestionAsync(question).thenApply(answer -> {
+            onChunk.accept(answer);
+            return answer;
+        });
+    }
 }
@@ -0,0 +1,14 @@
+package interface_adapter;
+
+/**
+ * Implemented by use case input boundaries that run in the background and can be abandoned
+ * by the user, such as the boundaries created by {@link UseCaseExecutor}.
+ */
+public interface Cancellable {
+
+    /**
+     * Cancels the running and queued calls of this use case. Their presenter callbacks are
+     * no longer delivered.
+     */
+    void cancel();
+}
@@ -0,0 +1,216 @@
+package interface_adapter;
+
+import java.awt.EventQueue;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * UseCaseExecutor moves use case execution off the event dispatch thread. Input boundaries
+ * wrapped with {@link #runInBackground} return immediately and run the interactor on a
+ * bounded worker pool; output boundaries wrapped with {@link #deliverOnEventThread} hand
+ * every presenter call back to the event dispatch thread, where view models may be updated.
+ *
+ * <p>Calls to the same use case run one after another in the order they were made, so a
+ * slower earlier call can never overwrite the result of a later one. Different use cases
+ * run in parallel. A wrapped input boundary also implements {@link Cancellable}; cancelling
+ * it interrupts the running call, drops the queued ones and suppresses the presenter
+ * callbacks they have not delivered yet. If the input boundary declares a {@code cancel()}
+ * of its own, it is called right away on the calling thread as well.</p>
+ *
+ * <p>Methods that return a value are queries the caller waits for, so they still run on
+ * the calling thread.</p>
+ */
+public class UseCaseExecutor {
+
+    // the use case call running on the current worker thread, used to tie presenter callbacks to it
+    private static final ThreadLocal<FutureTask<?>> CURRENT_CALL = new ThreadLocal<>();
+
+    private final ExecutorService workers;
+    private final Executor eventThread;
+
+    /**
+     * Creates an executor with a pool of daemon worker threads that delivers presenter
+     * callbacks on the Swing event dispatch thread.
+     *
+     * @param threads the maximum number of use cases running at the same time
+     */
+    public UseCaseExecutor(int threads) {
+        this(Executors.newFixedThreadPool(threads, new WorkerThreadFactory()), EventQueue::invokeLater);
+    }
+
+    /**
+     * Creates an executor with the given worker pool and callback executor.
+     *
+     * @param workers     runs the use case calls
+     * @param eventThread runs the presenter callbacks
+     */
+    public UseCaseExecutor(ExecutorService workers, Executor eventThread) {
+        this.workers = workers;
+        this.eventThread = eventThread;
+    }
+
+    /**
+     * Wraps an interactor so that calls to its void methods are queued on the worker pool
+     * instead of running on the calling thread.
+     *
+     * @param boundary   the input boundary interface of the use case
+     * @param interactor the interactor to run
+     * @param <T>        the input boundary type
+     * @return an input boundary that also implements {@link Cancellable}
+     */
+    public <T> T runInBackground(Class<T> boundary, T interactor) {
+        final Lane lane = new Lane();
+        final Object proxy = Proxy.newProxyInstance(boundary.getClassLoader(),
+                new Class<?>[] {boundary, Cancellable.class},
+                (self, method, args) -> {
+                    if (isCancel(method)) {
+                        lane.cancel();
+                        if (method.getDeclaringClass() != Cancellable.class) {
+                            // the use case may have work in flight beyond the lane, such as a pending request
+                            invoke(interactor, method, args);
+                        }
+                        return null;
+                    }
+                    if (method.getDeclaringClass() == Object.class || method.getReturnType() != void.class) {
+                        return invoke(interactor, method, args);
+                    }
+                    lane.submit(() -> invoke(interactor, method, args));
+                    return null;
+                });
+        return boundary.cast(proxy);
+    }
+
+    /**
+     * Wraps a presenter so that calls to its void methods run on the event dispatch thread.
+     * Callbacks made by a use case call that was cancelled in the meantime are dropped.
+     *
+     * @param boundary  the output boundary interface of the use case
+     * @param presenter the presenter to call
+     * @param <T>       the output boundary type
+     * @return an output boundary that delivers on the event dispatch thread
+     */
+    public <T> T deliverOnEventThread(Class<T> boundary, T presenter) {
+        final Object proxy = Proxy.newProxyInstance(boundary.getClassLoader(), new Class<?>[] {boundary},
+                (self, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class || method.getReturnType() != void.class) {
+                        return invoke(presenter, method, args);
+                    }
+                    final FutureTask<?> call = CURRENT_CALL.get();
+                    eventThread.execute(() -> {
+                        if (call == null || !call.isCancelled()) {
+                            invoke(presenter, method, args);
+                        }
+                    });
+                    return null;
+                });
+        return boundary.cast(proxy);
+    }
+
+    /**
+     * Stops accepting use case calls and interrupts the running ones.
+     */
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private static boolean isCancel(Method method) {
+        return "cancel".equals(method.getName()) && method.getParameterCount() == 0;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) {
+        try {
+            return method.invoke(target, args);
+        }
+        catch (IllegalAccessException ex) {
+            throw new IllegalStateException(ex);
+        }
+        catch (InvocationTargetException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * The queue of pending calls of one use case. At most one of them is on the worker pool
+     * at a time.
+     */
+    private final class Lane {
+        private final Queue<FutureTask<?>> pending = new ArrayDeque<>();
+        private FutureTask<?> active;
+
+        synchronized void submit(Runnable call) {
+            pending.add(new FutureTask<>(call, null));
+            if (active == null) {
+                runNext();
+            }
+        }
+
+        synchronized void cancel() {
+            for (FutureTask<?> call : pending) {
+                call.cancel(false);
+            }
+            pending.clear();
+            if (active != null) {
+                active.cancel(true);
+            }
+        }
+
+        // must hold the lock
+        private void runNext() {
+            final FutureTask<?> next = pending.poll();
+            active = next;
+            if (next != null) {
+                workers.execute(() -> run(next));
+            }
+        }
+
+        private void run(FutureTask<?> call) {
+            CURRENT_CALL.set(call);
+            try {
+                call.run();
+                call.get();
+            }
+            // -@cs[IllegalCatch] a failing use case must not stop the ones queued behind it
+            catch (Exception ex) {
+                if (!call.isCancelled()) {
+                    System.err.println("Use case failed: " + ex.getCause());
+                }
+            }
+            finally {
+                CURRENT_CALL.remove();
+                synchronized (this) {
+                    runNext();
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates the named daemon threads of the worker pool.
+     */
+    private static final class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            final Thread thread = new Thread(runnable, "use-case-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package interface_adapter;
+
+import java.util.Objects;
+
+/**
+ * VersionedState is a view state that counts its changes. A ViewModel holding a versioned
+ * state skips a state notification when nothing has changed since the last one, so views
+ * are not rebuilt for presenter calls that leave the state as it was.
+ *
+ * <p>Setters call {@link #markChanged(Object, Object)} with the old and new value before
+ * storing it.</p>
+ */
+public abstract class VersionedState {
+
+    private long version;
+
+    /**
+     * Returns the number of changes made to this state so far.
+     *
+     * @return the version of this state
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Counts a change if the new value differs from the old one.
+     *
+     * @param oldValue the value being replaced
+     * @param newValue the value replacing it
+     */
+    protected void markChanged(Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            version++;
+        }
+    }
+
+    /**
+     * Counts a change. Used for values, such as mutable lists, that cannot be compared by
+     * their contents.
+     */
+    protected void markChanged() {
+        version++;
+    }
+}
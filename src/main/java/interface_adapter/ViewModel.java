@@ -2,22 +2,45 @@ package interface_adapter;
 
 import java.beans.PropertyChangeListener;
 import java.beans.PropertyChangeSupport;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.swing.SwingUtilities;
 
 /**
  * The ViewModel for our CA implementation.
  * This class delegates work to a PropertyChangeSupport object for
  * managing the property change events.
  *
+ * <p>In coalescing mode, property changes are not dispatched right away but on the event
+ * dispatch thread once the current event has been handled, and a property fired several
+ * times until then is dispatched only once. Independently of the mode, a "state"
+ * notification is skipped if the state is a {@link VersionedState} that has not changed
+ * since the last one was dispatched.</p>
+ *
  * @param <T> The type of state object contained in the model.
  */
 public class ViewModel<T> {
 
+    private static final String STATE_PROPERTY = "state";
+
     private final String viewName;
 
     private final PropertyChangeSupport support = new PropertyChangeSupport(this);
 
     private T state;
 
+    private boolean coalescing;
+
+    // properties fired in coalescing mode and not dispatched yet, in the order they were first fired
+    private final Set<String> pendingProperties = new LinkedHashSet<>();
+
+    private Object dispatchedState;
+
+    private long dispatchedVersion;
+
     public ViewModel(String viewName) {
         this.viewName = viewName;
     }
@@ -38,7 +61,7 @@ public class ViewModel<T> {
      * Fires a property changed event for the state of this ViewModel.
      */
     public void firePropertyChange() {
-        this.support.firePropertyChange("state", null, this.state);
+        this.firePropertyChange(STATE_PROPERTY);
     }
 
     /**
@@ -52,6 +75,51 @@ public class ViewModel<T> {
      * @param propertyName the label for the property that was changed
      */
     public void firePropertyChange(String propertyName) {
+        if (!coalescing) {
+            dispatch(propertyName);
+            return;
+        }
+        final boolean schedule;
+        synchronized (pendingProperties) {
+            schedule = pendingProperties.isEmpty();
+            pendingProperties.add(propertyName);
+        }
+        if (schedule) {
+            SwingUtilities.invokeLater(this::dispatchPending);
+        }
+    }
+
+    /**
+     * Turns coalescing mode on or off. Views whose listeners rebuild a lot on every change
+     * and that several presenters update in one user action should use it.
+     *
+     * @param coalescing whether property changes are merged until the event dispatch thread
+     *                   is free
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    private void dispatchPending() {
+        final List<String> properties;
+        synchronized (pendingProperties) {
+            properties = new ArrayList<>(pendingProperties);
+            pendingProperties.clear();
+        }
+        for (String propertyName : properties) {
+            dispatch(propertyName);
+        }
+    }
+
+    private void dispatch(String propertyName) {
+        if (STATE_PROPERTY.equals(propertyName) && this.state instanceof VersionedState) {
+            final long version = ((VersionedState) this.state).getVersion();
+            if (this.state == dispatchedState && version == dispatchedVersion) {
+                return;
+            }
+            dispatchedState = this.state;
+            dispatchedVersion = version;
+        }
         this.support.firePropertyChange(propertyName, null, this.state);
     }
 
@@ -2,6 +2,7 @@ package interface_adapter.calendar;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -22,15 +23,81 @@ public class CalendarState {
     private String filterSubgoalName = null;
     private Boolean filterPriorityOnly = null;
 
+    // subgoals loaded for the calendar, see LoadCalendarPresenter
+    private LocalDate loadedMonth;
+    private List<entity.subgoal.Subgoal> monthSubgoals = new ArrayList<>();
+    private LocalDate upcomingFrom;
+    private final List<entity.subgoal.Subgoal> upcomingSubgoals = new ArrayList<>();
+    private boolean moreUpcoming;
+
     public String getUsername() {
         return username;
     }
 
 
+    /**
+     * Sets the user whose calendar is shown. Subgoals loaded for another user are dropped.
+     */
     public void setUsername(String username) {
+        if (this.username != null && !this.username.equals(username)) {
+            loadedMonth = null;
+            monthSubgoals = new ArrayList<>();
+            upcomingFrom = null;
+            upcomingSubgoals.clear();
+            moreUpcoming = false;
+        }
         this.username = username;
     }
 
+    /**
+     * Returns the first day of the month whose subgoals were loaded last, or null if none was.
+     */
+    public LocalDate getLoadedMonth() {
+        return loadedMonth;
+    }
+
+    public List<entity.subgoal.Subgoal> getMonthSubgoals() {
+        return Collections.unmodifiableList(monthSubgoals);
+    }
+
+    public void setMonthSubgoals(LocalDate month, List<entity.subgoal.Subgoal> subgoals) {
+        this.loadedMonth = month;
+        this.monthSubgoals = new ArrayList<>(subgoals);
+    }
+
+    /**
+     * Returns the earliest deadline of the loaded upcoming subgoals, or null if none were loaded.
+     */
+    public LocalDate getUpcomingFrom() {
+        return upcomingFrom;
+    }
+
+    public List<entity.subgoal.Subgoal> getUpcomingSubgoals() {
+        return Collections.unmodifiableList(upcomingSubgoals);
+    }
+
+    public boolean hasMoreUpcoming() {
+        return moreUpcoming;
+    }
+
+    /**
+     * Replaces the loaded upcoming subgoals with a first page.
+     */
+    public void setUpcomingSubgoals(LocalDate from, List<entity.subgoal.Subgoal> subgoals, boolean hasMore) {
+        this.upcomingFrom = from;
+        this.upcomingSubgoals.clear();
+        this.upcomingSubgoals.addAll(subgoals);
+        this.moreUpcoming = hasMore;
+    }
+
+    /**
+     * Adds the next page to the loaded upcoming subgoals.
+     */
+    public void addUpcomingSubgoals(List<entity.subgoal.Subgoal> subgoals, boolean hasMore) {
+        this.upcomingSubgoals.addAll(subgoals);
+        this.moreUpcoming = hasMore;
+    }
+
 
     public LocalDate getSelectedDate() {
         return selectedDate;
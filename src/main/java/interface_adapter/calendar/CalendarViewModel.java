@@ -2,32 +2,32 @@ package interface_adapter.calendar;
 
 import interface_adapter.ViewModel;
 
-import java.beans.PropertyChangeListener;
-import java.beans.PropertyChangeSupport;
-
+/**
+ * The View Model for the Calendar View. The calendar reloads its subgoals on every "state"
+ * notification and several presenters notify it in one user action, so its property changes
+ * are coalesced. Loaded subgoals are announced with {@link #MONTH_PROPERTY} and
+ * {@link #UPCOMING_PROPERTY}, which only redraw the calendar.
+ */
 public class CalendarViewModel extends ViewModel<CalendarState> {
 
-    private final PropertyChangeSupport propertyChangeSupport = new PropertyChangeSupport(this);
-    private CalendarState calendarState = new CalendarState();
+    public static final String MONTH_PROPERTY = "month";
+    public static final String UPCOMING_PROPERTY = "upcoming";
 
     public CalendarViewModel() {
         super("Calendar");
+        setState(new CalendarState());
+        setCoalescing(true);
     }
 
     public CalendarState getCalendarState() {
-        return calendarState;
+        return getState();
     }
 
     public void setCalendarState(CalendarState calendarState) {
-        this.calendarState = calendarState;
-    }
-
-    @Override
-    public void addPropertyChangeListener(PropertyChangeListener listener) {
-        propertyChangeSupport.addPropertyChangeListener(listener);
+        setState(calendarState);
     }
 
     public void firePropertyChanged() {
-        propertyChangeSupport.firePropertyChange("state", null, this.calendarState);
+        firePropertyChange();
     }
 }
@@ -0,0 +1,40 @@
+package interface_adapter.calendar;
+
+import entity.subgoal.Subgoal;
+import use_case.load_calendar.LoadCalendarInputBoundary;
+
+import java.time.LocalDate;
+
+/**
+ * The controller for loading the subgoals shown on the calendar.
+ */
+public class LoadCalendarController {
+
+    private final LoadCalendarInputBoundary loadCalendarInteractor;
+
+    public LoadCalendarController(LoadCalendarInputBoundary loadCalendarInteractor) {
+        this.loadCalendarInteractor = loadCalendarInteractor;
+    }
+
+    /**
+     * Loads the user's subgoals due in the month of the given date.
+     *
+     * @param username the user whose subgoals to load
+     * @param month    any day of the month to load
+     */
+    public void loadMonth(String username, LocalDate month) {
+        loadCalendarInteractor.loadMonth(username, month);
+    }
+
+    /**
+     * Loads one page of the user's upcoming subgoals.
+     *
+     * @param username the user whose subgoals to load
+     * @param from     the earliest deadline to include
+     * @param after    the last subgoal loaded so far, or null to start over
+     * @param limit    the maximum number of subgoals to load
+     */
+    public void loadUpcoming(String username, LocalDate from, Subgoal after, int limit) {
+        loadCalendarInteractor.loadUpcoming(username, from, after, limit);
+    }
+}
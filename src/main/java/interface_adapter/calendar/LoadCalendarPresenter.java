@@ -0,0 +1,54 @@
+package interface_adapter.calendar;
+
+import entity.subgoal.Subgoal;
+import use_case.load_calendar.LoadCalendarMonthOutputData;
+import use_case.load_calendar.LoadCalendarOutputBoundary;
+import use_case.load_calendar.LoadCalendarUpcomingOutputData;
+
+import java.util.List;
+
+/**
+ * The presenter for the load calendar use case. It keeps the loaded subgoals in the calendar
+ * state. Results for a user who is no longer shown, and pages that no longer continue the
+ * loaded upcoming subgoals because those were reloaded in the meantime, are dropped.
+ */
+public class LoadCalendarPresenter implements LoadCalendarOutputBoundary {
+
+    private final CalendarViewModel calendarViewModel;
+
+    public LoadCalendarPresenter(CalendarViewModel calendarViewModel) {
+        this.calendarViewModel = calendarViewModel;
+    }
+
+    @Override
+    public void presentMonth(LoadCalendarMonthOutputData outputData) {
+        final CalendarState state = calendarViewModel.getCalendarState();
+        if (!outputData.getUsername().equals(state.getUsername())) {
+            return;
+        }
+        state.setMonthSubgoals(outputData.getMonth(), outputData.getSubgoals());
+        calendarViewModel.firePropertyChange(CalendarViewModel.MONTH_PROPERTY);
+    }
+
+    @Override
+    public void presentUpcoming(LoadCalendarUpcomingOutputData outputData) {
+        final CalendarState state = calendarViewModel.getCalendarState();
+        if (outputData.getUsername().equals(state.getUsername())) {
+            if (outputData.getAfter() == null) {
+                state.setUpcomingSubgoals(outputData.getFrom(), outputData.getSubgoals(), outputData.hasMore());
+            }
+            else if (continuesLoaded(state, outputData)) {
+                state.addUpcomingSubgoals(outputData.getSubgoals(), outputData.hasMore());
+            }
+        }
+        // fired even for a dropped page, so the view knows its request was answered
+        calendarViewModel.firePropertyChange(CalendarViewModel.UPCOMING_PROPERTY);
+    }
+
+    private static boolean continuesLoaded(CalendarState state, LoadCalendarUpcomingOutputData outputData) {
+        final List<Subgoal> loaded = state.getUpcomingSubgoals();
+        return outputData.getFrom().equals(state.getUpcomingFrom())
+                && !loaded.isEmpty()
+                && loaded.get(loaded.size() - 1) == outputData.getAfter();
+    }
+}
@@ -27,7 +27,7 @@ public class DeletePlanPresenter implements DeletePlanOutputBoundary {
     @Override
     public void prepareSuccessView(DeletePlanOutputData outputData) {
 
-        showPlansViewModel.firePropertyChange();
+        showPlansViewModel.firePropertyChange(ShowPlansViewModel.PLAN_DELETED_PROPERTY);
 
 
         if (calendarViewModel != null) {
@@ -27,4 +27,11 @@ public class GeneratePlanController {
                 new GeneratePlanInputData(userMessage);
         generatePlanInteractor.execute(generatePlanInputData);
     }
+
+    /**
+     * Cancels the plan generation in progress, if any.
+     */
+    public void cancel() {
+        generatePlanInteractor.cancel();
+    }
 }
@@ -1,5 +1,6 @@
 package interface_adapter.plan.generate_plan;
 
+import use_case.plan.generate_plan.GeneratePlanDraftOutputData;
 import use_case.plan.generate_plan.GeneratePlanOutputBoundary;
 import use_case.plan.generate_plan.GeneratePlanOutputData;
 
@@ -29,6 +30,23 @@ public class GeneratePlanPresenter implements GeneratePlanOutputBoundary {
         generatePlanState.setResponseObject(outputData.getResponseObject());
         generatePlanState.setUserMessage(outputData.getUserMessage());
         generatePlanState.setSuccess(outputData.isSuccess());
+        generatePlanState.clearDraftSubgoals();
         generatePlanViewModel.firePropertyChange();
     }
+
+    /**
+     * Adds a subgoal of the plan being generated to the view model state and notifies
+     * listeners of the draft property.
+     * @param outputData the subgoal generated so far
+     */
+    @Override
+    public void prepareDraftView(GeneratePlanDraftOutputData outputData) {
+        final GeneratePlanState generatePlanState = generatePlanViewModel.getState();
+        if (outputData.getIndex() == 0) {
+            generatePlanState.clearDraftSubgoals();
+        }
+        generatePlanState.setUserMessage(outputData.getUserMessage());
+        generatePlanState.addDraftSubgoal(outputData.getSubgoalObject());
+        generatePlanViewModel.firePropertyChange(GeneratePlanViewModel.DRAFT_PROPERTY);
+    }
 }
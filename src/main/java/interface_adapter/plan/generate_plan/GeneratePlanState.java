@@ -1,5 +1,9 @@
 package interface_adapter.plan.generate_plan;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.json.JSONObject;
 
 /**
@@ -11,6 +15,7 @@ public class GeneratePlanState {
     private String responseMessage = "";
     private JSONObject responseObject = new JSONObject();
     private boolean success;
+    private final List<JSONObject> draftSubgoals = new ArrayList<>();
 
     /**
      * Returns the response message generated by the plan generation use case.
@@ -75,4 +80,27 @@ public class GeneratePlanState {
     public void setResponseObject(JSONObject responseObject) {
         this.responseObject = responseObject;
     }
+
+    /**
+     * Returns the subgoals of the plan that is still being generated, in order.
+     * @return the draft subgoal JSON objects
+     */
+    public List<JSONObject> getDraftSubgoals() {
+        return Collections.unmodifiableList(draftSubgoals);
+    }
+
+    /**
+     * Adds a subgoal of the plan that is still being generated.
+     * @param subgoalObject the subgoal JSON object
+     */
+    public void addDraftSubgoal(JSONObject subgoalObject) {
+        draftSubgoals.add(subgoalObject);
+    }
+
+    /**
+     * Forgets the draft subgoals once the plan is complete or abandoned.
+     */
+    public void clearDraftSubgoals() {
+        draftSubgoals.clear();
+    }
 }
@@ -12,6 +12,9 @@ public class GeneratePlanViewModel extends ViewModel<GeneratePlanState> {
     public static final String TRY_AGAIN_BUTTON_LABEL = "Try Again";
     public static final String SHOW_PLAN_BUTTON_LABEL = "Show Plan";
     public static final String LOADING_LABEL = "Loading...";
+    public static final String CANCELLED_MESSAGE = "Plan generation was cancelled.";
+    public static final String DRAFT_LABEL = "Drafting your plan...";
+    public static final String DRAFT_PROPERTY = "draft";
 
     /**
      * Creates a new GeneratePlanViewModel with the default view name
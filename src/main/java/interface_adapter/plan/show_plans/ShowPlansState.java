@@ -1,6 +1,7 @@
 package interface_adapter.plan.show_plans;
 
 import entity.plan.Plan;
+import interface_adapter.VersionedState;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -8,7 +9,7 @@ import java.util.List;
 /**
  * The State information representing the Show Plans view.
  */
-public class ShowPlansState {
+public class ShowPlansState extends VersionedState {
 
     private List<Plan> plans = new ArrayList<>();
     private int currentPage = 0;
@@ -23,6 +24,9 @@ public class ShowPlansState {
     }
 
     public void setPlans(List<Plan> plans) {
+        if (this.plans != plans) {
+            markChanged();
+        }
         this.plans = plans;
     }
 
@@ -31,6 +35,7 @@ public class ShowPlansState {
     }
 
     public void setCurrentPage(int currentPage) {
+        markChanged(this.currentPage, currentPage);
         this.currentPage = currentPage;
     }
 
@@ -39,6 +44,7 @@ public class ShowPlansState {
     }
 
     public void setTotalPages(int totalPages) {
+        markChanged(this.totalPages, totalPages);
         this.totalPages = totalPages;
     }
 
@@ -47,6 +53,7 @@ public class ShowPlansState {
     }
 
     public void setHasNextPage(boolean hasNextPage) {
+        markChanged(this.hasNextPage, hasNextPage);
         this.hasNextPage = hasNextPage;
     }
 
@@ -55,6 +62,7 @@ public class ShowPlansState {
     }
 
     public void setHasPreviousPage(boolean hasPreviousPage) {
+        markChanged(this.hasPreviousPage, hasPreviousPage);
         this.hasPreviousPage = hasPreviousPage;
     }
 
@@ -63,6 +71,7 @@ public class ShowPlansState {
     }
 
     public void setError(String error) {
+        markChanged(this.error, error);
         this.error = error;
     }
 
@@ -71,6 +80,7 @@ public class ShowPlansState {
     }
 
     public void setUsername(String username) {
+        markChanged(this.username, username);
         this.username = username;
     }
 }
@@ -9,10 +9,12 @@ public class ShowPlansViewModel extends ViewModel<ShowPlansState> {
 
     public static final String SUBGOALS_BUTTON_LABEL = "Subgoals";
     public static final String DELETE_BUTTON_LABEL = "Delete";
+    public static final String PLAN_DELETED_PROPERTY = "planDeleted";
 
     public ShowPlansViewModel() {
         super("ShowPlansView");
         setState(new ShowPlansState());
+        setCoalescing(true);
     }
 }
 
@@ -1,6 +1,7 @@
 package interface_adapter.subgoal.show_subgoal;
 
 import entity.subgoal.Subgoal;
+import interface_adapter.VersionedState;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -9,7 +10,7 @@ import java.util.List;
  * State object for the ShowSubgoalViewModel.
  * Stores the values that the Subgoal popup view displays.
  */
-public class ShowSubgoalState {
+public class ShowSubgoalState extends VersionedState {
 
     private String id = "";
     private String name = "";
@@ -25,6 +26,7 @@ public class ShowSubgoalState {
     }
 
     public void setName(String name) {
+        markChanged(this.name, name);
         this.name = name;
     }
 
@@ -33,6 +35,7 @@ public class ShowSubgoalState {
     }
 
     public void setDescription(String description) {
+        markChanged(this.description, description);
         this.description = description;
     }
 
@@ -41,6 +44,7 @@ public class ShowSubgoalState {
     }
 
     public void setPriority(boolean priority) {
+        markChanged(this.priority, priority);
         this.priority = priority;
     }
 
@@ -49,6 +53,7 @@ public class ShowSubgoalState {
     }
 
     public void setCompleted(boolean completed) {
+        markChanged(this.completed, completed);
         this.completed = completed;
     }
 
@@ -57,6 +62,7 @@ public class ShowSubgoalState {
     }
 
     public void setErrorMessage(String errorMessage) {
+        markChanged(this.errorMessage, errorMessage);
         this.errorMessage = errorMessage;
     }
 
@@ -65,6 +71,7 @@ public class ShowSubgoalState {
     }
 
     public void setId(String id) {
+        markChanged(this.id, id);
         this.id = id;
     }
 
@@ -73,6 +80,9 @@ public class ShowSubgoalState {
     }
 
     public void setSubgoals(List<Subgoal> subgoals) {
+        if (this.subgoals != subgoals) {
+            markChanged();
+        }
         this.subgoals = subgoals;
     }
 }
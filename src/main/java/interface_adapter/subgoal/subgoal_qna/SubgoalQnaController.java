@@ -28,4 +28,11 @@ public class SubgoalQnaController {
     public void askQuestion(String subgoalId, String question) {
         interactor.ask(new SubgoalQnaAskInputData(subgoalId, question));
     }
+
+    /**
+     * Abandon the question currently waiting for an answer.
+     */
+    public void cancel() {
+        interactor.cancel();
+    }
 }
@@ -1,12 +1,14 @@
 package interface_adapter.subgoal.subgoal_qna;
 
 import interface_adapter.DialogManagerModel;
+import use_case.subgoal.qna.SubgoalQnaAnswerChunkOutputData;
 import use_case.subgoal.qna.SubgoalQnaOutputBoundary;
 import use_case.subgoal.qna.SubgoalQnaOutputData;
 
 /**
  * Presenter for Subgoal Q/A.
  * - Updates the SubgoalQnaViewModel with history / errors.
+ * - Appends streamed answer pieces and fires ANSWER_CHUNK_PROPERTY for them.
  * - Asks DialogManagerModel to open the Q/A dialog on first open.
  */
 public class SubgoalQnaPresenter implements SubgoalQnaOutputBoundary {
@@ -25,6 +27,7 @@ public class SubgoalQnaPresenter implements SubgoalQnaOutputBoundary {
         state.setSubgoalId(out.getSubgoalId());
         state.setHistory(out.getHistory());
         state.setErrorMessage("");
+        state.setStreamingAnswer("");
         viewModel.setState(state);
         viewModel.firePropertyChange();
     }
@@ -44,6 +47,17 @@ public class SubgoalQnaPresenter implements SubgoalQnaOutputBoundary {
         updateState(out);
     }
 
+    @Override
+    public void presentAnswerChunk(SubgoalQnaAnswerChunkOutputData out) {
+        SubgoalQnaState state = viewModel.getState();
+        if (!out.getSubgoalId().equals(state.getSubgoalId())) {
+            return;
+        }
+        state.setStreamingAnswer(state.getStreamingAnswer() + out.getChunk());
+        viewModel.setState(state);
+        viewModel.firePropertyChange(SubgoalQnaViewModel.ANSWER_CHUNK_PROPERTY);
+    }
+
     @Override
     public void presentError(String message) {
         SubgoalQnaState state = viewModel.getState();
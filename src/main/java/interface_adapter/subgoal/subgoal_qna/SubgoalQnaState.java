@@ -13,6 +13,7 @@ public class SubgoalQnaState {
     private String subgoalId = "";
     private List<SubgoalQuestionAnswer> history = new ArrayList<>();
     private String errorMessage = "";
+    private String streamingAnswer = "";
 
     public String getSubgoalId() {
         return subgoalId;
@@ -37,4 +38,15 @@ public class SubgoalQnaState {
     public void setErrorMessage(String errorMessage) {
         this.errorMessage = errorMessage;
     }
+
+    /**
+     * The part of the answer received so far while a question is being answered.
+     */
+    public String getStreamingAnswer() {
+        return streamingAnswer;
+    }
+
+    public void setStreamingAnswer(String streamingAnswer) {
+        this.streamingAnswer = streamingAnswer;
+    }
 }
@@ -6,6 +6,7 @@ public class SubgoalQnaViewModel extends ViewModel<SubgoalQnaState> {
 
     public static final String LOADING_LABEL = "Loading";
     public static final String SEND_BUTTON_LABEL = "Send";
+    public static final String ANSWER_CHUNK_PROPERTY = "answerChunk";
 
     public SubgoalQnaViewModel() {
         super("");
@@ -3,6 +3,7 @@ package use_case.filter_subgoals;
 import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
 import entity.subgoal.Subgoal;
 
+import java.util.ArrayList;
 import java.util.List;
 
 public class FilterSubgoalsInteractor implements FilterSubgoalsInputBoundary {
@@ -21,16 +22,23 @@ public class FilterSubgoalsInteractor implements FilterSubgoalsInputBoundary {
         List<Subgoal> result;
 
         if (inputData.isPriorityOnly()) {
-            result = subgoalDAO.getPrioritySubgoals(inputData.getUserId());
+            result = byDeadline(subgoalDAO.getPrioritySubgoals(inputData.getUserId()));
         } else if (inputData.getPlanId() != null) {
-            result = subgoalDAO.getSubgoalsByPlan(inputData.getPlanId(), inputData.getUserId());
+            result = byDeadline(subgoalDAO.getSubgoalsByPlan(inputData.getPlanId(), inputData.getUserId()));
         } else if (inputData.getSubgoalName() != null) {
-            result = subgoalDAO.getSubgoalsByName(inputData.getSubgoalName(), inputData.getUserId());
+            // names and descriptions are searched; the results stay in order of relevance
+            result = subgoalDAO.searchSubgoals(inputData.getSubgoalName(), inputData.getUserId());
         } else {
-            result = subgoalDAO.getAllSubgoalsForUser(inputData.getUserId());
+            result = byDeadline(subgoalDAO.getAllSubgoalsForUser(inputData.getUserId()));
         }
 
         presenter.present(new FilterSubgoalsOutputData(result, inputData.getPlanId(),
                 inputData.getSubgoalName(), inputData.isPriorityOnly()));
     }
-}
\ No newline at end of file
+
+    private static List<Subgoal> byDeadline(List<Subgoal> subgoals) {
+        final List<Subgoal> sorted = new ArrayList<>(subgoals);
+        sorted.sort(SubgoalDataAccessInterface.DEADLINE_ORDER);
+        return sorted;
+    }
+}
@@ -0,0 +1,30 @@
+package use_case.load_calendar;
+
+import entity.subgoal.Subgoal;
+
+import java.time.LocalDate;
+
+/**
+ * Input boundary for loading the subgoals shown on the calendar: the month grid and the
+ * upcoming subgoals list.
+ */
+public interface LoadCalendarInputBoundary {
+
+    /**
+     * Loads the user's subgoals due in the month of the given date.
+     *
+     * @param username the user whose subgoals to load
+     * @param month    any day of the month to load
+     */
+    void loadMonth(String username, LocalDate month);
+
+    /**
+     * Loads one page of the user's subgoals due on or after a date.
+     *
+     * @param username the user whose subgoals to load
+     * @param from     the earliest deadline to include
+     * @param after    the last subgoal of the previous page, or null for the first page
+     * @param limit    the maximum number of subgoals to load
+     */
+    void loadUpcoming(String username, LocalDate from, Subgoal after, int limit);
+}
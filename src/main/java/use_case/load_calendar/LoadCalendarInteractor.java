@@ -0,0 +1,51 @@
+package use_case.load_calendar;
+
+import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
+import entity.subgoal.Subgoal;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LoadCalendarInteractor reads the subgoals the calendar shows from the subgoal store, so the
+ * calendar view never reads the store itself. Run in the background, it keeps the event
+ * dispatch thread from waiting on the store while the store is still loading or busy with
+ * a write.
+ */
+public class LoadCalendarInteractor implements LoadCalendarInputBoundary {
+
+    private final SubgoalDataAccessInterface subgoalDataAccess;
+    private final LoadCalendarOutputBoundary presenter;
+
+    /**
+     * Creates a LoadCalendarInteractor.
+     *
+     * @param subgoalDataAccess the subgoal store to read from
+     * @param presenter         the presenter to send the subgoals to
+     */
+    public LoadCalendarInteractor(SubgoalDataAccessInterface subgoalDataAccess,
+                                  LoadCalendarOutputBoundary presenter) {
+        this.subgoalDataAccess = subgoalDataAccess;
+        this.presenter = presenter;
+    }
+
+    @Override
+    public void loadMonth(String username, LocalDate month) {
+        final LocalDate first = month.withDayOfMonth(1);
+        final LocalDate last = month.withDayOfMonth(month.lengthOfMonth());
+        presenter.presentMonth(new LoadCalendarMonthOutputData(username, first,
+                subgoalDataAccess.getSubgoalsInRange(username, first, last)));
+    }
+
+    @Override
+    public void loadUpcoming(String username, LocalDate from, Subgoal after, int limit) {
+        // one extra subgoal tells whether another page follows
+        List<Subgoal> page = subgoalDataAccess.getUpcomingSubgoals(username, from, after, limit + 1);
+        final boolean hasMore = page.size() > limit;
+        if (hasMore) {
+            page = new ArrayList<>(page.subList(0, limit));
+        }
+        presenter.presentUpcoming(new LoadCalendarUpcomingOutputData(username, from, after, page, hasMore));
+    }
+}
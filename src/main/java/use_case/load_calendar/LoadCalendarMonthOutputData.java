@@ -0,0 +1,41 @@
+package use_case.load_calendar;
+
+import entity.subgoal.Subgoal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The subgoals due in one month of a user's calendar.
+ */
+public class LoadCalendarMonthOutputData {
+
+    private final String username;
+    private final LocalDate month;
+    private final List<Subgoal> subgoals;
+
+    /**
+     * Creates the output data for a loaded month.
+     *
+     * @param username the user the subgoals belong to
+     * @param month    the first day of the month
+     * @param subgoals the subgoals due in the month, in deadline order
+     */
+    public LoadCalendarMonthOutputData(String username, LocalDate month, List<Subgoal> subgoals) {
+        this.username = username;
+        this.month = month;
+        this.subgoals = subgoals;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public List<Subgoal> getSubgoals() {
+        return subgoals;
+    }
+}
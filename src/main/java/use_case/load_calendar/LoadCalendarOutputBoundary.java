@@ -0,0 +1,21 @@
+package use_case.load_calendar;
+
+/**
+ * Output boundary for the load calendar use case.
+ */
+public interface LoadCalendarOutputBoundary {
+
+    /**
+     * Presents the subgoals due in a month.
+     *
+     * @param outputData the month and its subgoals
+     */
+    void presentMonth(LoadCalendarMonthOutputData outputData);
+
+    /**
+     * Presents a page of upcoming subgoals.
+     *
+     * @param outputData the page and where it continues from
+     */
+    void presentUpcoming(LoadCalendarUpcomingOutputData outputData);
+}
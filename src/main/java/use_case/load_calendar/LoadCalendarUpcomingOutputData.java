@@ -0,0 +1,56 @@
+package use_case.load_calendar;
+
+import entity.subgoal.Subgoal;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * One page of a user's upcoming subgoals.
+ */
+public class LoadCalendarUpcomingOutputData {
+
+    private final String username;
+    private final LocalDate from;
+    private final Subgoal after;
+    private final List<Subgoal> subgoals;
+    private final boolean hasMore;
+
+    /**
+     * Creates the output data for a loaded page.
+     *
+     * @param username the user the subgoals belong to
+     * @param from     the earliest deadline included
+     * @param after    the subgoal the page continues after, or null for the first page
+     * @param subgoals the subgoals of the page, in deadline order
+     * @param hasMore  whether more subgoals follow the page
+     */
+    public LoadCalendarUpcomingOutputData(String username, LocalDate from, Subgoal after,
+                                          List<Subgoal> subgoals, boolean hasMore) {
+        this.username = username;
+        this.from = from;
+        this.after = after;
+        this.subgoals = subgoals;
+        this.hasMore = hasMore;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public Subgoal getAfter() {
+        return after;
+    }
+
+    public List<Subgoal> getSubgoals() {
+        return subgoals;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
@@ -1,19 +1,30 @@
 package use_case.login;
 
+import data_access.interfaces.plan.ShowPlansDataAccessInterface;
 import data_access.interfaces.user.LoginUserDataAccessInterface;
 import entity.user.User;
 
 /**
  * The Login Interactor.
+ * After a successful login is presented, the user's plans are read, if a plan store is given,
+ * so the plan store has them cached before the plans view asks for them.
  */
 public class LoginInteractor implements LoginInputBoundary {
     private final LoginUserDataAccessInterface userDataAccessObject;
     private final LoginOutputBoundary loginPresenter;
+    private final ShowPlansDataAccessInterface planDataAccessObject;
 
     public LoginInteractor(LoginUserDataAccessInterface userDataAccessInterface,
                            LoginOutputBoundary loginOutputBoundary) {
+        this(userDataAccessInterface, loginOutputBoundary, null);
+    }
+
+    public LoginInteractor(LoginUserDataAccessInterface userDataAccessInterface,
+                           LoginOutputBoundary loginOutputBoundary,
+                           ShowPlansDataAccessInterface planDataAccessInterface) {
         this.userDataAccessObject = userDataAccessInterface;
         this.loginPresenter = loginOutputBoundary;
+        this.planDataAccessObject = planDataAccessInterface;
     }
 
     @Override
@@ -34,6 +45,11 @@ public class LoginInteractor implements LoginInputBoundary {
 
                 final LoginOutputData loginOutputData = new LoginOutputData(user.getName());
                 loginPresenter.prepareSuccessView(loginOutputData);
+
+                // fills the plan store's cache for this user; the login is already shown
+                if (planDataAccessObject != null) {
+                    planDataAccessObject.getPlansByUsername(username);
+                }
             }
         }
     }
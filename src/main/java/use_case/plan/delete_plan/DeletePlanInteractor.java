@@ -2,7 +2,7 @@ package use_case.plan.delete_plan;
 
 import data_access.interfaces.plan.DeletePlanDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
-import entity.subgoal.Subgoal;
+import data_access.interfaces.subgoal.SubgoalQnaDataAccessInterface;
 
 import java.util.List;
 
@@ -14,6 +14,7 @@ public class DeletePlanInteractor implements DeletePlanInputBoundary {
     private final DeletePlanDataAccessInterface dataAccess;
     private final DeletePlanOutputBoundary presenter;
     private final SubgoalDataAccessInterface subgoalDataAccess;
+    private final SubgoalQnaDataAccessInterface subgoalQnaDataAccess;
 
     /**
      * Creates a new Delete Plan Interactor.
@@ -25,9 +26,26 @@ public class DeletePlanInteractor implements DeletePlanInputBoundary {
     public DeletePlanInteractor(DeletePlanDataAccessInterface dataAccess,
                                 DeletePlanOutputBoundary presenter,
                                 SubgoalDataAccessInterface subgoalDataAccess) {
+        this(dataAccess, presenter, subgoalDataAccess, null);
+    }
+
+    /**
+     * Creates a new Delete Plan Interactor that also removes the Q/A history of the
+     * deleted subgoals.
+     *
+     * @param dataAccess           the data access interface
+     * @param presenter            the output boundary
+     * @param subgoalDataAccess    the subgoal data access interface
+     * @param subgoalQnaDataAccess the subgoal Q/A history data access interface
+     */
+    public DeletePlanInteractor(DeletePlanDataAccessInterface dataAccess,
+                                DeletePlanOutputBoundary presenter,
+                                SubgoalDataAccessInterface subgoalDataAccess,
+                                SubgoalQnaDataAccessInterface subgoalQnaDataAccess) {
         this.dataAccess = dataAccess;
         this.presenter = presenter;
         this.subgoalDataAccess = subgoalDataAccess;
+        this.subgoalQnaDataAccess = subgoalQnaDataAccess;
     }
 
     @Override
@@ -42,11 +60,11 @@ public class DeletePlanInteractor implements DeletePlanInputBoundary {
 
 
             if (subgoalDataAccess != null) {
-                final List<Subgoal> relatedSubgoals = subgoalDataAccess.getSubgoalsByPlanId(planId);
-                for (Subgoal subgoal : relatedSubgoals) {
-                    subgoalDataAccess.deleteSubgoal(subgoal.getId());
+                final List<String> deletedSubgoalIds = subgoalDataAccess.deleteSubgoalsByPlanId(planId);
+                if (subgoalQnaDataAccess != null && !deletedSubgoalIds.isEmpty()) {
+                    subgoalQnaDataAccess.deleteHistory(deletedSubgoalIds);
                 }
-                System.out.println("Deleted " + relatedSubgoals.size() + " subgoals for plan " + planId);
+                System.out.println("Deleted " + deletedSubgoalIds.size() + " subgoals for plan " + planId);
             }
 
 
@@ -0,0 +1,49 @@
+package use_case.plan.generate_plan;
+
+import org.json.JSONObject;
+
+/**
+ * GeneratePlanDraftOutputData carries one subgoal of a plan that is still being generated,
+ * so that it can be shown before the rest of the plan arrives.
+ */
+public class GeneratePlanDraftOutputData {
+    private final JSONObject subgoalObject;
+    private final int index;
+    private final String userMessage;
+
+    /**
+     * Creates a new GeneratePlanDraftOutputData instance.
+     * @param subgoalObject the JSON object of the subgoal, with its name, description and deadline
+     * @param index the position of the subgoal in the plan, starting at 0
+     * @param userMessage the original message provided by the user
+     */
+    public GeneratePlanDraftOutputData(JSONObject subgoalObject, int index, String userMessage) {
+        this.subgoalObject = subgoalObject;
+        this.index = index;
+        this.userMessage = userMessage;
+    }
+
+    /**
+     * Returns the generated subgoal represented as a JSON object.
+     * @return the subgoal JSON object
+     */
+    public JSONObject getSubgoalObject() {
+        return subgoalObject;
+    }
+
+    /**
+     * Returns the position of the subgoal in the plan, starting at 0.
+     * @return the subgoal index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the original user message that triggered plan generation.
+     * @return the user message
+     */
+    public String getUserMessage() {
+        return userMessage;
+    }
+}
@@ -11,4 +11,9 @@ public interface GeneratePlanInputBoundary {
      * @param generatePlanInputData the data required to generate a plan
      */
     void execute(GeneratePlanInputData generatePlanInputData);
+
+    /**
+     * Abandons the plan generation in progress, if any. Its result is not presented.
+     */
+    void cancel();
 }
@@ -1,5 +1,9 @@
 package use_case.plan.generate_plan;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.json.JSONObject;
 
 import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
@@ -8,11 +12,16 @@ import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
  * GeneratePlanInteractor implements the generate plan use case.
  * It retrieves a generated plan from the data access layer, constructs output data,
  * and sends it to the presenter for display.
+ *
+ * <p>The plan is streamed: each subgoal is presented as a draft as soon as it has been
+ * generated, followed by the whole plan. Only the latest request is presented: starting a
+ * new one or calling {@link #cancel()} abandons the one in progress.</p>
  */
 public class GeneratePlanInteractor implements GeneratePlanInputBoundary {
 
     private final GeneratePlanDataAccessInterface generatePlanDataAccessObject;
     private final GeneratePlanOutputBoundary generatePlanPresenter;
+    private final AtomicReference<CompletableFuture<?>> pendingRequest = new AtomicReference<>();
 
     /**
      * Creates a new GeneratePlanInteractor with the given data access object and presenter.
@@ -31,26 +40,51 @@ public class GeneratePlanInteractor implements GeneratePlanInputBoundary {
     /**
      * Executes the use case by sending the user message to the data access object,
      * extracting the response fields, packaging the result into output data,
-     * and delegating to the presenter.
+     * and delegating to the presenter once the response arrives.
      *
      * @param generatePlanInputData the input containing the user's message
      */
     @Override
     public void execute(GeneratePlanInputData generatePlanInputData) {
         final String userMessage = generatePlanInputData.getUserMessage();
-        final JSONObject response = generatePlanDataAccessObject.getPlan(userMessage);
-        final boolean success = response.getBoolean("success");
-        final String responseMessage = response.getString("responseMessage");
-        final JSONObject responseObject = response.getJSONObject("responseObject");
-
-        final GeneratePlanOutputData generatePlanOutputData =
-                new GeneratePlanOutputData(
-                        responseObject,
-                        success,
-                        responseMessage,
+        final AtomicInteger subgoalCount = new AtomicInteger();
+        final CompletableFuture<JSONObject> request = generatePlanDataAccessObject.streamPlan(userMessage,
+                subgoal -> generatePlanPresenter.prepareDraftView(
+                        new GeneratePlanDraftOutputData(subgoal, subgoalCount.getAndIncrement(), userMessage)));
+        final CompletableFuture<?> previous = pendingRequest.getAndSet(request);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+        request.whenComplete((response, error) -> {
+            pendingRequest.compareAndSet(request, null);
+            if (request.isCancelled()) {
+                return;
+            }
+            final GeneratePlanOutputData generatePlanOutputData;
+            if (error != null) {
+                generatePlanOutputData = new GeneratePlanOutputData(
+                        new JSONObject(), false, "Something went wrong! Please, try again.", userMessage);
+            }
+            else {
+                generatePlanOutputData = new GeneratePlanOutputData(
+                        response.getJSONObject("responseObject"),
+                        response.getBoolean("success"),
+                        response.getString("responseMessage"),
                         userMessage
                 );
+            }
+            generatePlanPresenter.prepareView(generatePlanOutputData);
+        });
+    }
 
-        generatePlanPresenter.prepareView(generatePlanOutputData);
+    /**
+     * Cancels the plan request in progress so that its response is never presented.
+     */
+    @Override
+    public void cancel() {
+        final CompletableFuture<?> request = pendingRequest.getAndSet(null);
+        if (request != null) {
+            request.cancel(true);
+        }
     }
 }
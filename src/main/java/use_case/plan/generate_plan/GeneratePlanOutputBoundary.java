@@ -11,4 +11,10 @@ public interface GeneratePlanOutputBoundary {
      * @param outputData the data produced by the generate plan use case
      */
     void prepareView(GeneratePlanOutputData outputData);
+
+    /**
+     * Prepares the view to show a subgoal of the plan that is still being generated.
+     * @param outputData the subgoal generated so far
+     */
+    void prepareDraftView(GeneratePlanDraftOutputData outputData);
 }
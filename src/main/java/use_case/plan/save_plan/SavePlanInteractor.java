@@ -8,6 +8,9 @@ import entity.subgoal.Subgoal;
 import entity.subgoal.SubgoalBuilder;
 import use_case.subgoal.save_subgoal.SaveSubgoalInputData;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * SavePlanInteractor implements the save plan use case.
  * It creates a new plan and its subgoals, saves them using the data access layer,
@@ -55,20 +58,20 @@ public class SavePlanInteractor implements SavePlanInputBoundary {
                     .setUsername(savePlanInputData.getUsername())
                     .build();
 
-            planDataAccess.savePlan(newPlan);
-
+            final List<Subgoal> subgoals = new ArrayList<>();
             for (SaveSubgoalInputData subgoalInputData : savePlanInputData.getSubgoals()) {
-                final Subgoal subgoal = subgoalBuilder
+                subgoals.add(subgoalBuilder
                         .generateId()
                         .setPlanId(newPlan.getId())
                         .setName(subgoalInputData.getName())
                         .setUsername(savePlanInputData.getUsername())
                         .setDescription(subgoalInputData.getDescription())
                         .setDeadline(subgoalInputData.getDeadline())
-                        .build();
-                subgoalDataAccess.saveSubgoal(subgoal);
+                        .build());
             }
 
+            commit(newPlan, subgoals);
+
             success = true;
             message = "Plan was created successfully";
         }
@@ -82,4 +85,32 @@ public class SavePlanInteractor implements SavePlanInputBoundary {
                 new SavePlanOutputData(success, message);
         savePlanPresenter.prepareView(savePlanOutputData);
     }
+
+    /**
+     * Saves the plan and its subgoals as one unit of work. The subgoals are written in a
+     * single batch before the plan; if either step fails the subgoals are removed again, so
+     * no orphan subgoals and no plan with missing subgoals are left behind.
+     *
+     * <p>The unit of work only covers the stores' in-memory state. The plan and subgoal stores
+     * are separate files, each written later by its own background writer, and a failed disk
+     * write is logged there rather than reported here. A crash or I/O error between the two
+     * writes can therefore still leave the subgoals on disk without their plan.</p>
+     *
+     * @param plan     the plan to save
+     * @param subgoals the subgoals belonging to the plan
+     */
+    private void commit(Plan plan, List<Subgoal> subgoals) {
+        try {
+            subgoalDataAccess.saveSubgoals(subgoals);
+            planDataAccess.savePlan(plan);
+        }
+        catch (RuntimeException ex) {
+            final List<String> subgoalIds = new ArrayList<>();
+            for (Subgoal subgoal : subgoals) {
+                subgoalIds.add(subgoal.getId());
+            }
+            subgoalDataAccess.deleteSubgoals(subgoalIds);
+            throw ex;
+        }
+    }
 }
@@ -0,0 +1,25 @@
+package use_case.subgoal.qna;
+
+/**
+ * A piece of an answer that is still being generated for a Subgoal Q/A question.
+ */
+public class SubgoalQnaAnswerChunkOutputData {
+    private final String subgoalId;
+    private final String chunk;
+
+    public SubgoalQnaAnswerChunkOutputData(String subgoalId, String chunk) {
+        this.subgoalId = subgoalId;
+        this.chunk = chunk;
+    }
+
+    public String getSubgoalId() {
+        return subgoalId;
+    }
+
+    /**
+     * The text that arrived since the previous chunk.
+     */
+    public String getChunk() {
+        return chunk;
+    }
+}
@@ -14,4 +14,9 @@ public interface SubgoalQnaInputBoundary {
      * Ask a new question about a specific subgoal.
      */
     void ask(SubgoalQnaAskInputData inputData);
+
+    /**
+     * Abandon the question in progress, if any. Its answer is neither saved nor presented.
+     */
+    void cancel();
 }
@@ -3,33 +3,59 @@ package use_case.subgoal.qna;
 import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalQnaDataAccessInterface;
 import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
-import entity.subgoal.Subgoal;
 import entity.subgoal.SubgoalQuestionAnswer;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Interactor for Subgoal Q/A.
  * Provides Gemini with subgoal context, plan subgoals, and previous Q/A history.
+ * Answers are streamed to the presenter as they are generated; a cancelled question is
+ * neither saved nor presented. Questions about the same subgoal are answered in the order
+ * they were asked, and a question sent again while it is being answered is ignored.
+ * Prompts are kept within a token budget, see {@link SubgoalQnaPromptBuilder}.
  */
 public class SubgoalQnaInteractor implements SubgoalQnaInputBoundary {
 
+    private static final int DEFAULT_PROMPT_TOKEN_BUDGET = 4000;
+    // the most Q/A entries read for a prompt; the token budget usually leaves out more
+    private static final int PROMPT_HISTORY_WINDOW = 20;
+
     private final SubgoalQnaDataAccessInterface qnaDAO;
-    private final SubgoalDataAccessInterface subgoalDAO;
     private final SubgoalQnaGeminiDataAccessInterface geminiGateway;
     private final SubgoalQnaOutputBoundary presenter;
+    private final SubgoalQnaPromptBuilder promptBuilder;
+    // the last question asked about each subgoal, guarded by itself
+    private final Map<String, PendingQuestion> pendingQuestions = new HashMap<>();
+    private final Set<CompletableFuture<?>> requestsInFlight = ConcurrentHashMap.newKeySet();
 
     public SubgoalQnaInteractor(SubgoalQnaDataAccessInterface qnaDAO,
                                 SubgoalDataAccessInterface subgoalDAO,
                                 SubgoalQnaGeminiDataAccessInterface geminiGateway,
                                 SubgoalQnaOutputBoundary presenter) {
+        this(qnaDAO, subgoalDAO, geminiGateway, presenter, DEFAULT_PROMPT_TOKEN_BUDGET);
+    }
+
+    /**
+     * Creates the interactor with a limit on the size of the prompts sent to Gemini.
+     * Older Q/A history is left out of a prompt first when it would exceed the limit.
+     *
+     * @param promptTokenBudget the largest prompt to send, in estimated tokens
+     */
+    public SubgoalQnaInteractor(SubgoalQnaDataAccessInterface qnaDAO,
+                                SubgoalDataAccessInterface subgoalDAO,
+                                SubgoalQnaGeminiDataAccessInterface geminiGateway,
+                                SubgoalQnaOutputBoundary presenter,
+                                int promptTokenBudget) {
         this.qnaDAO = qnaDAO;
-        this.subgoalDAO = subgoalDAO;
         this.geminiGateway = geminiGateway;
         this.presenter = presenter;
+        this.promptBuilder = new SubgoalQnaPromptBuilder(subgoalDAO, promptTokenBudget);
     }
 
     @Override
@@ -50,123 +76,75 @@ public class SubgoalQnaInteractor implements SubgoalQnaInputBoundary {
             return;
         }
 
-
-        Subgoal subgoal = subgoalDAO.getSubgoalById(subgoalId);
-        String subgoalName = subgoal != null ? subgoal.getName() : "(unknown)";
-        String subgoalDescription = subgoal != null ? subgoal.getDescription() : "";
-        String planId = subgoal != null ? subgoal.getPlanId() : "";
-        String username = subgoal != null ? subgoal.getUsername() : "";
-
-
-        List<Subgoal> planSubgoals = new ArrayList<>();
-        if (subgoal != null && planId != null && !planId.isEmpty()) {
-            planSubgoals = subgoalDAO.getSubgoalsByPlanId(planId);
-
-            Collections.sort(planSubgoals, new Comparator<Subgoal>() {
-                @Override
-                public int compare(Subgoal a, Subgoal b) {
-                    // Deadlines are guaranteed non-null by Subgoal.
-                    int cmp = a.getDeadline().compareTo(b.getDeadline());
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                    // Same deadline → order by name
-                    return a.getName().compareToIgnoreCase(b.getName());
-                }
-            });
-        }
-
-
-        int currentIndex = -1;
-        for (int i = 0; i < planSubgoals.size(); i++) {
-            if (planSubgoals.get(i).getId().equals(subgoalId)) {
-                currentIndex = i;
-                break;
+        // questions about one subgoal are answered one after another, so each answer is
+        // saved in the order the questions were asked and sees the answers before it
+        PendingQuestion asked;
+        synchronized (pendingQuestions) {
+            PendingQuestion last = pendingQuestions.get(subgoalId);
+            if (last != null && !last.done.isDone() && last.question.trim().equalsIgnoreCase(question.trim())) {
+                // the same question was sent again while it is being answered, e.g. by a double-click
+                return;
             }
+            CompletableFuture<?> previous = last != null ? last.done : CompletableFuture.completedFuture(null);
+            asked = new PendingQuestion(question,
+                    previous.handle((result, error) -> null).thenCompose(ignored -> answer(subgoalId, question)));
+            pendingQuestions.put(subgoalId, asked);
         }
+        asked.done.whenComplete((result, error) -> {
+            synchronized (pendingQuestions) {
+                pendingQuestions.remove(subgoalId, asked);
+            }
+        });
+    }
 
+    private CompletableFuture<Void> answer(String subgoalId, String question) {
+        String prompt = promptBuilder.build(subgoalId, question,
+                qnaDAO.getRecentHistory(subgoalId, PROMPT_HISTORY_WINDOW));
+        // the answer is shown as it streams in; only the complete answer is saved
+        CompletableFuture<String> request = geminiGateway.streamAnswerForQuestion(prompt,
+                chunk -> presenter.presentAnswerChunk(new SubgoalQnaAnswerChunkOutputData(subgoalId, chunk)));
+        requestsInFlight.add(request);
+        return request.handle((response, error) -> {
+            requestsInFlight.remove(request);
+            if (request.isCancelled()) {
+                return null;
+            }
+            String answer = error == null ? response : null;
+            if (answer == null || answer.trim().isEmpty()) {
+                answer = "Sorry, I couldn't get an answer from Gemini.";
+            }
 
-        List<SubgoalQuestionAnswer> history = qnaDAO.getHistory(subgoalId);
-        int maxPairs = 5;
-        int startIndex = Math.max(0, history.size() - maxPairs);
 
+            qnaDAO.appendEntry(subgoalId, question, answer);
+            SubgoalQnaOutputData out = new SubgoalQnaOutputData(subgoalId, qnaDAO.getHistory(subgoalId));
+            presenter.presentUpdate(out);
+            return null;
+        });
+    }
 
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are helping a user with a specific subgoal in their planning app.\n");
-        prompt.append("Here is the subgoal context:\n");
-        if (!username.isEmpty()) {
-            prompt.append("- User: ").append(username).append("\n");
-        }
-        if (!planId.isEmpty()) {
-            prompt.append("- Plan ID: ").append(planId).append("\n");
-        }
-        prompt.append("- Subgoal name: ").append(subgoalName).append("\n");
-        if (!subgoalDescription.isEmpty()) {
-            prompt.append("- Subgoal description: ").append(subgoalDescription).append("\n");
-        }
-        prompt.append("\n");
-
-
-        if (!planSubgoals.isEmpty()) {
-            prompt.append("This subgoal is part of a plan with the following subgoals in order (each with description):\n");
-            for (int i = 0; i < planSubgoals.size(); i++) {
-                Subgoal sg = planSubgoals.get(i);
-                String marker = sg.getId().equals(subgoalId) ? " (CURRENT Q&A SUBGOAL)" : "";
-                prompt.append("  ").append(i + 1).append(". ")
-                        .append(sg.getName())
-                        .append(marker)
-                        .append("\n     Description: ")
-                        .append(sg.getDescription() != null ? sg.getDescription() : "(none)")
-                        .append("\n");
-            }
-            prompt.append("\n");
-
-            if (currentIndex != -1) {
-                if (currentIndex > 0) {
-                    Subgoal prev = planSubgoals.get(currentIndex - 1);
-                    prompt.append("The previous subgoal in this plan is: ")
-                            .append(prev.getName())
-                            .append(".\n");
-                }
-                if (currentIndex < planSubgoals.size() - 1) {
-                    Subgoal next = planSubgoals.get(currentIndex + 1);
-                    prompt.append("The next subgoal in this plan is: ")
-                            .append(next.getName())
-                            .append(".\n");
-                }
-                prompt.append("\n");
+    @Override
+    public void cancel() {
+        synchronized (pendingQuestions) {
+            for (PendingQuestion pending : pendingQuestions.values()) {
+                pending.done.cancel(true);
             }
+            pendingQuestions.clear();
         }
-
-        if (!history.isEmpty()) {
-            prompt.append("Previous conversation about this subgoal:\n");
-            for (int i = startIndex; i < history.size(); i++) {
-                SubgoalQuestionAnswer entry = history.get(i);
-                prompt.append("Q: ").append(entry.getQuestionMessage()).append("\n");
-                String resp = entry.getResponseMessage();
-                if (resp != null && !resp.isEmpty()) {
-                    prompt.append("A: ").append(resp).append("\n");
-                }
-            }
-            prompt.append("\n");
+        for (CompletableFuture<?> request : requestsInFlight) {
+            request.cancel(true);
         }
+    }
 
-        prompt.append("Now the user asks this new question about the same subgoal:\n");
-        prompt.append(question).append("\n");
-        prompt.append("Please answer based on the subgoal context, the plan's subgoals, and the previous conversation if helpful.\n");
-
+    /**
+     * A question and the future completed once its answer is saved and presented.
+     */
+    private static final class PendingQuestion {
+        private final String question;
+        private final CompletableFuture<Void> done;
 
-        String answer = geminiGateway.getAnswerForQuestion(prompt.toString());
-        if (answer == null || answer.trim().isEmpty()) {
-            answer = "Sorry, I couldn't get an answer from Gemini.";
+        private PendingQuestion(String question, CompletableFuture<Void> done) {
+            this.question = question;
+            this.done = done;
         }
-
-
-        qnaDAO.appendEntry(subgoalId, question, answer);
-
-
-        List<SubgoalQuestionAnswer> updatedHistory = qnaDAO.getHistory(subgoalId);
-        SubgoalQnaOutputData out = new SubgoalQnaOutputData(subgoalId, updatedHistory);
-        presenter.presentUpdate(out);
     }
 }
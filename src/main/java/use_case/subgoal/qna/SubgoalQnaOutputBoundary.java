@@ -3,6 +3,8 @@ package use_case.subgoal.qna;
 /**
  * Output boundary for Subgoal Q/A.
  * We separate initial-open vs update so only the first call opens the dialog.
+ * While an answer is generated, its pieces are presented as they arrive, followed by
+ * an update with the saved history.
  */
 public interface SubgoalQnaOutputBoundary {
 
@@ -10,5 +12,7 @@ public interface SubgoalQnaOutputBoundary {
 
     void presentUpdate(SubgoalQnaOutputData outputData);
 
+    void presentAnswerChunk(SubgoalQnaAnswerChunkOutputData outputData);
+
     void presentError(String message);
 }
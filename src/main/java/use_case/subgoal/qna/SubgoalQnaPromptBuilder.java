@@ -0,0 +1,264 @@
+package use_case.subgoal.qna;
+
+import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
+import entity.subgoal.Subgoal;
+import entity.subgoal.SubgoalQuestionAnswer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Builds the prompts sent to Gemini for subgoal questions.
+ *
+ * <p>The ordered subgoals of each plan are cached and reused until the subgoal store reports
+ * a change to that plan's subgoals. Every prompt is kept within a token budget: the newest Q/A history is included
+ * first and older entries are left out once the budget is used up. If the plan itself is too
+ * long, only the names of subgoals far from the current one are listed. Tokens are estimated
+ * at four characters each.</p>
+ */
+class SubgoalQnaPromptBuilder {
+
+    private static final int CHARS_PER_TOKEN = 4;
+    // the shortest answer worth keeping when the newest Q/A entry has to be cut
+    private static final int MIN_TRUNCATED_ANSWER_CHARS = 200;
+
+    private static final Comparator<Subgoal> PLAN_ORDER = Comparator
+            .comparing(Subgoal::getDeadline)
+            .thenComparing(Subgoal::getName, String.CASE_INSENSITIVE_ORDER);
+
+    private final SubgoalDataAccessInterface subgoalDAO;
+    private final int tokenBudget;
+    private final Map<String, PlanContext> planContexts = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a prompt builder.
+     *
+     * @param subgoalDAO  the store the plan context is read from
+     * @param tokenBudget the largest prompt to build, in estimated tokens
+     */
+    SubgoalQnaPromptBuilder(SubgoalDataAccessInterface subgoalDAO, int tokenBudget) {
+        this.subgoalDAO = subgoalDAO;
+        this.tokenBudget = tokenBudget;
+    }
+
+    /**
+     * Builds the prompt for a question about a subgoal.
+     *
+     * @param subgoalId the subgoal the question is about
+     * @param question  the new question
+     * @param history   the previous Q/A entries about the subgoal, oldest first
+     * @return the prompt
+     */
+    String build(String subgoalId, String question, List<SubgoalQuestionAnswer> history) {
+        Subgoal subgoal = subgoalDAO.getSubgoalById(subgoalId);
+        String subgoalName = subgoal != null ? subgoal.getName() : "(unknown)";
+        String subgoalDescription = subgoal != null ? subgoal.getDescription() : "";
+        String planId = subgoal != null ? subgoal.getPlanId() : "";
+        String username = subgoal != null ? subgoal.getUsername() : "";
+
+        StringBuilder header = new StringBuilder();
+        header.append("You are helping a user with a specific subgoal in their planning app.\n");
+        header.append("Here is the subgoal context:\n");
+        if (username != null && !username.isEmpty()) {
+            header.append("- User: ").append(username).append("\n");
+        }
+        if (planId != null && !planId.isEmpty()) {
+            header.append("- Plan ID: ").append(planId).append("\n");
+        }
+        header.append("- Subgoal name: ").append(subgoalName).append("\n");
+        if (subgoalDescription != null && !subgoalDescription.isEmpty()) {
+            header.append("- Subgoal description: ").append(subgoalDescription).append("\n");
+        }
+        header.append("\n");
+
+        StringBuilder footer = new StringBuilder();
+        footer.append("Now the user asks this new question about the same subgoal:\n");
+        footer.append(question).append("\n");
+        footer.append("Please answer based on the subgoal context, the plan's subgoals, "
+                + "and the previous conversation if helpful.\n");
+
+        int remaining = tokenBudget - estimateTokens(header) - estimateTokens(footer);
+        String plan = "";
+        if (subgoal != null && planId != null && !planId.isEmpty()) {
+            // the plan may use at most half of what is left, the rest is for the history
+            plan = getPlanContext(planId).render(subgoalId, remaining / 2);
+        }
+        remaining -= estimateTokens(plan);
+
+        return header + plan + renderHistory(history, remaining) + footer;
+    }
+
+    private PlanContext getPlanContext(String planId) {
+        // read before the subgoals, so a change in between only makes the next call rebuild
+        long version = subgoalDAO.getPlanVersion(planId);
+        PlanContext context = planContexts.get(planId);
+        if (context == null || version < 0 || context.version != version) {
+            List<Subgoal> ordered = new ArrayList<>(subgoalDAO.getSubgoalsByPlanId(planId));
+            ordered.sort(PLAN_ORDER);
+            context = new PlanContext(version, ordered);
+            if (version >= 0) {
+                planContexts.put(planId, context);
+            }
+        }
+        return context;
+    }
+
+    private static String renderHistory(List<SubgoalQuestionAnswer> history, int budget) {
+        if (history.isEmpty() || budget <= 0) {
+            return "";
+        }
+        String heading = "Previous conversation about this subgoal:\n";
+        int remaining = budget - estimateTokens(heading);
+        List<String> included = new ArrayList<>();
+        for (int i = history.size() - 1; i >= 0; i--) {
+            String entry = renderEntry(history.get(i));
+            // a note about left out entries may still be needed
+            int available = remaining - estimateTokens(omittedNote(i));
+            if (estimateTokens(entry) > available) {
+                if (included.isEmpty()) {
+                    String truncated = truncateEntry(history.get(i), available);
+                    if (truncated != null) {
+                        included.add(truncated);
+                        remaining -= estimateTokens(truncated);
+                    }
+                }
+                break;
+            }
+            included.add(entry);
+            remaining -= estimateTokens(entry);
+        }
+        if (included.isEmpty()) {
+            return "";
+        }
+
+        StringBuilder out = new StringBuilder(heading);
+        out.append(omittedNote(history.size() - included.size()));
+        for (int i = included.size() - 1; i >= 0; i--) {
+            out.append(included.get(i));
+        }
+        return out.append("\n").toString();
+    }
+
+    private static String renderEntry(SubgoalQuestionAnswer entry) {
+        StringBuilder out = new StringBuilder();
+        out.append("Q: ").append(entry.getQuestionMessage()).append("\n");
+        String resp = entry.getResponseMessage();
+        if (resp != null && !resp.isEmpty()) {
+            out.append("A: ").append(resp).append("\n");
+        }
+        return out.toString();
+    }
+
+    /**
+     * Cuts the answer of an entry so that the entry fits the budget.
+     *
+     * @return the shortened entry, or null if not even its question and the start of the
+     *         answer fit
+     */
+    private static String truncateEntry(SubgoalQuestionAnswer entry, int budget) {
+        String question = "Q: " + entry.getQuestionMessage() + "\nA: ";
+        int answerChars = budget * CHARS_PER_TOKEN - question.length() - " ...\n".length();
+        String resp = entry.getResponseMessage();
+        if (resp == null || answerChars < MIN_TRUNCATED_ANSWER_CHARS) {
+            return null;
+        }
+        return question + resp.substring(0, Math.min(answerChars, resp.length())) + " ...\n";
+    }
+
+    private static String omittedNote(int omitted) {
+        if (omitted == 0) {
+            return "";
+        }
+        return "(" + omitted + " earlier question" + (omitted == 1 ? " is" : "s are") + " not shown.)\n";
+    }
+
+    static int estimateTokens(CharSequence text) {
+        return (text.length() + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN;
+    }
+
+    /**
+     * The subgoals of a plan in order, as of one version of the plan's subgoals.
+     */
+    private static final class PlanContext {
+        private final long version;
+        private final List<Subgoal> subgoals;
+        // the description line of every subgoal, built on first use
+        private volatile String[] descriptionLines;
+
+        private PlanContext(long version, List<Subgoal> subgoals) {
+            this.version = version;
+            this.subgoals = subgoals;
+        }
+
+        /**
+         * Lists the subgoals of the plan and marks the current one. Descriptions of subgoals
+         * other than the current one and its neighbours are left out if the list would not
+         * fit the budget otherwise.
+         */
+        String render(String subgoalId, int budget) {
+            if (subgoals.isEmpty()) {
+                return "";
+            }
+            int currentIndex = -1;
+            for (int i = 0; i < subgoals.size(); i++) {
+                if (subgoals.get(i).getId().equals(subgoalId)) {
+                    currentIndex = i;
+                    break;
+                }
+            }
+
+            String[] entries = getDescriptionLines();
+            int fullLength = 0;
+            for (String entry : entries) {
+                fullLength += entry.length();
+            }
+            boolean compact = (fullLength + CHARS_PER_TOKEN - 1) / CHARS_PER_TOKEN > budget;
+
+            StringBuilder prompt = new StringBuilder();
+            prompt.append("This subgoal is part of a plan with the following subgoals in order (each with description):\n");
+            for (int i = 0; i < subgoals.size(); i++) {
+                Subgoal sg = subgoals.get(i);
+                String marker = i == currentIndex ? " (CURRENT Q&A SUBGOAL)" : "";
+                if (compact && Math.abs(i - currentIndex) > 1) {
+                    prompt.append("  ").append(i + 1).append(". ").append(sg.getName()).append("\n");
+                }
+                else {
+                    prompt.append("  ").append(i + 1).append(". ").append(sg.getName()).append(marker)
+                            .append(entries[i]);
+                }
+            }
+            prompt.append("\n");
+
+            if (currentIndex != -1) {
+                if (currentIndex > 0) {
+                    prompt.append("The previous subgoal in this plan is: ")
+                            .append(subgoals.get(currentIndex - 1).getName())
+                            .append(".\n");
+                }
+                if (currentIndex < subgoals.size() - 1) {
+                    prompt.append("The next subgoal in this plan is: ")
+                            .append(subgoals.get(currentIndex + 1).getName())
+                            .append(".\n");
+                }
+                prompt.append("\n");
+            }
+            return prompt.toString();
+        }
+
+        private String[] getDescriptionLines() {
+            String[] entries = descriptionLines;
+            if (entries == null) {
+                entries = new String[subgoals.size()];
+                for (int i = 0; i < entries.length; i++) {
+                    String description = subgoals.get(i).getDescription();
+                    entries[i] = "\n     Description: " + (description != null ? description : "(none)") + "\n";
+                }
+                descriptionLines = entries;
+            }
+            return entries;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package view;
 
-import data_access.interfaces.subgoal.SubgoalDataAccessInterface;
 import entity.subgoal.Subgoal;
 import interface_adapter.calendar.CalendarViewModel;
 import interface_adapter.calendar.CalendarState;
+import interface_adapter.calendar.LoadCalendarController;
 import interface_adapter.subgoal.filter_subgoals.FilterSubgoalsController;
 import interface_adapter.subgoal.show_subgoal.ShowSubgoalController;
+import view.ui_elements.CalendarMonthGrid;
+import view.ui_elements.SubgoalListModel;
 
 import javax.swing.*;
 import java.awt.*;
@@ -17,6 +19,9 @@ import java.util.*;
 import java.util.List;
 
 public class CalendarView extends JPanel implements ActionListener, PropertyChangeListener {
+
+    public static final String VIEW_NAME = "CalendarView";
+
     // Views, go on the top right
 
     // Month changing, ie. left/right buttons, and show current month.
@@ -24,31 +29,30 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
     private JButton nextMonthButton;
     private JLabel monthLabel;
 
-    // Create the calendar grid, probably 7 x 5 haven't figured this out yet ..
-    private JPanel calendarGrid;
-    private List<JButton> dayButtons;
+    // shown next to the titles until the subgoals have been loaded, e.g. while the store is read at startup
+    private static final String LOADING = " (loading...)";
+    private static final String UPCOMING_TITLE = "Upcoming Subgoals";
+    private final JLabel upcomingLabel;
+
+    // The calendar grid: 6 weeks of 7 days, painted as one component
+    private final CalendarMonthGrid calendarGrid;
 
     // Goal buttons, on the bottom i think...
-    private final DefaultListModel<String> goalListModel;
-    private final JList<String> goalList;
+    // upcoming or filtered subgoals; upcoming ones are loaded page by page as the list scrolls
+    private final SubgoalListModel goalListModel;
+    private final JList<Subgoal> goalList;
     private ShowSubgoalController showSubgoalController;
 
     //calendar buttons: below is the map to store if each date has a goal
     private Map<LocalDate, List<Subgoal>> subgoalsByDate = new HashMap<>();
 
 
-    // Pagination for upcoming subgoals
-    private int subgoalPageOffset = 0;
-    private static final int SUBGOALS_PER_PAGE = 6;
-    private JButton prevSubgoalsButton;
-    private JButton nextSubgoalsButton;
+    // number of upcoming subgoals visible without scrolling
+    private static final int VISIBLE_SUBGOALS = 6;
+    // number of upcoming subgoals loaded at a time
+    private static final int PAGE_SIZE = 50;
     private JButton openSubgoalButton;
 
-    // Map to track subgoal IDs for the displayed items
-    private final Map<String, String> displayTextToSubgoalId = new HashMap<>();
-    // Map to track completion status for coloring
-    private final Map<String, Boolean> displayTextToCompleted = new HashMap<>();
-
     // Calendar state when we are in teh calendar view
     private CalendarViewModel viewModel;
     private LocalDate displayedMonth;
@@ -57,24 +61,33 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
     private JButton filterButton;
     private FilterSubgoalsController filterSubgoalsController;
 
-    // Subgoal data access for fetching actual subgoals
-    private SubgoalDataAccessInterface subgoalDataAccess;
+    // searches subgoal names and descriptions as the user types, once typing pauses
+    private static final int SEARCH_DELAY_MILLIS = 200;
+    private final JTextField searchField;
+    private final javax.swing.Timer searchTimer;
+
+    // Subgoals are loaded in the background; the view only shows what was loaded into the state
+    private LoadCalendarController loadCalendarController;
+    // whether the next page of upcoming subgoals has been asked for and not arrived yet
+    private boolean loadingMoreUpcoming;
     //private ShowSubgoalController showSubgoalController;
 
-    //new function for calendar buttons
-    private void mapSubgoalsByDate(List<Subgoal> allSubgoals) {
+    //new function for calendar buttons, only maps the subgoals of the displayed month
+    private void mapSubgoalsByDate() {
         subgoalsByDate.clear();
-        for (Subgoal subgoal : allSubgoals) {
+        CalendarState state = viewModel.getCalendarState();
+        if (!displayedMonth.equals(state.getLoadedMonth())) {
+            return;
+        }
+        for (Subgoal subgoal : state.getMonthSubgoals()) {
             LocalDate deadline = subgoal.getDeadline();
             subgoalsByDate.computeIfAbsent(deadline, k -> new ArrayList<>()).add(subgoal);
         }
     }
 
 
-    public CalendarView(CalendarViewModel viewModel,
-                        SubgoalDataAccessInterface subgoalDataAccess) {
+    public CalendarView(CalendarViewModel viewModel) {
         this.viewModel = viewModel;
-        this.subgoalDataAccess = subgoalDataAccess;
         this.displayedMonth = LocalDate.now().withDayOfMonth(1); // starting with current month, should prob be nov
 
         setLayout(new BorderLayout());
@@ -90,24 +103,34 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         monthPanel.add(nextMonthButton, BorderLayout.EAST);
         add(monthPanel, BorderLayout.NORTH);
 
-        //Create the calendar grid. 0 rows to create as many as we need
-        calendarGrid = new JPanel(new GridLayout(0, 7));
+        //Create the calendar grid. Clicking a subgoal opens it
+        calendarGrid = new CalendarMonthGrid();
+        calendarGrid.setSubgoalClickListener(subgoalId -> {
+            if (showSubgoalController != null) {
+                showSubgoalController.execute(subgoalId);
+            }
+        });
         add(calendarGrid, BorderLayout.CENTER);
 
         // Adding and removing subgoals
-        goalListModel = new DefaultListModel<>();
+        goalListModel = new SubgoalListModel();
         goalList = new JList<>(goalListModel);
+        goalList.setVisibleRowCount(VISIBLE_SUBGOALS);
+        // a fixed row height spares the list from measuring every row it holds
+        goalList.setFixedCellHeight(new JLabel("X").getPreferredSize().height + 2);
 
         // Set custom cell renderer to color completed subgoals green
         goalList.setCellRenderer(new DefaultListCellRenderer() {
             @Override
             public Component getListCellRendererComponent(JList<?> list, Object value, int index,
                                                           boolean isSelected, boolean cellHasFocus) {
-                Component c = super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
-                String text = value.toString();
-                Boolean isCompleted = displayTextToCompleted.get(text);
+                Subgoal subgoal = (Subgoal) value;
+                String priorityFlag = subgoal.isPriority() ? " [PRIORITY]" : "";
+                String completedFlag = subgoal.isCompleted() ? " ✓" : "";
+                String displayText = subgoal.getDeadline() + " - " + subgoal.getName() + priorityFlag + completedFlag;
+                Component c = super.getListCellRendererComponent(list, displayText, index, isSelected, cellHasFocus);
 
-                if (isCompleted != null && isCompleted) {
+                if (subgoal.isCompleted()) {
                     // Completed subgoals have green background
                     if (!isSelected) {
                         c.setBackground(new Color(144, 238, 144)); // Light green
@@ -124,30 +147,49 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
 
         filterButton = new JButton("Filter Subgoals");
 
-        // Navigation buttons for upcoming subgoals
-        prevSubgoalsButton = new JButton("<");
-        nextSubgoalsButton = new JButton(">");
-
         // Button to open selected subgoal
         openSubgoalButton = new JButton("Open Selected Subgoal");
 
+        // Search box, filters the subgoals while typing
+        searchField = new JTextField(15);
+        searchTimer = new javax.swing.Timer(SEARCH_DELAY_MILLIS, e -> searchSubgoals());
+        searchTimer.setRepeats(false);
+        searchField.getDocument().addDocumentListener(new javax.swing.event.DocumentListener() {
+            @Override
+            public void insertUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void removeUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
+
+            @Override
+            public void changedUpdate(javax.swing.event.DocumentEvent e) {
+                searchTimer.restart();
+            }
+        });
+
         JPanel goalControlPanel = new JPanel();
+        goalControlPanel.add(new JLabel("Search:"));
+        goalControlPanel.add(searchField);
         goalControlPanel.add(filterButton);
         goalControlPanel.add(openSubgoalButton);
 
-        // Panel for subgoal navigation
+        // Title of the upcoming subgoals
         JPanel subgoalNavPanel = new JPanel(new BorderLayout());
-        JLabel upcomingLabel = new JLabel("Upcoming Subgoals", SwingConstants.CENTER);
+        upcomingLabel = new JLabel(UPCOMING_TITLE, SwingConstants.CENTER);
         upcomingLabel.setFont(new Font("SansSerif", Font.BOLD, 14));
-        JPanel navButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
-        navButtonPanel.add(prevSubgoalsButton);
-        navButtonPanel.add(nextSubgoalsButton);
         subgoalNavPanel.add(upcomingLabel, BorderLayout.WEST);
-        subgoalNavPanel.add(navButtonPanel, BorderLayout.EAST);
+
+        // scrolling close to the end of the loaded subgoals loads the next page
+        JScrollPane goalScrollPane = new JScrollPane(goalList);
+        goalScrollPane.getVerticalScrollBar().addAdjustmentListener(e -> loadMoreUpcomingIfNeeded());
 
         JPanel goalPanel = new JPanel(new BorderLayout());
         goalPanel.add(subgoalNavPanel, BorderLayout.NORTH);
-        goalPanel.add(new JScrollPane(goalList), BorderLayout.CENTER);
+        goalPanel.add(goalScrollPane, BorderLayout.CENTER);
         goalPanel.add(goalControlPanel, BorderLayout.SOUTH);
         add(goalPanel, BorderLayout.SOUTH);
 
@@ -155,170 +197,56 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         prevMonthButton.addActionListener(this);
         nextMonthButton.addActionListener(this);
         filterButton.addActionListener(this);
-        prevSubgoalsButton.addActionListener(this);
-        nextSubgoalsButton.addActionListener(this);
         openSubgoalButton.addActionListener(this);
 
         // Register this view as a property change listener
         viewModel.addPropertyChangeListener(this);
 
         //defined below: this is to make the correct grid for calendar.
-        mapSubgoalsByDate(subgoalDataAccess.getSubgoalsByUsername(viewModel.getCalendarState().getUsername()));
         updateCalendar();
+        showUpcomingSubgoals();
+    }
 
-        // Initial load of upcoming subgoals if username is already set
-        if (viewModel.getCalendarState().getUsername() != null) {
-            updateUpcomingSubgoals();
+    // asks for the subgoals of the displayed month; they are drawn when they arrive
+    private void loadMonth() {
+        String username = viewModel.getCalendarState().getUsername();
+        if (loadCalendarController != null && username != null) {
+            loadCalendarController.loadMonth(username, displayedMonth);
         }
     }
+
     private void updateCalendar() {
-        calendarGrid.removeAll(); //first start by removing everything so we can rewrite calendar.
-        dayButtons = new ArrayList<>();
+        mapSubgoalsByDate();
 
         // month number/name
-        monthLabel.setText(displayedMonth.getMonth().toString() + " " + displayedMonth.getYear());
-
-        // days in the week
-        String[] weekdays = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
-        for (String wd : weekdays) {
-            JLabel label = new JLabel(wd, SwingConstants.CENTER);
-            label.setFont(new Font("SansSerif", Font.BOLD, 12));
-            calendarGrid.add(label);
-        }
-
-        // first day of the month, important for structure of the calendar grid
-        LocalDate firstOfMonth = displayedMonth.withDayOfMonth(1);
-        int firstDayOfWeek = firstOfMonth.getDayOfWeek().getValue() % 7; // Sunday=0
-        int daysInMonth = displayedMonth.lengthOfMonth();
-
-        // empty before first of the month.
-        for (int i = 0; i < firstDayOfWeek; i++) {
-            calendarGrid.add(new JLabel(""));
-        }
-
-        // Each grid in the calendar is one button, also added the mini buttons!
-        for (int day = 1; day <= daysInMonth; day++) {
-            LocalDate buttonDate = displayedMonth.withDayOfMonth(day);
-
-            // Main day cell panel
-            JPanel dayCell = new JPanel(new BorderLayout());
-            dayCell.setBorder(BorderFactory.createLineBorder(Color.GRAY));
-            dayCell.setBackground(Color.WHITE);
-            dayCell.setOpaque(true);
-
-            if (buttonDate.equals(viewModel.getCalendarState().getSelectedDate())) {
-                dayCell.setBackground(Color.CYAN);
-            }
-
-            // Day number at the top
-            JLabel dayLabel = new JLabel(String.valueOf(day), SwingConstants.CENTER);
-            dayLabel.setFont(new Font("SansSerif", Font.BOLD, 12));
-            dayCell.add(dayLabel, BorderLayout.NORTH);
-
-            // Subgoals panel with scrolling
-            List<Subgoal> subgoalsForDate = subgoalsByDate.getOrDefault(buttonDate, Collections.emptyList());
-
-            if (!subgoalsForDate.isEmpty()) {
-                JPanel subgoalsPanel = new JPanel();
-                subgoalsPanel.setLayout(new BoxLayout(subgoalsPanel, BoxLayout.Y_AXIS));
-                subgoalsPanel.setBackground(Color.WHITE);
-                subgoalsPanel.setOpaque(true);
-
-                // Add each subgoal as a clickable button
-                for (int i = 0; i < subgoalsForDate.size(); i++) {
-                    Subgoal subgoal = subgoalsForDate.get(i);
-
-                    // Create button with better text formatting
-                    String buttonText = (i + 1) + ". ";
-                    if (subgoal.getName().length() > 10) {
-                        buttonText += subgoal.getName().substring(0, 10) + "…";
-                    } else {
-                        buttonText += subgoal.getName();
-                    }
-
-                    JButton subgoalBtn = new JButton(buttonText);
-                    subgoalBtn.setFont(new Font("SansSerif", Font.PLAIN, 9));
-                    subgoalBtn.setMargin(new Insets(1, 2, 1, 2));
-                    subgoalBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
-                    subgoalBtn.setMaximumSize(new Dimension(Integer.MAX_VALUE, 20));
-
-                    // Color code based on priority and completion
-                    if (subgoal.isCompleted()) {
-                        subgoalBtn.setBackground(new Color(144, 238, 144)); // Light green
-                        subgoalBtn.setOpaque(true);
-                    } else if (subgoal.isPriority()) {
-                        subgoalBtn.setBackground(new Color(255, 200, 200)); // Light red
-                        subgoalBtn.setOpaque(true);
-                    }
-
-                    // Set tooltip to show full name
-                    subgoalBtn.setToolTipText(subgoal.getName());
-
-                    subgoalBtn.addActionListener(ev -> {
-                        if (showSubgoalController != null) {
-                            showSubgoalController.execute(subgoal.getId());
-                        }
-                    });
-
-                    subgoalsPanel.add(subgoalBtn);
-                }
-
-                // Add scroll pane if there are many subgoals
-                JScrollPane scrollPane = new JScrollPane(subgoalsPanel);
-                scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);
-                scrollPane.setHorizontalScrollBarPolicy(JScrollPane.HORIZONTAL_SCROLLBAR_NEVER);
-                scrollPane.setBorder(null);
-                scrollPane.setBackground(Color.WHITE);
-
-                dayCell.add(scrollPane, BorderLayout.CENTER);
-            }
-
-            calendarGrid.add(dayCell);
-        }
+        String loading = isLoading(displayedMonth.equals(viewModel.getCalendarState().getLoadedMonth())) ? LOADING : "";
+        monthLabel.setText(displayedMonth.getMonth().toString() + " " + displayedMonth.getYear() + loading);
 
-
-
-        calendarGrid.revalidate();
-        calendarGrid.repaint();
+        // only the days whose subgoals or selection changed are repainted
+        calendarGrid.showMonth(displayedMonth, subgoalsByDate, viewModel.getCalendarState().getSelectedDate());
     }
 
     @Override
     public void actionPerformed(ActionEvent e) { //this is to code in the buttons so they actually work
         Object src = e.getSource();
-        CalendarState state = viewModel.getCalendarState(); // get current calendar state
-        LocalDate selectedDate = state.getSelectedDate();
 
 
         // changing months
         if (src == prevMonthButton) {
             displayedMonth = displayedMonth.minusMonths(1);
             updateCalendar(); // redraw calendars
+            loadMonth();
         } else if (src == nextMonthButton) {
             displayedMonth = displayedMonth.plusMonths(1);
             updateCalendar(); // redraw calendras
+            loadMonth();
         }
 
         // goals
-        if (src == prevSubgoalsButton) {
-            if (subgoalPageOffset > 0) {
-                subgoalPageOffset -= SUBGOALS_PER_PAGE;
-                updateUpcomingSubgoals();
-            }
-        } else if (src == nextSubgoalsButton) {
-            subgoalPageOffset += SUBGOALS_PER_PAGE;
-            updateUpcomingSubgoals();
-        } else if (src == openSubgoalButton) {
-            String selectedValue = goalList.getSelectedValue();
+        if (src == openSubgoalButton) {
+            Subgoal selectedValue = goalList.getSelectedValue();
             if (selectedValue != null && showSubgoalController != null) {
-                String subgoalId = displayTextToSubgoalId.get(selectedValue);
-                if (subgoalId != null) {
-                    showSubgoalController.execute(subgoalId);
-                } else {
-                    JOptionPane.showMessageDialog(this,
-                        "Could not find subgoal ID for the selected item.",
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-                }
+                showSubgoalController.execute(selectedValue.getId());
             } else if (selectedValue == null) {
                 JOptionPane.showMessageDialog(this,
                     "Please select a subgoal first.",
@@ -328,58 +256,34 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         } else if (src == filterButton) {
             showFilterDialog();
         }
-
-        // Day buttons inside the grid, so we can press each day
-        else if (src instanceof JButton) {
-            JButton dayButton = (JButton) src;
-            try {
-                int day = Integer.parseInt(dayButton.getText());
-                LocalDate clickedDate = displayedMonth.withDayOfMonth(day);
-                state.setSelectedDate(clickedDate); // update the date
-                viewModel.firePropertyChanged();
-                updateCalendar();
-            } catch (NumberFormatException ignored) {
-                // ignore emptys
-            }
-        }
     }
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         CalendarState state = viewModel.getCalendarState();
 
-        // Update the goal list display based on filter state
-        goalListModel.clear();
-        displayTextToSubgoalId.clear();
-        displayTextToCompleted.clear();
+        // loaded subgoals only need drawing
+        if (CalendarViewModel.MONTH_PROPERTY.equals(evt.getPropertyName())) {
+            updateCalendar();
+            return;
+        }
+        if (CalendarViewModel.UPCOMING_PROPERTY.equals(evt.getPropertyName())) {
+            loadingMoreUpcoming = false;
+            showUpcomingSubgoals();
+            return;
+        }
 
+        // Update the goal list display based on filter state
         if (state.isFilterActive()) {
-            // Display filtered subgoals with same format as unfiltered
-            List<Subgoal> filteredSubgoals = state.getFilteredSubgoals();
-            System.out.println("CalendarView: Showing " + filteredSubgoals.size() + " filtered subgoals");
-
-            // Sort filtered subgoals by deadline, then by completion
-            filteredSubgoals.sort(Comparator
-                    .comparing(Subgoal::getDeadline)
-                    .thenComparing(Subgoal::isCompleted));
-
-            for (Subgoal subgoal : filteredSubgoals) {
-                String priorityFlag = subgoal.isPriority() ? " [PRIORITY]" : "";
-                String completedFlag = subgoal.isCompleted() ? " ✓" : "";
-                String displayText = subgoal.getDeadline() + " - " + subgoal.getName() + priorityFlag + completedFlag;
-                goalListModel.addElement(displayText);
-                displayTextToSubgoalId.put(displayText, subgoal.getId());
-                displayTextToCompleted.put(displayText, subgoal.isCompleted());
-            }
-
-            // Disable pagination for filtered results
-            prevSubgoalsButton.setEnabled(false);
-            nextSubgoalsButton.setEnabled(false);
+            // filtered subgoals are shown in the order they were found, so search results stay ranked
+            goalListModel.showSubgoals(state.getFilteredSubgoals());
         } else {
-            // Display all goals for selected date (call updateUpcomingSubgoals or handle normally)
-            updateUpcomingSubgoals();
+            // the subgoals may have changed: show the loaded ones and reload them
+            showUpcomingSubgoals();
+            loadUpcomingSubgoals();
         }
 
         updateCalendar();
+        loadMonth();
 
         // error popups
         if (state.getErrorMessage() != null && !state.getErrorMessage().isEmpty()) {
@@ -388,70 +292,47 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         }
     }
 
-    private void updateUpcomingSubgoals() {
+    // shows the upcoming subgoals loaded so far, unless a filter is shown instead
+    private void showUpcomingSubgoals() {
         CalendarState state = viewModel.getCalendarState();
-        goalListModel.clear();
-        displayTextToSubgoalId.clear();
-        displayTextToCompleted.clear();
-
-        if (subgoalDataAccess == null) {
-            System.out.println("CalendarView: subgoalDataAccess is null");
-            return;
-        }
-
-        if (state.getUsername() == null) {
-            System.out.println("CalendarView: username is null, cannot load subgoals");
+        if (state.isFilterActive()) {
             return;
         }
+        upcomingLabel.setText(UPCOMING_TITLE + (isLoading(state.getUpcomingFrom() != null) ? LOADING : ""));
+        goalListModel.showSubgoals(state.getUpcomingSubgoals());
+        loadMoreUpcomingIfNeeded();
+    }
 
-        System.out.println("CalendarView: Loading subgoals for user: " + state.getUsername());
-
-        // Get all subgoals for the current user
-        List<Subgoal> allSubgoals = subgoalDataAccess.getSubgoalsByUsername(state.getUsername());
-        mapSubgoalsByDate(allSubgoals);
-        System.out.println("CalendarView: Found " + allSubgoals.size() + " total subgoals for user");
+    // subgoals are only on their way if someone is logged in and they have not arrived yet
+    private boolean isLoading(boolean loaded) {
+        return !loaded && loadCalendarController != null && viewModel.getCalendarState().getUsername() != null;
+    }
 
-        // Filter to upcoming subgoals (deadline is today or in the future - include completed ones)
-        LocalDate today = LocalDate.now();
-        List<Subgoal> upcomingSubgoals = new ArrayList<>();
-        for (Subgoal subgoal : allSubgoals) {
-            if (!subgoal.getDeadline().isBefore(today)) {
-                upcomingSubgoals.add(subgoal);
-            }
+    // reloads as many upcoming subgoals as were loaded already, so the scroll position is kept
+    private void loadUpcomingSubgoals() {
+        CalendarState state = viewModel.getCalendarState();
+        if (loadCalendarController == null || state.getUsername() == null) {
+            return;
         }
+        int limit = Math.max(PAGE_SIZE, state.getUpcomingSubgoals().size());
+        loadCalendarController.loadUpcoming(state.getUsername(), LocalDate.now(), null, limit);
+    }
 
-        System.out.println("CalendarView: Found " + upcomingSubgoals.size() + " upcoming subgoals (including completed)");
-
-        // Sort by deadline, then by completion status (incomplete first, then completed)
-        upcomingSubgoals.sort(Comparator
-                .comparing(Subgoal::getDeadline)
-                .thenComparing(Subgoal::isCompleted));
-
-        // Calculate the range to display
-        int startIdx = subgoalPageOffset;
-        int endIdx = Math.min(startIdx + SUBGOALS_PER_PAGE, upcomingSubgoals.size());
-
-        System.out.println("CalendarView: Displaying subgoals from index " + startIdx + " to " + endIdx);
-
-        // Display the subgoals for current page
-        for (int i = startIdx; i < endIdx; i++) {
-            Subgoal subgoal = upcomingSubgoals.get(i);
-            String priorityFlag = subgoal.isPriority() ? " [PRIORITY]" : "";
-            String completedFlag = subgoal.isCompleted() ? " ✓" : "";
-            String displayText = subgoal.getDeadline() + " - " + subgoal.getName() + priorityFlag + completedFlag;
-            goalListModel.addElement(displayText);
-            displayTextToSubgoalId.put(displayText, subgoal.getId());
-            displayTextToCompleted.put(displayText, subgoal.isCompleted());
-            System.out.println("CalendarView: Added subgoal: " + displayText + (subgoal.isCompleted() ? " (completed)" : ""));
+    // the next page is loaded once the list is scrolled close to the last loaded subgoal
+    private void loadMoreUpcomingIfNeeded() {
+        CalendarState state = viewModel.getCalendarState();
+        if (loadCalendarController == null || loadingMoreUpcoming || state.isFilterActive()
+                || !state.hasMoreUpcoming() || !goalListModel.isNearEnd(goalList.getLastVisibleIndex())) {
+            return;
         }
-
-        // Enable/disable navigation buttons
-        prevSubgoalsButton.setEnabled(subgoalPageOffset > 0);
-        nextSubgoalsButton.setEnabled(endIdx < upcomingSubgoals.size());
-        updateCalendar();
+        List<Subgoal> loaded = state.getUpcomingSubgoals();
+        loadingMoreUpcoming = true;
+        loadCalendarController.loadUpcoming(state.getUsername(), state.getUpcomingFrom(),
+                loaded.get(loaded.size() - 1), PAGE_SIZE);
     }
+
     public String getViewName() {
-        return "CalendarView";
+        return VIEW_NAME;
     }
 
     private void showFilterDialog() {
@@ -505,6 +386,21 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         viewModel.firePropertyChanged();
     }
 
+    // runs the search typed so far; an emptied search box clears the search it started
+    private void searchSubgoals() {
+        String query = searchField.getText().trim();
+        CalendarState state = viewModel.getCalendarState();
+        if (query.isEmpty()) {
+            if (state.isFilterActive() && state.getFilterSubgoalName() != null) {
+                clearFilter();
+            }
+            return;
+        }
+        if (filterSubgoalsController != null && state.getUsername() != null) {
+            filterSubgoalsController.execute(state.getUsername(), null, query, false);
+        }
+    }
+
     private void filterBySubgoalName() {
         String name = JOptionPane.showInputDialog(this, "Enter subgoal name to search for:");
         if (name != null && !name.trim().isEmpty()) {
@@ -519,6 +415,14 @@ public class CalendarView extends JPanel implements ActionListener, PropertyChan
         }
     }
 
+    public void setLoadCalendarController(LoadCalendarController loadCalendarController) {
+        this.loadCalendarController = loadCalendarController;
+        updateCalendar();
+        showUpcomingSubgoals();
+        loadMonth();
+        loadUpcomingSubgoals();
+    }
+
     public void setFilterSubgoalsController(FilterSubgoalsController controller) {
         this.filterSubgoalsController = controller;
     }
@@ -16,7 +16,7 @@ import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 
 public class MainPageView extends JPanel implements ActionListener, PropertyChangeListener {
-    private static final String viewName = "main page";
+    public static final String VIEW_NAME = "main page";
 
     private static final int PLANS_PER_PAGE = 6;
 
@@ -114,7 +114,7 @@ public class MainPageView extends JPanel implements ActionListener, PropertyChan
     }
 
     public String getViewName() {
-        return viewName;
+        return VIEW_NAME;
     }
 
 }
@@ -6,8 +6,10 @@ import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -18,7 +20,6 @@ import javax.swing.JPanel;
 import javax.swing.JScrollPane;
 import javax.swing.JTextField;
 import javax.swing.ScrollPaneConstants;
-import javax.swing.SwingWorker;
 
 import org.json.JSONObject;
 
@@ -35,6 +36,8 @@ import view.ui_elements.Message;
  */
 public class GeneratePlanView extends JPanel implements PropertyChangeListener {
 
+    public static final String VIEW_NAME = "generate plan";
+
     private static final int USER_MESSAGE_COLUMNS = 25;
     private static final int BORDER_SIZE = 15;
     private static final int MESSAGE_BORDER_SIZE = 5;
@@ -58,6 +61,9 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
     private JButton sendButton = new JButton();
     private GeneratePlanController generatePlanController;
     private ShowPlanController showPlanController;
+    private String pendingUserMessage;
+    // the message listing the subgoals of the plan being generated, or null
+    private JPanel draftMessage;
 
     /**
      * Creates a new GeneratePlanView and binds it to the given view model.
@@ -89,12 +95,36 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
         setUpUserInputPanel();
         this.add(centerPanel, java.awt.BorderLayout.CENTER);
         setUpActionListeners();
+
+        // leaving the view abandons a plan that is still being generated
+        this.addHierarchyListener(event -> {
+            if ((event.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && !isShowing()) {
+                cancelPendingPlan();
+            }
+        });
+    }
+
+    /**
+     * Cancels the plan generation in progress, if any, and offers to try it again.
+     */
+    private void cancelPendingPlan() {
+        if (pendingUserMessage == null) {
+            return;
+        }
+        generatePlanController.cancel();
+        final String userMessage = pendingUserMessage;
+        pendingUserMessage = null;
+        sendButton.setEnabled(true);
+        sendButton.setText(GeneratePlanViewModel.SEND_BUTTON_LABEL);
+        removeDraft();
+        addResponse(GeneratePlanViewModel.CANCELLED_MESSAGE, createTryAgainButton(userMessage));
     }
 
     /**
      * Sets up the send button action listener that validates the user message,
      * appends it to the messages panel, updates the UI, and triggers plan generation
-     * in the background when a non-empty message is submitted.
+     * when a non-empty message is submitted. The use case runs in the background, so the
+     * view stays responsive until the presenter reports the result.
      */
     private void setUpActionListeners() {
         sendButton.addActionListener(new ActionListener() {
@@ -111,7 +141,8 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
                     userMessageInputField.setText("");
                     sendButton.setEnabled(false);
                     sendButton.setText(GeneratePlanViewModel.LOADING_LABEL);
-                    startGeneratePlanInBackground(message);
+                    pendingUserMessage = message;
+                    generatePlanController.execute(message);
                 }
             }
         });
@@ -180,7 +211,8 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
 
     /**
      * Handles property change events from the GeneratePlanViewModel.
-     * When the state changes, this method updates the UI with the response message,
+     * While the plan is generated, the draft subgoals received so far are listed in a single
+     * message. When the state changes, this method updates the UI with the response message,
      * and either shows a button to view the plan or to try again.
      *
      * @param evt the property change event containing the new state
@@ -189,7 +221,13 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
     public void propertyChange(PropertyChangeEvent evt) {
         final Object newState = evt.getNewValue();
 
-        if (newState instanceof GeneratePlanState) {
+        if (GeneratePlanViewModel.DRAFT_PROPERTY.equals(evt.getPropertyName())) {
+            if (pendingUserMessage != null) {
+                showDraft(((GeneratePlanState) newState).getDraftSubgoals());
+            }
+        }
+        else if (newState instanceof GeneratePlanState) {
+            pendingUserMessage = null;
             sendButton.setEnabled(true);
             sendButton.setText(GeneratePlanViewModel.SEND_BUTTON_LABEL);
             final GeneratePlanState newGeneratePlanState = (GeneratePlanState) newState;
@@ -197,41 +235,71 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
             final String responseMessage = newGeneratePlanState.getResponseMessage();
             final String userMessage = newGeneratePlanState.getUserMessage();
 
-            final JPanel content = new JPanel();
-            content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
-            content.setOpaque(false);
-
-            content.add(Message.createTextBox(responseMessage));
-            content.add(Box.createVerticalStrut(CONTENT_VERTICAL_STRUT));
             if (success) {
+                // the draft stays as a preview of the plan
+                draftMessage = null;
                 final JSONObject responseObject = newGeneratePlanState.getResponseObject();
-                content.add(createShowPlanButton(responseObject));
+                addResponse(responseMessage, createShowPlanButton(responseObject));
             }
             else {
-                content.add(createTryAgainButton(userMessage));
+                removeDraft();
+                addResponse(responseMessage, createTryAgainButton(userMessage));
             }
-            messagesPanel.add(Message.createMessage(content, false));
-            messagesPanel.revalidate();
-            messagesPanel.repaint();
-            Message.scrollToBottom(messagesContainer);
         }
     }
 
     /**
-     * Starts the generate plan use case in a background thread using SwingWorker.
-     * This keeps the UI responsive while the plan is being generated.
+     * Lists the subgoals generated so far in the draft message, adding it on the first one.
      *
-     * @param userMessage the message entered by the user to generate a plan
+     * @param draftSubgoals the subgoal JSON objects generated so far, in order
      */
-    private void startGeneratePlanInBackground(String userMessage) {
-        final SwingWorker<Void, Void> worker = new SwingWorker<Void, Void>() {
-            @Override
-            protected Void doInBackground() {
-                generatePlanController.execute(userMessage);
-                return null;
-            }
-        };
-        worker.execute();
+    private void showDraft(List<JSONObject> draftSubgoals) {
+        final StringBuilder text = new StringBuilder(GeneratePlanViewModel.DRAFT_LABEL);
+        for (int i = 0; i < draftSubgoals.size(); i++) {
+            final JSONObject subgoal = draftSubgoals.get(i);
+            text.append("<br>").append(i + 1).append(". ").append(subgoal.optString("name"))
+                    .append(" (").append(subgoal.optString("deadline")).append(')');
+        }
+        if (draftMessage == null) {
+            draftMessage = Message.createMessage(Message.createTextBox(text.toString()), false);
+            messagesPanel.add(draftMessage);
+        }
+        else {
+            Message.setMessageText(draftMessage, text.toString());
+        }
+        messagesPanel.revalidate();
+        messagesPanel.repaint();
+        Message.scrollToBottom(messagesContainer);
+    }
+
+    /**
+     * Removes the draft message of a plan that was not generated after all.
+     */
+    private void removeDraft() {
+        if (draftMessage != null) {
+            messagesPanel.remove(draftMessage);
+            draftMessage = null;
+        }
+    }
+
+    /**
+     * Appends a response message followed by an action button to the conversation.
+     *
+     * @param responseMessage the message to show
+     * @param action          the panel holding the button offered with the message
+     */
+    private void addResponse(String responseMessage, JPanel action) {
+        final JPanel content = new JPanel();
+        content.setLayout(new BoxLayout(content, BoxLayout.Y_AXIS));
+        content.setOpaque(false);
+
+        content.add(Message.createTextBox(responseMessage));
+        content.add(Box.createVerticalStrut(CONTENT_VERTICAL_STRUT));
+        content.add(action);
+        messagesPanel.add(Message.createMessage(content, false));
+        messagesPanel.revalidate();
+        messagesPanel.repaint();
+        Message.scrollToBottom(messagesContainer);
     }
 
     /**
@@ -271,7 +339,8 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
             button.setEnabled(false);
             sendButton.setEnabled(false);
             sendButton.setText(GeneratePlanViewModel.LOADING_LABEL);
-            startGeneratePlanInBackground(userMessage);
+            pendingUserMessage = userMessage;
+            generatePlanController.execute(userMessage);
         });
         panel.add(button);
         return panel;
@@ -283,7 +352,7 @@ public class GeneratePlanView extends JPanel implements PropertyChangeListener {
      * @return the view name identifier
      */
     public String getViewName() {
-        return "generate plan";
+        return VIEW_NAME;
     }
 
     /**
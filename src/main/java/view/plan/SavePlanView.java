@@ -16,7 +16,7 @@ import interface_adapter.plan.save_plan.SavePlanViewModel;
  */
 public class SavePlanView extends JPanel implements PropertyChangeListener {
 
-    private final String viewName = "save plan";
+    public static final String VIEW_NAME = "save plan";
     private final JPanel messagePanel = new JPanel();
     private final JLabel messageLabel = new JLabel();
 
@@ -54,6 +54,6 @@ public class SavePlanView extends JPanel implements PropertyChangeListener {
      * @return the view name identifier
      */
     public String getViewName() {
-        return viewName;
+        return VIEW_NAME;
     }
 }
@@ -47,7 +47,7 @@ public class ShowPlanView extends JPanel implements PropertyChangeListener {
     private static final int SUBGOAL_BACKGROUND_COLOR_COMPONENT = 245;
     private static final int DIVIDER_HEIGHT = 1;
 
-    private final String viewName = "show plan";
+    public static final String VIEW_NAME = "show plan";
     private final JScrollPane subgoalsContainer = new JScrollPane(
             ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
             ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
@@ -266,6 +266,6 @@ public class ShowPlanView extends JPanel implements PropertyChangeListener {
      * @return the view name identifier
      */
     public String getViewName() {
-        return viewName;
+        return VIEW_NAME;
     }
 }
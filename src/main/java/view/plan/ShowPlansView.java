@@ -30,7 +30,7 @@ public class ShowPlansView extends JPanel implements PropertyChangeListener {
     private static final int PANEL_WIDTH = 180;
     private static final int PANEL_HEIGHT = 120;
 
-    private final String viewName = "ShowPlansView";
+    public static final String VIEW_NAME = "ShowPlansView";
     private final ShowPlansViewModel showPlansViewModel;
     private final SavePlanViewModel savePlanViewModel;
     private final ShowSubgoalViewModel showSubgoalViewModel = new ShowSubgoalViewModel();
@@ -236,21 +236,8 @@ public class ShowPlansView extends JPanel implements PropertyChangeListener {
 
             if (choice == JOptionPane.YES_OPTION && deletePlanController != null) {
                 final ShowPlansState state = showPlansViewModel.getState();
-                final String username = state.getUsername();
-                final int currentPage = state.getCurrentPage();
-
-
-                deletePlanController.execute(plan.getId(), username);
-
-
-                try {
-                    Thread.sleep(100);
-                } catch (InterruptedException ex) {
-                    Thread.currentThread().interrupt();
-                }
-
-
-                loadPlans(username, 0);
+                // the plans are reloaded once the presenter reports the deletion
+                deletePlanController.execute(plan.getId(), state.getUsername());
             }
         });
 
@@ -330,6 +317,10 @@ public class ShowPlansView extends JPanel implements PropertyChangeListener {
             updateView();
         }
 
+        if (ShowPlansViewModel.PLAN_DELETED_PROPERTY.equals(evt.getPropertyName())) {
+            loadPlans(showPlansViewModel.getState().getUsername(), 0);
+        }
+
         if (evt.getNewValue() instanceof SavePlanState) {
             final ShowPlansState state = showPlansViewModel.getState();
             loadPlans(state.getUsername(), state.getCurrentPage());
@@ -338,7 +329,7 @@ public class ShowPlansView extends JPanel implements PropertyChangeListener {
     }
 
     public String getViewName() {
-        return viewName;
+        return VIEW_NAME;
     }
 
     public void setShowSubgoalController(ShowSubgoalController controller) {
@@ -18,7 +18,7 @@ import java.beans.PropertyChangeListener;
  * and updates its components accordingly.
  */
 public class ShowSubgoalView extends JPanel implements PropertyChangeListener {
-    private final String viewName = "show subgoal";
+    public static final String VIEW_NAME = "show subgoal";
 
     private final ShowSubgoalViewModel viewModel;
     private final JLabel nameLabel = new JLabel();
@@ -131,11 +131,13 @@ public class ShowSubgoalView extends JPanel implements PropertyChangeListener {
                     state.getErrorMessage(),
                     "Error",
                     JOptionPane.ERROR_MESSAGE);
+            // clearing it lets the same error be shown again, as the state is versioned
+            state.setErrorMessage("");
         }
     }
 
     public String getViewName() {
-        return viewName;
+        return VIEW_NAME;
     }
 
 }
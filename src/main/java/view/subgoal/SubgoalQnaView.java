@@ -11,6 +11,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.HierarchyEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.List;
@@ -21,6 +22,8 @@ import java.util.List;
 public class SubgoalQnaView extends JPanel
         implements PropertyChangeListener, ActionListener {
 
+    public static final String VIEW_NAME = "subgoal qna";
+
     private final SubgoalQnaViewModel subgoalQnaViewModel;
     private final JPanel messagesPanel = new JPanel();
     private final JScrollPane messagesScrollPane = new JScrollPane(messagesPanel);
@@ -28,6 +31,8 @@ public class SubgoalQnaView extends JPanel
     private final JButton sendButton = new JButton(SubgoalQnaViewModel.SEND_BUTTON_LABEL);
     private SubgoalQnaController subgoalQnaController;
     private String currentSubgoalId = "";
+    // the answer bubble that grows while the answer streams in, or null
+    private JPanel streamingMessage;
 
     public SubgoalQnaView(SubgoalQnaViewModel subgoalQnaViewModel) {
         this.subgoalQnaViewModel = subgoalQnaViewModel;
@@ -58,21 +63,40 @@ public class SubgoalQnaView extends JPanel
         add(inputPanel, BorderLayout.SOUTH);
 
         sendButton.addActionListener(this);
+
+        // closing the dialog abandons a question still waiting for Gemini
+        addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0 && !isShowing()) {
+                cancelPendingQuestion();
+            }
+        });
+    }
+
+    private void cancelPendingQuestion() {
+        if (subgoalQnaController != null && !sendButton.isEnabled()) {
+            subgoalQnaController.cancel();
+        }
+        sendButton.setEnabled(true);
+        sendButton.setText(SubgoalQnaViewModel.SEND_BUTTON_LABEL);
     }
 
     /**
      * Used by AppBuilder to register this view with DialogManager.
      */
     public String getViewName() {
-        return "subgoal qna";
+        return VIEW_NAME;
     }
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         final Object newState = evt.getNewValue();
 
-        if (newState instanceof SubgoalQnaState) {
+        if (SubgoalQnaViewModel.ANSWER_CHUNK_PROPERTY.equals(evt.getPropertyName())) {
+            showStreamingAnswer(((SubgoalQnaState) newState).getStreamingAnswer());
+        }
+        else if (newState instanceof SubgoalQnaState) {
             SubgoalQnaState state = (SubgoalQnaState) evt.getNewValue();
+            streamingMessage = null;
             messagesPanel.removeAll();
             showLastMessages();
             messagesPanel.revalidate();
@@ -116,7 +140,20 @@ public class SubgoalQnaView extends JPanel
         sendButton.setEnabled(false);
         sendButton.setText(SubgoalQnaViewModel.LOADING_LABEL);
         questionInput.setText("");
-        startAskQuestionInBackground(question);
+        subgoalQnaController.askQuestion(currentSubgoalId, question);
+    }
+
+    private void showStreamingAnswer(String answer) {
+        if (streamingMessage == null) {
+            streamingMessage = Message.createMessage(Message.createTextBox(answer), false);
+            messagesPanel.add(streamingMessage);
+        }
+        else {
+            Message.setMessageText(streamingMessage, answer);
+        }
+        messagesPanel.revalidate();
+        messagesPanel.repaint();
+        Message.scrollToBottom(messagesScrollPane);
     }
 
     private void showLastMessages() {
@@ -133,18 +170,6 @@ public class SubgoalQnaView extends JPanel
     }
 
 
-    private void startAskQuestionInBackground(String question) {
-        SwingWorker<Void, Void> worker = new SwingWorker<>() {
-            @Override
-            protected Void doInBackground() {
-                subgoalQnaController.askQuestion(currentSubgoalId, question);
-                return null;
-            }
-        };
-        worker.execute();
-    }
-
-
     public void setSubgoalQnaController(SubgoalQnaController subgoalQnaController) {
         this.subgoalQnaController = subgoalQnaController;
     }
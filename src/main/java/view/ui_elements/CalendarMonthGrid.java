@@ -0,0 +1,374 @@
+package view.ui_elements;
+
+import entity.subgoal.Subgoal;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A month calendar painted as one component: a row of weekday names above a fixed grid of
+ * 6 weeks by 7 days. Each day lists the subgoals due on it; a day with more subgoals than
+ * fit is scrolled with the mouse wheel. Clicking a subgoal reports its ID.
+ *
+ * <p>Nothing is created per day or per subgoal. Updating the grid compares the new subgoals
+ * of every day with the ones shown and repaints only the days that changed.</p>
+ */
+public class CalendarMonthGrid extends JComponent {
+
+    private static final int COLUMNS = 7;
+    private static final int ROWS = 6;
+    private static final int CELLS = COLUMNS * ROWS;
+    private static final String[] WEEKDAYS = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+
+    private static final int HEADER_HEIGHT = 20;
+    private static final int DAY_NUMBER_HEIGHT = 16;
+    private static final int LINE_HEIGHT = 14;
+    private static final int PADDING = 2;
+    private static final int MAX_NAME_LENGTH = 10;
+
+    private static final Font HEADER_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Font SUBGOAL_FONT = new Font("SansSerif", Font.PLAIN, 9);
+    private static final Color TEXT_COLOR = Color.BLACK;
+    private static final Color BORDER_COLOR = Color.GRAY;
+    private static final Color SELECTED_COLOR = Color.CYAN;
+    private static final Color SUBGOAL_COLOR = new Color(230, 230, 230);
+    private static final Color COMPLETED_COLOR = new Color(144, 238, 144); // Light green
+    private static final Color PRIORITY_COLOR = new Color(255, 200, 200); // Light red
+    private static final Color HOVER_OUTLINE_COLOR = new Color(70, 130, 180);
+
+    private LocalDate month = LocalDate.now().withDayOfMonth(1);
+    private LocalDate selectedDate;
+    // the subgoals shown in each cell, empty for the days outside the month
+    private final List<List<Subgoal>> cellSubgoals = new ArrayList<>(CELLS);
+    // the index of the first subgoal shown in each cell
+    private final int[] scrollOffsets = new int[CELLS];
+    private int hoverCell = -1;
+    private int hoverLine = -1;
+    private Consumer<String> subgoalClickListener = subgoalId -> { };
+
+    public CalendarMonthGrid() {
+        for (int i = 0; i < CELLS; i++) {
+            cellSubgoals.add(Collections.emptyList());
+        }
+        setOpaque(true);
+        setBackground(Color.WHITE);
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                Subgoal subgoal = subgoalAt(e.getPoint());
+                if (subgoal != null) {
+                    subgoalClickListener.accept(subgoal.getId());
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                int cell = cellAt(e.getPoint());
+                setHover(cell, lineAt(cell, e.getPoint()));
+            }
+
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHover(-1, -1);
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                int cell = cellAt(e.getPoint());
+                if (cell >= 0) {
+                    scroll(cell, e.getWheelRotation());
+                }
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+    }
+
+    /**
+     * Sets what happens when a subgoal is clicked.
+     *
+     * @param listener receives the ID of the clicked subgoal
+     */
+    public void setSubgoalClickListener(Consumer<String> listener) {
+        this.subgoalClickListener = listener;
+    }
+
+    /**
+     * Shows a month. Only the days whose subgoals or selection changed are repainted, unless
+     * the month itself changed.
+     *
+     * @param firstOfMonth   the first day of the month to show
+     * @param subgoalsByDate the subgoals of the month by deadline
+     * @param selected       the highlighted date, or null
+     */
+    public void showMonth(LocalDate firstOfMonth, Map<LocalDate, List<Subgoal>> subgoalsByDate, LocalDate selected) {
+        boolean monthChanged = !firstOfMonth.equals(month);
+        LocalDate previousSelection = selectedDate;
+        month = firstOfMonth;
+        selectedDate = selected;
+        for (int cell = 0; cell < CELLS; cell++) {
+            LocalDate date = dateOf(cell);
+            List<Subgoal> subgoals = date == null
+                    ? Collections.<Subgoal>emptyList()
+                    : subgoalsByDate.getOrDefault(date, Collections.emptyList());
+            boolean changed = !sameSubgoals(cellSubgoals.get(cell), subgoals);
+            if (changed) {
+                cellSubgoals.set(cell, new ArrayList<>(subgoals));
+                scrollOffsets[cell] = Math.min(scrollOffsets[cell], Math.max(0, subgoals.size() - 1));
+            }
+            if (monthChanged) {
+                scrollOffsets[cell] = 0;
+            }
+            else if (changed || isSelectionChange(date, previousSelection, selected)) {
+                repaint(cellBounds(cell));
+            }
+        }
+        if (monthChanged) {
+            hoverCell = -1;
+            hoverLine = -1;
+            repaint();
+        }
+    }
+
+    private static boolean isSelectionChange(LocalDate date, LocalDate before, LocalDate after) {
+        return date != null && date.equals(before) != date.equals(after);
+    }
+
+    private static boolean sameSubgoals(List<Subgoal> shown, List<Subgoal> subgoals) {
+        if (shown.size() != subgoals.size()) {
+            return false;
+        }
+        for (int i = 0; i < shown.size(); i++) {
+            Subgoal a = shown.get(i);
+            Subgoal b = subgoals.get(i);
+            if (!a.getId().equals(b.getId()) || !a.getName().equals(b.getName())
+                    || a.isCompleted() != b.isCompleted() || a.isPriority() != b.isPriority()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        if (isPreferredSizeSet()) {
+            return super.getPreferredSize();
+        }
+        return new Dimension(COLUMNS * 90, HEADER_HEIGHT + ROWS * 70);
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent e) {
+        Subgoal subgoal = subgoalAt(e.getPoint());
+        return subgoal != null ? subgoal.getName() : null;
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g2.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g2.setColor(getBackground());
+            g2.fill(clip);
+
+            if (clip.y < HEADER_HEIGHT) {
+                paintHeader(g2);
+            }
+            for (int cell = 0; cell < CELLS; cell++) {
+                Rectangle bounds = cellBounds(cell);
+                if (dateOf(cell) != null && clip.intersects(bounds)) {
+                    paintCell(g2, cell, bounds);
+                }
+            }
+        }
+        finally {
+            g2.dispose();
+        }
+    }
+
+    private void paintHeader(Graphics2D g) {
+        g.setFont(HEADER_FONT);
+        g.setColor(TEXT_COLOR);
+        FontMetrics metrics = g.getFontMetrics();
+        for (int col = 0; col < COLUMNS; col++) {
+            Rectangle bounds = cellBounds(col);
+            drawCentered(g, metrics, WEEKDAYS[col], bounds.x, bounds.width, 0, HEADER_HEIGHT);
+        }
+    }
+
+    private void paintCell(Graphics2D g, int cell, Rectangle bounds) {
+        LocalDate date = dateOf(cell);
+        g.setColor(date.equals(selectedDate) ? SELECTED_COLOR : Color.WHITE);
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setColor(BORDER_COLOR);
+        g.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+
+        g.setFont(HEADER_FONT);
+        g.setColor(TEXT_COLOR);
+        drawCentered(g, g.getFontMetrics(), String.valueOf(date.getDayOfMonth()),
+                bounds.x, bounds.width, bounds.y, DAY_NUMBER_HEIGHT);
+
+        List<Subgoal> subgoals = cellSubgoals.get(cell);
+        if (subgoals.isEmpty()) {
+            return;
+        }
+        g.setFont(SUBGOAL_FONT);
+        FontMetrics metrics = g.getFontMetrics();
+        int visible = visibleLines(bounds);
+        int first = scrollOffsets[cell];
+        for (int line = 0; line < visible && first + line < subgoals.size(); line++) {
+            int index = first + line;
+            Subgoal subgoal = subgoals.get(index);
+            Rectangle lineBounds = lineBounds(bounds, line);
+            g.setColor(colorOf(subgoal));
+            g.fillRect(lineBounds.x, lineBounds.y, lineBounds.width, lineBounds.height);
+            if (cell == hoverCell && line == hoverLine) {
+                g.setColor(HOVER_OUTLINE_COLOR);
+                g.drawRect(lineBounds.x, lineBounds.y, lineBounds.width - 1, lineBounds.height - 1);
+            }
+            g.setColor(TEXT_COLOR);
+            drawCentered(g, metrics, label(index, subgoal), lineBounds.x, lineBounds.width,
+                    lineBounds.y, lineBounds.height);
+        }
+
+        if (subgoals.size() > visible && visible > 0) {
+            // a thin scroll thumb shows which part of a long list is visible
+            int trackTop = bounds.y + DAY_NUMBER_HEIGHT;
+            int trackHeight = visible * LINE_HEIGHT;
+            int thumbHeight = Math.max(4, trackHeight * visible / subgoals.size());
+            int thumbTop = trackTop + (trackHeight - thumbHeight) * first / (subgoals.size() - visible);
+            g.setColor(BORDER_COLOR);
+            g.fillRect(bounds.x + bounds.width - PADDING - 2, thumbTop, 2, thumbHeight);
+        }
+    }
+
+    private static String label(int index, Subgoal subgoal) {
+        String name = subgoal.getName();
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH) + "…";
+        }
+        return (index + 1) + ". " + name;
+    }
+
+    private static Color colorOf(Subgoal subgoal) {
+        if (subgoal.isCompleted()) {
+            return COMPLETED_COLOR;
+        }
+        if (subgoal.isPriority()) {
+            return PRIORITY_COLOR;
+        }
+        return SUBGOAL_COLOR;
+    }
+
+    private static void drawCentered(Graphics2D g, FontMetrics metrics, String text,
+                                     int x, int width, int y, int height) {
+        int textX = x + (width - metrics.stringWidth(text)) / 2;
+        int textY = y + (height - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, Math.max(x + PADDING, textX), textY);
+    }
+
+    private void setHover(int cell, int line) {
+        if (cell == hoverCell && line == hoverLine) {
+            return;
+        }
+        if (hoverCell >= 0) {
+            repaint(cellBounds(hoverCell));
+        }
+        hoverCell = cell;
+        hoverLine = line;
+        if (cell >= 0) {
+            repaint(cellBounds(cell));
+        }
+        setCursor(line >= 0 ? Cursor.getPredefinedCursor(Cursor.HAND_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    private void scroll(int cell, int lines) {
+        int hidden = cellSubgoals.get(cell).size() - visibleLines(cellBounds(cell));
+        int offset = Math.max(0, Math.min(Math.max(0, hidden), scrollOffsets[cell] + lines));
+        if (offset != scrollOffsets[cell]) {
+            scrollOffsets[cell] = offset;
+            repaint(cellBounds(cell));
+        }
+    }
+
+    /**
+     * Returns the date shown in a cell, or null if the cell lies outside the month.
+     */
+    private LocalDate dateOf(int cell) {
+        int firstColumn = month.getDayOfWeek().getValue() % COLUMNS; // Sunday=0
+        int day = cell - firstColumn + 1;
+        if (day < 1 || day > month.lengthOfMonth()) {
+            return null;
+        }
+        return month.withDayOfMonth(day);
+    }
+
+    private Rectangle cellBounds(int cell) {
+        int col = cell % COLUMNS;
+        int row = cell / COLUMNS;
+        int gridHeight = Math.max(0, getHeight() - HEADER_HEIGHT);
+        int x0 = col * getWidth() / COLUMNS;
+        int x1 = (col + 1) * getWidth() / COLUMNS;
+        int y0 = HEADER_HEIGHT + row * gridHeight / ROWS;
+        int y1 = HEADER_HEIGHT + (row + 1) * gridHeight / ROWS;
+        return new Rectangle(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    private static int visibleLines(Rectangle cellBounds) {
+        return Math.max(0, (cellBounds.height - DAY_NUMBER_HEIGHT - PADDING) / LINE_HEIGHT);
+    }
+
+    private static Rectangle lineBounds(Rectangle cellBounds, int line) {
+        return new Rectangle(cellBounds.x + PADDING, cellBounds.y + DAY_NUMBER_HEIGHT + line * LINE_HEIGHT,
+                cellBounds.width - 3 * PADDING - 2, LINE_HEIGHT - 1);
+    }
+
+    private int cellAt(Point point) {
+        if (point.y < HEADER_HEIGHT || getWidth() == 0 || getHeight() <= HEADER_HEIGHT) {
+            return -1;
+        }
+        int col = Math.min(COLUMNS - 1, point.x * COLUMNS / getWidth());
+        int row = Math.min(ROWS - 1, (point.y - HEADER_HEIGHT) * ROWS / (getHeight() - HEADER_HEIGHT));
+        int cell = row * COLUMNS + col;
+        return dateOf(cell) != null ? cell : -1;
+    }
+
+    /**
+     * Returns the visible line of a cell under a point, or -1 if the point is not on a subgoal.
+     */
+    private int lineAt(int cell, Point point) {
+        if (cell < 0) {
+            return -1;
+        }
+        Rectangle bounds = cellBounds(cell);
+        int line = (point.y - bounds.y - DAY_NUMBER_HEIGHT) / LINE_HEIGHT;
+        if (point.y < bounds.y + DAY_NUMBER_HEIGHT || line >= visibleLines(bounds)
+                || scrollOffsets[cell] + line >= cellSubgoals.get(cell).size()
+                || !lineBounds(bounds, line).contains(point)) {
+            return -1;
+        }
+        return line;
+    }
+
+    private Subgoal subgoalAt(Point point) {
+        int cell = cellAt(point);
+        int line = lineAt(cell, point);
+        return line < 0 ? null : cellSubgoals.get(cell).get(scrollOffsets[cell] + line);
+    }
+}
@@ -17,12 +17,7 @@ public class Message {
         panel.setOpaque(false);
 
 
-        String wrappedHtml =
-                "<html><div style='width:200px;'>" +
-                        messageText +
-                        "</div></html>";
-
-        JLabel message = new JLabel(wrappedHtml, SwingConstants.LEFT);
+        JLabel message = new JLabel(wrapHtml(messageText), SwingConstants.LEFT);
         message.setForeground(Color.WHITE);
         message.setFont(message.getFont().deriveFont(13f));
 
@@ -48,18 +43,45 @@ public class Message {
 
         messageBox.add(messageBoxContent);
 
+        fitMessageBox(messageBox);
+
+        return messageBox;
+    }
 
+    /**
+     * Replaces the text of a message created from a text box and resizes its bubble,
+     * so a message can grow while its text is still arriving.
+     */
+    public static void setMessageText(JPanel message, String messageText) {
+        for (Component child : message.getComponents()) {
+            if (child instanceof JPanel) {
+                JPanel messageBox = (JPanel) child;
+                JPanel textBox = (JPanel) messageBox.getComponent(0);
+                ((JLabel) textBox.getComponent(0)).setText(wrapHtml(messageText));
+                fitMessageBox(messageBox);
+                message.revalidate();
+            }
+        }
+    }
+
+    private static String wrapHtml(String messageText) {
+        return "<html><div style='width:200px;'>" +
+                messageText +
+                "</div></html>";
+    }
+
+    private static void fitMessageBox(JPanel messageBox) {
         int bubbleMaxWidth = 240;
 
-        messageBoxContent.revalidate();
+        messageBox.setMaximumSize(null);
+        messageBox.getComponent(0).invalidate();
+        messageBox.invalidate();
         Dimension preferred = messageBox.getPreferredSize();
 
 
         preferred.width = Math.min(preferred.width, bubbleMaxWidth);
 
         messageBox.setMaximumSize(new Dimension(preferred.width, preferred.height));
-
-        return messageBox;
     }
 
     public static void scrollToBottom(JScrollPane scroll) {
@@ -0,0 +1,76 @@
+package view.ui_elements;
+
+import entity.subgoal.Subgoal;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A list model of subgoals, such as the upcoming subgoals loaded so far or filter results.
+ * Upcoming subgoals are loaded one page at a time as the list is scrolled close to its end;
+ * showing a list that only adds rows to the ones shown, as a new page does, adds just those
+ * rows, so the selection and scroll position are kept.
+ *
+ * <p>Rows are the subgoals themselves, so two subgoals with the same name and deadline stay
+ * apart.</p>
+ */
+public class SubgoalListModel extends AbstractListModel<Subgoal> {
+
+    // how close to the last loaded row the list may scroll before the next page is loaded
+    private static final int PREFETCH_ROWS = 20;
+
+    private final List<Subgoal> rows = new ArrayList<>();
+
+    /**
+     * Shows a list of subgoals.
+     *
+     * @param subgoals the subgoals to show, in order
+     */
+    public void showSubgoals(List<Subgoal> subgoals) {
+        int oldSize = rows.size();
+        if (subgoals.size() > oldSize && subgoals.subList(0, oldSize).equals(rows)) {
+            rows.addAll(subgoals.subList(oldSize, subgoals.size()));
+            fireIntervalAdded(this, oldSize, rows.size() - 1);
+            return;
+        }
+        replaceRows(subgoals);
+    }
+
+    /**
+     * Returns whether the given row is close enough to the last row that the next page
+     * should be loaded.
+     *
+     * @param lastVisibleRow the index of the last row on screen
+     * @return true if the list is scrolled close to its end
+     */
+    public boolean isNearEnd(int lastVisibleRow) {
+        return lastVisibleRow >= rows.size() - PREFETCH_ROWS;
+    }
+
+    private void replaceRows(List<Subgoal> subgoals) {
+        int oldSize = rows.size();
+        rows.clear();
+        rows.addAll(subgoals);
+        int newSize = rows.size();
+        if (oldSize > newSize) {
+            fireIntervalRemoved(this, newSize, oldSize - 1);
+        }
+        else if (newSize > oldSize) {
+            fireIntervalAdded(this, oldSize, newSize - 1);
+        }
+        if (Math.min(oldSize, newSize) > 0) {
+            fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return rows.size();
+    }
+
+    @Override
+    public Subgoal getElementAt(int index) {
+        return rows.get(index);
+    }
+}
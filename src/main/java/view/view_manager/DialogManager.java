@@ -7,10 +7,13 @@ import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public class DialogManager implements PropertyChangeListener {
     private final HashMap<String, JPanel> dialogViews;
     private final DialogManagerModel dialogManagerModel;
+    private final Map<String, Supplier<? extends JPanel>> viewFactories = new HashMap<>();
 
     public DialogManager(HashMap<String, JPanel> dialogViews,
                          DialogManagerModel dialogManagerModel) {
@@ -21,10 +24,24 @@ public class DialogManager implements PropertyChangeListener {
 
     }
 
+    /**
+     * Registers a dialog view that is built the first time it is opened.
+     *
+     * @param viewName the name the dialog is opened by
+     * @param factory  builds the view
+     */
+    public void registerView(String viewName, Supplier<? extends JPanel> factory) {
+        viewFactories.put(viewName, factory);
+    }
+
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("state")) {
             final String dialogViewModelName = (String) evt.getNewValue();
+            final Supplier<? extends JPanel> factory = viewFactories.remove(dialogViewModelName);
+            if (factory != null) {
+                dialogViews.put(dialogViewModelName, factory.get());
+            }
             createDialog(dialogViews.get(dialogViewModelName));
         }
     }
@@ -7,9 +7,12 @@ import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 public class PartialViewManager implements PropertyChangeListener {
     private final HashMap<String, JPanel> views;
+    private final Map<String, Supplier<? extends JPanel>> viewFactories = new HashMap<>();
     private final PartialViewModel partialViewModel;
     private JPanel contentPane;
 
@@ -21,19 +24,49 @@ public class PartialViewManager implements PropertyChangeListener {
         partialViewModel.addPropertyChangeListener(this);
     }
 
+    /**
+     * Sets the panel partial views are shown in and shows the current one.
+     *
+     * @param contentPane the panel to show partial views in
+     */
     public void setContentPane(JPanel contentPane) {
         this.contentPane = contentPane;
+        show(partialViewModel.getState());
     }
 
+    /**
+     * Registers a partial view that is built the first time it is shown.
+     *
+     * @param viewName the name the view is shown by
+     * @param factory  builds the view
+     */
+    public void registerView(String viewName, Supplier<? extends JPanel> factory) {
+        viewFactories.put(viewName, factory);
+    }
 
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("state")) {
-            final String viewModelName = (String) evt.getNewValue();
-            contentPane.removeAll();
-            contentPane.add(views.get(viewModelName), BorderLayout.CENTER);
-            contentPane.revalidate();
-            contentPane.repaint();
+            show((String) evt.getNewValue());
+        }
+    }
+
+    private void show(String viewModelName) {
+        // until the content pane exists, the view is shown once it is set
+        if (contentPane == null) {
+            return;
+        }
+        final Supplier<? extends JPanel> factory = viewFactories.remove(viewModelName);
+        if (factory != null) {
+            views.put(viewModelName, factory.get());
+        }
+        final JPanel view = views.get(viewModelName);
+        if (view == null) {
+            return;
         }
+        contentPane.removeAll();
+        contentPane.add(view, BorderLayout.CENTER);
+        contentPane.revalidate();
+        contentPane.repaint();
     }
 }
@@ -6,15 +6,20 @@ import javax.swing.*;
 import java.awt.*;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 
 /**
  * The View Manager for the program. It listens for property change events
  * in the ViewManagerModel and updates which View should be visible.
+ * Views registered with a factory are only built the first time they are shown.
  */
 public class ViewManager implements PropertyChangeListener {
     private final CardLayout cardLayout;
     private final JPanel views;
     private final ViewManagerModel viewManagerModel;
+    private final Map<String, Supplier<? extends JPanel>> viewFactories = new HashMap<>();
 
     public ViewManager(JPanel views, CardLayout cardLayout, ViewManagerModel viewManagerModel) {
         this.views = views;
@@ -23,10 +28,24 @@ public class ViewManager implements PropertyChangeListener {
         this.viewManagerModel.addPropertyChangeListener(this);
     }
 
+    /**
+     * Registers a view that is built and added to the card panel the first time it is shown.
+     *
+     * @param viewName the name the view is shown by
+     * @param factory  builds the view
+     */
+    public void registerView(String viewName, Supplier<? extends JPanel> factory) {
+        viewFactories.put(viewName, factory);
+    }
+
     @Override
     public void propertyChange(PropertyChangeEvent evt) {
         if (evt.getPropertyName().equals("state")) {
             final String viewModelName = (String) evt.getNewValue();
+            final Supplier<? extends JPanel> factory = viewFactories.remove(viewModelName);
+            if (factory != null) {
+                views.add(factory.get(), viewModelName);
+            }
             cardLayout.show(views, viewModelName);
         }
     }
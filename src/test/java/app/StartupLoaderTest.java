@@ -0,0 +1,68 @@
+package app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StartupLoaderTest {
+
+    @Test
+    void loadsRunInParallelTest() {
+        final StartupLoader loader = new StartupLoader();
+        final CountDownLatch bothStarted = new CountDownLatch(2);
+        final Supplier<Boolean> waitForTheOther = () -> {
+            bothStarted.countDown();
+            try {
+                return bothStarted.await(5, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        };
+
+        final Deferred<Boolean> first = loader.load("first", waitForTheOther);
+        final Deferred<Boolean> second = loader.load("second", waitForTheOther);
+
+        assertTrue(first.get());
+        assertTrue(second.get());
+    }
+
+    @Test
+    void interfaceWaitsForTheLoadTest() {
+        final StartupLoader loader = new StartupLoader();
+        final CountDownLatch release = new CountDownLatch(1);
+        final Deferred<StringBuilder> deferred = loader.load("text", () -> {
+            try {
+                release.await();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return new StringBuilder("loaded");
+        });
+
+        final CharSequence text = deferred.as(CharSequence.class);
+        assertFalse(deferred.isDone());
+        release.countDown();
+
+        assertEquals(6, text.length());
+        assertTrue(deferred.isDone());
+    }
+
+    @Test
+    void failedLoadIsRethrownOnUseTest() {
+        final StartupLoader loader = new StartupLoader();
+        final Deferred<CharSequence> deferred = loader.load("broken", () -> {
+            throw new IllegalArgumentException("broken file");
+        });
+
+        final IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> deferred.as(CharSequence.class).length());
+        assertEquals("broken file", ex.getMessage());
+    }
+}
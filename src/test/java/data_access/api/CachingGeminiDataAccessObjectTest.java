@@ -0,0 +1,115 @@
+package data_access.api;
+
+import data_access.file.FileGeminiResponseCache;
+import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
+import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CachingGeminiDataAccessObjectTest {
+
+    /**
+     * Gateway double that counts requests and answers with the configured responses.
+     */
+    private static class CountingGateway
+            implements GeneratePlanDataAccessInterface, SubgoalQnaGeminiDataAccessInterface {
+        int planCalls;
+        int answerCalls;
+        boolean planSucceeds = true;
+        String answer = "Practice daily.";
+
+        @Override
+        public JSONObject getPlan(String userMessage) {
+            planCalls++;
+            JSONObject plan = new JSONObject().put("name", userMessage).put("description", "")
+                    .put("subgoals", new JSONArray().put(new JSONObject().put("name", "Step")));
+            return new JSONObject().put("success", planSucceeds).put("responseMessage", "")
+                    .put("responseObject", plan);
+        }
+
+        @Override
+        public String getAnswerForQuestion(String question) {
+            answerCalls++;
+            return answer;
+        }
+    }
+
+    private final CountingGateway gateway = new CountingGateway();
+    private final FileGeminiResponseCache cache = new FileGeminiResponseCache(null, 10, Duration.ofDays(1));
+    private final CachingGeminiDataAccessObject cachingGateway =
+            new CachingGeminiDataAccessObject(gateway, gateway, cache);
+
+    @Test
+    void repeatedQuestionIsAnsweredFromCacheTest() {
+        assertEquals("Practice daily.", cachingGateway.getAnswerForQuestion("How do I   start?"));
+        assertEquals("Practice daily.", cachingGateway.getAnswerForQuestion("  how do I start?\n"));
+
+        assertEquals(1, gateway.answerCalls, "prompts differing only in case and whitespace share a response");
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void streamedAnswerHitIsDeliveredAsOneChunkTest() {
+        cachingGateway.getAnswerForQuestion("How do I start?");
+        List<String> chunks = new ArrayList<>();
+        String answer = cachingGateway.streamAnswerForQuestion("How do I start?", chunks::add).join();
+
+        assertEquals("Practice daily.", answer);
+        assertEquals(List.of("Practice daily."), chunks);
+        assertEquals(1, gateway.answerCalls);
+    }
+
+    @Test
+    void failuresAreNotCachedTest() {
+        gateway.answer = "Sorry, I couldn't get an answer from Gemini right now.";
+        cachingGateway.getAnswerForQuestion("How do I start?");
+        cachingGateway.getAnswerForQuestion("How do I start?");
+        assertEquals(2, gateway.answerCalls);
+
+        gateway.planSucceeds = false;
+        cachingGateway.getPlan("Learn guitar");
+        cachingGateway.getPlan("Learn guitar");
+        assertEquals(2, gateway.planCalls);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void streamedPlanHitReplaysSubgoalsTest() {
+        cachingGateway.getPlan("Learn guitar");
+        List<JSONObject> subgoals = new ArrayList<>();
+        JSONObject plan = cachingGateway.streamPlan("learn guitar", subgoals::add).join();
+
+        assertTrue(plan.getBoolean("success"));
+        assertEquals(1, subgoals.size());
+        assertEquals(1, gateway.planCalls);
+    }
+
+    @Test
+    void cancellingMissCancelsRequestTest() {
+        CompletableFuture<String> request = new CompletableFuture<>();
+        SubgoalQnaGeminiDataAccessInterface slowGateway = new SubgoalQnaGeminiDataAccessInterface() {
+            @Override
+            public String getAnswerForQuestion(String question) {
+                throw new AssertionError("the asynchronous path should be used");
+            }
+
+            @Override
+            public CompletableFuture<String> getAnswerForQuestionAsync(String question) {
+                return request;
+            }
+        };
+        CachingGeminiDataAccessObject caching = new CachingGeminiDataAccessObject(gateway, slowGateway, cache);
+
+        caching.getAnswerForQuestionAsync("How do I start?").cancel(true);
+        assertTrue(request.isCancelled());
+    }
+}
@@ -0,0 +1,86 @@
+package data_access.api;
+
+import data_access.interfaces.plan.GeneratePlanDataAccessInterface;
+import data_access.interfaces.subgoal.SubgoalQnaGeminiDataAccessInterface;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoalescingGeminiDataAccessObjectTest {
+
+    /**
+     * Gateway double whose streamed answers are completed by the test.
+     */
+    private static class ManualGateway implements GeneratePlanDataAccessInterface, SubgoalQnaGeminiDataAccessInterface {
+        final List<CompletableFuture<String>> requests = new ArrayList<>();
+        final List<Consumer<String>> streams = new ArrayList<>();
+
+        @Override
+        public JSONObject getPlan(String userMessage) {
+            return new JSONObject().put("success", false);
+        }
+
+        @Override
+        public String getAnswerForQuestion(String question) {
+            throw new AssertionError("the streaming path should be used");
+        }
+
+        @Override
+        public CompletableFuture<String> streamAnswerForQuestion(String question, Consumer<String> onChunk) {
+            CompletableFuture<String> request = new CompletableFuture<>();
+            requests.add(request);
+            streams.add(onChunk);
+            return request;
+        }
+    }
+
+    private final ManualGateway gateway = new ManualGateway();
+    private final CoalescingGeminiDataAccessObject coalescing = new CoalescingGeminiDataAccessObject(gateway, gateway);
+
+    @Test
+    void identicalRequestsShareOneCallTest() {
+        StringBuilder first = new StringBuilder();
+        StringBuilder second = new StringBuilder();
+        CompletableFuture<String> firstAnswer = coalescing.streamAnswerForQuestion("How do I start?", first::append);
+        gateway.streams.get(0).accept("Start ");
+        CompletableFuture<String> secondAnswer = coalescing.streamAnswerForQuestion("how do I  start?", second::append);
+        gateway.streams.get(0).accept("small.");
+        gateway.requests.get(0).complete("Start small.");
+
+        assertEquals(1, gateway.requests.size());
+        assertEquals("Start small.", firstAnswer.join());
+        assertEquals("Start small.", secondAnswer.join());
+        assertEquals("Start small.", first.toString());
+        assertEquals("Start small.", second.toString(), "a late caller is replayed the pieces it missed");
+
+        coalescing.getAnswerForQuestionAsync("How do I start?");
+        assertEquals(2, gateway.requests.size(), "a finished request is not shared with later ones");
+    }
+
+    @Test
+    void differentRequestsAreNotSharedTest() {
+        coalescing.getAnswerForQuestionAsync("How do I start?");
+        coalescing.getAnswerForQuestionAsync("How do I finish?");
+        assertEquals(2, gateway.requests.size());
+    }
+
+    @Test
+    void sharedCallIsCancelledOnlyWhenEveryCallerCancelsTest() {
+        CompletableFuture<String> first = coalescing.getAnswerForQuestionAsync("How do I start?");
+        CompletableFuture<String> second = coalescing.getAnswerForQuestionAsync("How do I start?");
+
+        first.cancel(true);
+        assertFalse(gateway.requests.get(0).isCancelled());
+        second.cancel(true);
+        assertTrue(gateway.requests.get(0).isCancelled());
+
+        coalescing.getAnswerForQuestionAsync("How do I start?");
+        assertEquals(2, gateway.requests.size(), "an abandoned request is not joined");
+    }
+}
@@ -0,0 +1,269 @@
+package data_access.api;
+
+import com.google.genai.Client;
+import com.google.genai.types.HttpOptions;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Gemini gateway against a local fake model server that answers with scripted
+ * errors and delays.
+ */
+public class GeminiApiDataAccessObjectResilienceTest {
+
+    private static final String ANSWER = "{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"Start small.\"}],"
+            + "\"role\":\"model\"}}]}";
+
+    /**
+     * A scripted reply of the fake server.
+     */
+    private static final class Reply {
+        final int status;
+        final long delayMillis;
+
+        Reply(int status, long delayMillis) {
+            this.status = status;
+            this.delayMillis = delayMillis;
+        }
+    }
+
+    private final ConcurrentLinkedQueue<Reply> script = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    // when set, streams send two chunks and then stall for a second before they end
+    private volatile boolean stallStreams;
+    private final CountDownLatch stalledStreamEnded = new CountDownLatch(1);
+    private HttpServer server;
+    private Client client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+        client = Client.builder().apiKey("test")
+                .httpOptions(HttpOptions.builder()
+                        .baseUrl("http://127.0.0.1:" + server.getAddress().getPort()).build())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requests.incrementAndGet();
+        if (stallStreams && exchange.getRequestURI().toString().contains("streamGenerateContent")) {
+            stall(exchange);
+            return;
+        }
+        final Reply reply = script.poll();
+        if (reply != null && reply.delayMillis > 0) {
+            try {
+                Thread.sleep(reply.delayMillis);
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        final String body;
+        final int status;
+        if (reply != null && reply.status != 200) {
+            status = reply.status;
+            body = "{\"error\":{\"code\":" + status + ",\"message\":\"injected\",\"status\":\"INJECTED\"}}";
+        }
+        else if (exchange.getRequestURI().toString().contains("streamGenerateContent")) {
+            status = 200;
+            body = "data: " + ANSWER.replace("Start small.", "Start ") + "\n\n"
+                    + "data: " + ANSWER.replace("Start small.", "small.") + "\n\n";
+        }
+        else {
+            status = 200;
+            body = ANSWER;
+        }
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private void stall(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, 0);
+        final OutputStream out = exchange.getResponseBody();
+        try {
+            // the client reads one chunk ahead, so the first one is passed on once the second arrives
+            out.write(("data: " + ANSWER.replace("Start small.", "Start ") + "\n\n"
+                    + "data: " + ANSWER.replace("Start small.", "small.") + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+            for (int i = 0; i < 20; i++) {
+                Thread.sleep(50);
+                out.write("\n".getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        }
+        catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        finally {
+            exchange.close();
+            stalledStreamEnded.countDown();
+        }
+    }
+
+    private void script(int... statuses) {
+        for (int status : statuses) {
+            script.add(new Reply(status, 0));
+        }
+    }
+
+    private ResilientRequestExecutor executor(double requestsPerSecond, int maxAttempts,
+                                              int failureThreshold, Duration openDuration) {
+        return new ResilientRequestExecutor(new TokenBucket(requestsPerSecond, 1, Clock.systemUTC()),
+                new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()),
+                maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50), new Random(1));
+    }
+
+    @Test
+    void rateLimitAndServerErrorsAreRetriedTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 4, 10, Duration.ofSeconds(30)));
+        script(429, 503);
+
+        assertEquals("Start small.", gemini.getAnswerForQuestion("How do I start?"));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void clientErrorIsNotRetriedTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 4, 10, Duration.ofSeconds(30)));
+        script(400);
+
+        String answer = gemini.getAnswerForQuestion("How do I start?");
+        assertTrue(GeminiApiDataAccessObject.isFallbackAnswer(answer));
+        assertFalse(answer.contains("not available"), "a refused request does not mean Gemini is down");
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void retriesGiveUpAfterMaxAttemptsTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 3, 10, Duration.ofSeconds(30)));
+        script(503, 503, 503, 503);
+
+        JSONObject plan = gemini.getPlan("Learn Spanish");
+        assertFalse(plan.getBoolean("success"));
+        assertTrue(plan.getString("responseMessage").contains("not available"));
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void circuitOpensAndRecoversTest() throws InterruptedException {
+        ResilientRequestExecutor executor = executor(100, 1, 3, Duration.ofMillis(300));
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client, executor);
+        script(503, 503, 503);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(GeminiApiDataAccessObject.isFallbackAnswer(gemini.getAnswerForQuestion("Question " + i)));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, executor.getCircuitState());
+
+        // while the circuit is open, requests fail without reaching the server
+        String answer = gemini.getAnswerForQuestion("Question 3");
+        assertTrue(answer.contains("not available"));
+        assertEquals(3, requests.get());
+
+        Thread.sleep(350);
+        assertEquals("Start small.", gemini.getAnswerForQuestion("Question 4"));
+        assertEquals(CircuitBreaker.State.CLOSED, executor.getCircuitState());
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void requestsAreSpacedByRateLimitTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(10, 1, 10, Duration.ofSeconds(30)));
+        long start = System.nanoTime();
+        List<CompletableFuture<String>> answers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            answers.add(gemini.getAnswerForQuestionAsync("Question " + i));
+        }
+        for (CompletableFuture<String> answer : answers) {
+            assertEquals("Start small.", answer.join());
+        }
+
+        // one request may go right away, the other three wait 100 ms each
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 290);
+        assertEquals(4, requests.get());
+    }
+
+    @Test
+    void slowServerTimesOutTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 4, 10, Duration.ofSeconds(30)));
+        gemini.setRequestTimeout(Duration.ofMillis(200));
+        script.add(new Reply(200, 2000));
+
+        String answer = gemini.getAnswerForQuestion("How do I start?");
+        assertTrue(GeminiApiDataAccessObject.isFallbackAnswer(answer));
+        assertTrue(answer.contains("too long"));
+    }
+
+    @Test
+    void streamIsRetriedUntilItStartsTest() {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 4, 10, Duration.ofSeconds(30)));
+        script.add(new Reply(503, 50));
+        List<String> chunks = new ArrayList<>();
+
+        assertEquals("Start small.", gemini.streamAnswerForQuestion("How do I start?", chunks::add).join());
+        assertEquals(List.of("Start ", "small."), chunks);
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void cancellingStalledStreamDoesNotWaitForItTest() throws InterruptedException {
+        GeminiApiDataAccessObject gemini = new GeminiApiDataAccessObject(client,
+                executor(100, 1, 10, Duration.ofSeconds(30)));
+        stallStreams = true;
+        List<String> chunks = new CopyOnWriteArrayList<>();
+        CountDownLatch firstChunk = new CountDownLatch(1);
+
+        CompletableFuture<String> answer = gemini.streamAnswerForQuestion("How do I start?", chunk -> {
+            chunks.add(chunk);
+            firstChunk.countDown();
+        });
+        assertTrue(firstChunk.await(5, TimeUnit.SECONDS));
+        answer.cancel(true);
+
+        assertEquals(1, stalledStreamEnded.getCount(), "cancelling waited for the stream to end");
+        assertTrue(stalledStreamEnded.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("Start "), chunks);
+    }
+}
@@ -0,0 +1,60 @@
+package data_access.api;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlanStreamParserTest {
+
+    private static final String PLAN = "```json\n"
+            + "{\"name\": \"Learn {guitar}\", \"description\": \"Say \\\"hi\\\" [daily]\", \"subgoals\": [\n"
+            + "  {\"name\": \"Buy a guitar\", \"description\": \"}{ not a brace\", \"deadline\": \"2030-01-01\"},\n"
+            + "  {\"name\": \"Learn chords\", \"description\": \"A, D, E\", \"deadline\": \"2030-02-01\"}\n"
+            + "]}\n"
+            + "```";
+
+    @Test
+    void reportsEachSubgoalAsSoonAsItIsCompleteTest() {
+        List<String> names = new ArrayList<>();
+        List<Integer> reportedAt = new ArrayList<>();
+        PlanStreamParser parser = new PlanStreamParser(subgoal -> names.add(subgoal.getString("name")));
+
+        for (int i = 0; i < PLAN.length(); i++) {
+            int before = names.size();
+            parser.append(PLAN.substring(i, i + 1));
+            if (names.size() > before) {
+                reportedAt.add(i);
+            }
+        }
+
+        assertEquals(List.of("Buy a guitar", "Learn chords"), names);
+        assertEquals(PLAN.indexOf("\"2030-01-01\"}") + "\"2030-01-01\"}".length() - 1, reportedAt.get(0),
+                "the first subgoal should be reported at its closing brace");
+        JSONObject plan = parser.result();
+        assertEquals("Learn {guitar}", plan.getString("name"));
+        assertEquals("Say \"hi\" [daily]", plan.getString("description"));
+        assertEquals(2, plan.getJSONArray("subgoals").length());
+    }
+
+    @Test
+    void parsesWholeResponseInOneChunkTest() {
+        JSONObject plan = new PlanStreamParser(subgoal -> { }).append(PLAN).result();
+        assertEquals("Learn chords", plan.getJSONArray("subgoals").getJSONObject(1).getString("name"));
+    }
+
+    @Test
+    void incompleteResponseHasNoResultTest() {
+        List<JSONObject> subgoals = new ArrayList<>();
+        PlanStreamParser parser = new PlanStreamParser(subgoals::add);
+        parser.append(PLAN.substring(0, PLAN.indexOf("Learn chords")));
+
+        assertEquals(1, subgoals.size());
+        assertThrows(JSONException.class, parser::result);
+        assertThrows(JSONException.class, () -> new PlanStreamParser(s -> { }).append("no json here").result());
+    }
+}
@@ -0,0 +1,292 @@
+package data_access.file;
+
+import entity.plan.Plan;
+import entity.subgoal.Subgoal;
+import entity.subgoal.SubgoalBuilder;
+import entity.subgoal.SubgoalQuestionAnswer;
+import entity.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Stress tests for the file stores when they are shared between threads, as they are between
+ * the EDT and the SwingWorkers that run interactors.
+ */
+public class FileDataAccessConcurrencyTest {
+
+    private static final int WRITERS = 8;
+    private static final int READERS = 4;
+    private static final int PER_WRITER = 200;
+    private static final String USER = "alice";
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * Runs the writer tasks together with reader threads that keep querying until every
+     * writer is done, and fails on any exception or inconsistent read.
+     */
+    private static void runConcurrently(List<Runnable> writers, Runnable reader) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(writers.size() + READERS);
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch writersDone = new CountDownLatch(writers.size());
+        AtomicBoolean running = new AtomicBoolean(true);
+        for (Runnable writer : writers) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    writer.run();
+                }
+                catch (Throwable ex) {
+                    errors.add(ex);
+                }
+                finally {
+                    writersDone.countDown();
+                }
+            });
+        }
+        for (int i = 0; i < READERS; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    while (running.get()) {
+                        reader.run();
+                    }
+                }
+                catch (Throwable ex) {
+                    errors.add(ex);
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(writersDone.await(60, TimeUnit.SECONDS), "writers did not finish");
+        running.set(false);
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS), "readers did not finish");
+        if (!errors.isEmpty()) {
+            fail("Concurrent access failed: " + errors.peek(), errors.peek());
+        }
+    }
+
+    private static Subgoal subgoal(int writer, int i) {
+        return new SubgoalBuilder()
+                .setId("s-" + writer + "-" + i)
+                .setPlanId("plan-" + writer)
+                .setUsername(USER)
+                .setName("Task " + writer + " " + i)
+                .setDescription("Step " + i + " of plan " + writer)
+                .setDeadline(START.plusDays(i % 60))
+                .build();
+    }
+
+    private static void checkSubgoalReads(FileSubgoalDataAccessObject store) {
+        for (Subgoal subgoal : store.getSubgoalsByUsername(USER)) {
+            assertNotNull(subgoal);
+        }
+        for (Subgoal subgoal : store.getCompletedSubgoals(USER)) {
+            assertTrue(subgoal.isCompleted(), "completed index holds an incomplete subgoal");
+        }
+        for (Subgoal subgoal : store.getPrioritySubgoals(USER)) {
+            assertTrue(subgoal.isPriority(), "priority index holds a non-priority subgoal");
+        }
+        LocalDate to = START.plusDays(6);
+        for (Subgoal subgoal : store.getSubgoalsInRange(USER, START, to)) {
+            assertFalse(subgoal.getDeadline().isAfter(to), "range query returned a later deadline");
+        }
+        for (Subgoal subgoal : store.searchSubgoals("task 3", USER)) {
+            assertNotNull(subgoal, "search returned an ID missing from the store");
+        }
+        assertTrue(store.getUpcomingSubgoals(USER, START, null, 20).size() <= 20);
+    }
+
+    @Test
+    void concurrentSubgoalSavesUpdatesAndReadsTest() throws Exception {
+        Path file = tempDir.resolve("subgoals.json");
+        Files.writeString(file, "[]");
+        FileSubgoalDataAccessObject store = new FileSubgoalDataAccessObject(file.toString(), new SubgoalBuilder());
+        store.enableJournal(100);
+        store.setFlushLatency(1);
+
+        List<Runnable> savers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            savers.add(() -> {
+                for (int i = 0; i < PER_WRITER; i++) {
+                    store.saveSubgoal(subgoal(writer, i));
+                }
+            });
+        }
+        runConcurrently(savers, () -> checkSubgoalReads(store));
+        assertEquals(WRITERS * PER_WRITER, store.getSubgoalsByUsername(USER).size(), "lost saves");
+
+        // half of the writers set completed and the other half priority on the same subgoals;
+        // each update copies the current subgoal, so without serialized writers one flag is lost
+        List<Runnable> updaters = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            boolean completing = w % 2 == 0;
+            int offset = w / 2;
+            updaters.add(() -> {
+                for (int writer = 0; writer < WRITERS; writer++) {
+                    for (int i = offset; i < PER_WRITER; i += WRITERS / 2) {
+                        String id = "s-" + writer + "-" + i;
+                        if (completing) {
+                            store.updateCompleted(id, true);
+                        }
+                        else {
+                            store.updatePriority(id, true);
+                        }
+                    }
+                }
+            });
+        }
+        runConcurrently(updaters, () -> checkSubgoalReads(store));
+
+        for (Subgoal subgoal : store.getSubgoalsByUsername(USER)) {
+            assertTrue(subgoal.isCompleted() && subgoal.isPriority(), "lost update on " + subgoal.getId());
+        }
+        assertEquals(WRITERS * PER_WRITER, store.getCompletedSubgoals(USER).size());
+        assertEquals(WRITERS * PER_WRITER, store.getPrioritySubgoals(USER).size());
+        assertTrue(store.getIncompleteSubgoals(USER).isEmpty());
+
+        store.flush();
+        FileSubgoalDataAccessObject reloaded = new FileSubgoalDataAccessObject(file.toString(), new SubgoalBuilder());
+        assertEquals(WRITERS * PER_WRITER, reloaded.getCompletedSubgoals(USER).size(), "lost persisted updates");
+        assertEquals(WRITERS * PER_WRITER, reloaded.getPrioritySubgoals(USER).size(), "lost persisted updates");
+    }
+
+    @Test
+    void concurrentPlanSavesAndReadsTest() throws Exception {
+        Path file = tempDir.resolve("plans.json");
+        Files.writeString(file, "[]");
+        FilePlanDataAccessObject store = new FilePlanDataAccessObject(file.toString());
+        store.enableJournal(100);
+        store.setFlushLatency(1);
+
+        List<Runnable> savers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            savers.add(() -> {
+                for (int i = 0; i < PER_WRITER; i++) {
+                    store.savePlan(new Plan("p-" + writer + "-" + i, "Plan " + i, "Description", USER));
+                    if (i % 10 == 0) {
+                        store.deletePlan("p-" + writer + "-" + (i / 2));
+                    }
+                }
+            });
+        }
+        runConcurrently(savers, () -> {
+            List<Plan> plans = store.getPlansByUsername(USER);
+            for (Plan plan : plans) {
+                assertNotNull(plan);
+            }
+            assertTrue(store.getPlansByUsername(USER, 0, 10).size() <= 10);
+        });
+
+        // i / 2 for i = 0, 10, ..., 190 removes the plans 0, 5, ..., 95 of each writer
+        int expected = WRITERS * (PER_WRITER - PER_WRITER / 10);
+        assertEquals(expected, store.getPlansCount(USER), "cached plan list is stale");
+        store.flush();
+        assertEquals(expected, new FilePlanDataAccessObject(file.toString()).getPlansCount(USER));
+    }
+
+    @Test
+    void concurrentUserSavesAndReadsTest() throws Exception {
+        Path file = tempDir.resolve("users.json");
+        Files.writeString(file, "[]");
+        FileUserDataAccessObject store = new FileUserDataAccessObject(file.toString());
+        // without the journal every save copies all accounts for the snapshot
+        store.setFlushLatency(1);
+
+        List<Runnable> signups = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            signups.add(() -> {
+                for (int i = 0; i < PER_WRITER; i++) {
+                    store.save(new User("u-" + writer + "-" + i, "password"));
+                    store.changePassword(new User("u-" + writer + "-" + i, "changed"));
+                }
+            });
+        }
+        runConcurrently(signups, () -> {
+            for (int i = 0; i < PER_WRITER; i += 20) {
+                if (store.existsByName("u-0-" + i)) {
+                    assertNotNull(store.get("u-0-" + i), "account vanished after it was found");
+                }
+            }
+        });
+
+        store.flush();
+        FileUserDataAccessObject reloaded = new FileUserDataAccessObject(file.toString());
+        for (int w = 0; w < WRITERS; w++) {
+            for (int i = 0; i < PER_WRITER; i++) {
+                assertEquals("changed", reloaded.get("u-" + w + "-" + i).getPassword(), "lost save");
+            }
+        }
+    }
+
+    @Test
+    void concurrentQnaAppendsAndReadsTest() throws Exception {
+        Path file = tempDir.resolve("subgoal_qna.json");
+        Files.writeString(file, "[]");
+        FileSubgoalQnaDataAccessObject store = new FileSubgoalQnaDataAccessObject(file.toString());
+        // a low threshold compacts often, while appends to other subgoals are still running
+        store.enableJournal(10);
+        store.setFlushLatency(1);
+
+        List<Runnable> askers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            askers.add(() -> {
+                for (int i = 0; i < PER_WRITER; i++) {
+                    store.appendEntry("s-" + writer, "Question " + i + "?", "Answer " + i + ".");
+                    if (i == PER_WRITER / 2) {
+                        store.deleteHistory(List.of("s-" + writer, "s-" + (writer + 1) % WRITERS + "-none"));
+                    }
+                }
+            });
+        }
+        runConcurrently(askers, () -> {
+            for (int w = 0; w < WRITERS; w++) {
+                List<SubgoalQuestionAnswer> recent = store.getRecentHistory("s-" + w, 5);
+                assertTrue(recent.size() <= 5);
+                for (int i = 1; i < recent.size(); i++) {
+                    assertTrue(number(recent.get(i - 1)) < number(recent.get(i)), "history is out of order");
+                }
+            }
+        });
+
+        // each writer's history was cleared after its question PER_WRITER / 2
+        int kept = PER_WRITER - PER_WRITER / 2 - 1;
+        store.flush();
+        FileSubgoalQnaDataAccessObject reloaded = new FileSubgoalQnaDataAccessObject(file.toString());
+        for (int w = 0; w < WRITERS; w++) {
+            List<SubgoalQuestionAnswer> history = reloaded.getHistory("s-" + w);
+            assertEquals(kept, history.size());
+            assertEquals(store.getHistory("s-" + w).get(0).getId(), history.get(0).getId());
+            assertEquals("Question " + (PER_WRITER - 1) + "?",
+                    reloaded.getRecentHistory("s-" + w, 1).get(0).getQuestionMessage());
+        }
+    }
+
+    private static int number(SubgoalQuestionAnswer entry) {
+        String question = entry.getQuestionMessage();
+        return Integer.parseInt(question.substring("Question ".length(), question.length() - 1));
+    }
+}
@@ -0,0 +1,105 @@
+package data_access.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileGeminiResponseCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A clock that only moves when the test advances it.
+     */
+    private static class ManualClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedTest() {
+        FileGeminiResponseCache cache = new FileGeminiResponseCache(null, 2, Duration.ofDays(1));
+        cache.put("a", "A");
+        cache.put("b", "B");
+        assertEquals("A", cache.get("a"));
+        cache.put("c", "C");
+
+        assertNull(cache.get("b"), "b was the least recently used response");
+        assertEquals("A", cache.get("a"));
+        assertEquals("C", cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void expiresOldResponsesAndCountsHitsAndMissesTest() {
+        ManualClock clock = new ManualClock();
+        FileGeminiResponseCache cache = new FileGeminiResponseCache(null, 10, Duration.ofHours(1), clock);
+        cache.put("a", "A");
+        clock.advance(Duration.ofMinutes(30));
+        assertEquals("A", cache.get("a"));
+        clock.advance(Duration.ofMinutes(31));
+        assertNull(cache.get("a"), "age is measured from when the response was stored");
+        assertNull(cache.get("missing"));
+
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+        assertEquals(0, cache.size());
+        assertTrue(cache.getStatsSummary().contains("1 hits, 2 misses (33% hit rate)"));
+    }
+
+    @Test
+    void keepsResponsesAndRecencyAcrossRestartsTest() {
+        String file = tempDir.resolve("gemini_cache.json").toString();
+        ManualClock clock = new ManualClock();
+        FileGeminiResponseCache cache = new FileGeminiResponseCache(file, 2, Duration.ofDays(1), clock);
+        cache.enableJournal(100);
+        cache.put("a", "A");
+        clock.advance(Duration.ofSeconds(1));
+        cache.put("b", "B");
+        clock.advance(Duration.ofSeconds(1));
+        cache.get("a");
+        cache.flush();
+
+        FileGeminiResponseCache reloaded = new FileGeminiResponseCache(file, 2, Duration.ofDays(1), clock);
+        reloaded.put("c", "C");
+        assertNull(reloaded.get("b"), "recency should survive the restart");
+        assertEquals("A", reloaded.get("a"));
+
+        clock.advance(Duration.ofDays(2));
+        assertEquals(0, new FileGeminiResponseCache(file, 2, Duration.ofDays(1), clock).size(),
+                "expired responses are not loaded");
+    }
+}
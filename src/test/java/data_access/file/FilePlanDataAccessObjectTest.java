@@ -0,0 +1,58 @@
+package data_access.file;
+
+import entity.plan.Plan;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilePlanDataAccessObjectTest {
+
+    private static final String USER = "alice";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void updatedPlanKeepsItsPositionTest() {
+        FilePlanDataAccessObject store = new FilePlanDataAccessObject();
+        for (int i = 1; i <= 3; i++) {
+            store.savePlan(new Plan("plan" + i, "Plan " + i, "Description " + i, USER));
+        }
+
+        store.updatePlan(new Plan("plan2", "Renamed", "New description", USER));
+
+        List<Plan> plans = store.getPlansByUsername(USER);
+        assertEquals(List.of("plan1", "plan2", "plan3"), idsOf(plans));
+        assertEquals("Renamed", plans.get(1).getName());
+        assertEquals("Renamed", store.getPlanById("plan2").getName());
+    }
+
+    @Test
+    void updatedPlanKeepsItsPositionAfterReloadTest() {
+        String file = tempDir.resolve("plans.json").toString();
+        FilePlanDataAccessObject store = new FilePlanDataAccessObject(file);
+        for (int i = 1; i <= 3; i++) {
+            store.savePlan(new Plan("plan" + i, "Plan " + i, "Description " + i, USER));
+        }
+        store.updatePlan(new Plan("plan1", "Renamed", "New description", USER));
+        store.flush();
+
+        List<Plan> plans = new FilePlanDataAccessObject(file).getPlansByUsername(USER);
+
+        assertEquals(List.of("plan1", "plan2", "plan3"), idsOf(plans));
+        assertEquals("Renamed", plans.get(0).getName());
+    }
+
+    private static List<String> idsOf(List<Plan> plans) {
+        List<String> ids = new ArrayList<>();
+        for (Plan plan : plans) {
+            ids.add(plan.getId());
+        }
+        return ids;
+    }
+}
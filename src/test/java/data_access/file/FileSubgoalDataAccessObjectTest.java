@@ -0,0 +1,106 @@
+package data_access.file;
+
+import entity.subgoal.Subgoal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileSubgoalDataAccessObjectTest {
+
+    private static final String USER = "alice";
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    private FileSubgoalDataAccessObject store;
+
+    @BeforeEach
+    void setUp() {
+        store = new FileSubgoalDataAccessObject();
+        // two subgoals a day for five days: sg0 .. sg9
+        for (int i = 0; i < 10; i++) {
+            store.saveSubgoal(new Subgoal("sg" + i, "plan1", USER, "Step " + i, "Do step " + i + ".",
+                    TODAY.plusDays(i / 2), false, false));
+        }
+    }
+
+    @Test
+    void upcomingPagesCoverEverySubgoalOnceTest() {
+        List<String> ids = new ArrayList<>();
+        Subgoal after = null;
+        List<Subgoal> page = store.getUpcomingSubgoals(USER, TODAY, after, 3);
+        while (!page.isEmpty()) {
+            for (Subgoal subgoal : page) {
+                ids.add(subgoal.getId());
+            }
+            after = page.get(page.size() - 1);
+            page = store.getUpcomingSubgoals(USER, TODAY, after, 3);
+        }
+
+        assertEquals(List.of("sg0", "sg1", "sg2", "sg3", "sg4", "sg5", "sg6", "sg7", "sg8", "sg9"), ids);
+    }
+
+    @Test
+    void nextPageAfterDeletedSubgoalTest() {
+        List<Subgoal> first = store.getUpcomingSubgoals(USER, TODAY, null, 3);
+        store.deleteSubgoal("sg2");
+
+        List<Subgoal> next = store.getUpcomingSubgoals(USER, TODAY, first.get(2), 3);
+
+        assertEquals(List.of("sg3", "sg4", "sg5"), idsOf(next));
+    }
+
+    @Test
+    void nextPageAfterCompletedSubgoalTest() {
+        List<Subgoal> first = store.getUpcomingSubgoals(USER, TODAY, null, 3);
+        // completing sg2 moves it behind sg3 on the same day
+        store.updateCompleted("sg2", true);
+
+        List<Subgoal> next = store.getUpcomingSubgoals(USER, TODAY, first.get(2), 3);
+
+        assertEquals(List.of("sg3", "sg2", "sg4"), idsOf(next));
+    }
+
+    @Test
+    void queriesDoNotWaitForTheJournalWriteTest() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch diskDone = new CountDownLatch(1);
+        FileSubgoalDataAccessObject slowDisk = new FileSubgoalDataAccessObject() {
+            @Override
+            protected void persistPut(Subgoal entry, Collection<Subgoal> collection) {
+                writing.countDown();
+                try {
+                    diskDone.await();
+                }
+                catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Thread writer = new Thread(() -> slowDisk.saveSubgoal(new Subgoal("new", "plan1", USER, "New step",
+                "Do the new step.", TODAY, false, false)));
+        writer.start();
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+        Subgoal saved = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> slowDisk.getSubgoalById("new"));
+        diskDone.countDown();
+        writer.join();
+
+        assertEquals("New step", saved.getName());
+    }
+
+    private static List<String> idsOf(List<Subgoal> subgoals) {
+        List<String> ids = new ArrayList<>();
+        for (Subgoal subgoal : subgoals) {
+            ids.add(subgoal.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,43 @@
+package data_access.file;
+
+import entity.user.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FileUserDataAccessObjectTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void usersAreFoundByNameTest() {
+        FileUserDataAccessObject store = new FileUserDataAccessObject(null);
+        store.save(new User("alice", "secret"));
+        store.save(new User("bob", "hunter2"));
+
+        assertTrue(store.existsByName("alice"));
+        assertFalse(store.existsByName("carol"));
+        assertEquals("hunter2", store.get("bob").getPassword());
+        assertNull(store.get("carol"));
+    }
+
+    @Test
+    void savingAnExistingNameReplacesTheAccountTest() {
+        String file = tempDir.resolve("users.json").toString();
+        FileUserDataAccessObject store = new FileUserDataAccessObject(file);
+        store.save(new User("alice", "secret"));
+        store.save(new User("bob", "hunter2"));
+
+        store.save(new User("alice", "changed"));
+        store.flush();
+
+        assertEquals("changed", store.get("alice").getPassword());
+        FileUserDataAccessObject reloaded = new FileUserDataAccessObject(file);
+        assertEquals("changed", reloaded.get("alice").getPassword());
+        assertEquals("hunter2", reloaded.get("bob").getPassword());
+    }
+}
@@ -0,0 +1,145 @@
+package data_access.file;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.UUID;
+
+import org.json.JSONArray;
+
+import data_access.interfaces.file.BinarySnapshotCodec;
+import entity.subgoal.SubgoalBuilder;
+
+/**
+ * Startup benchmark for the subgoal store. Generates subgoals.json files of increasing size
+ * and reports load time and peak heap for the streaming loader next to the old
+ * readAllBytes + JSONArray approach, followed by the size and load time of the same data
+ * as a binary snapshot.
+ *
+ * <p>Not a unit test; run it by hand, e.g. with {@code -Xmx4g}. The record counts can be
+ * passed as arguments and default to 10000, 100000 and 1000000.</p>
+ */
+public final class JsonLoadBenchmark {
+
+    private JsonLoadBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        final int[] sizes;
+        if (args.length == 0) {
+            sizes = new int[] {10_000, 100_000, 1_000_000};
+        }
+        else {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        final Path dir = Files.createTempDirectory("json-load-benchmark");
+        System.out.printf("%10s %10s %14s %14s %14s %14s %10s %10s%n",
+                "records", "file MB", "stream ms", "stream MB", "dom ms", "dom MB", "bin MB", "bin ms");
+        for (int size : sizes) {
+            final Path file = dir.resolve("subgoals-" + size + ".json");
+            writeSubgoals(file, size);
+
+            // warm up once so class loading does not count against the first run
+            loadStreaming(file);
+
+            resetPeaks();
+            long start = System.nanoTime();
+            final int streamed = loadStreaming(file);
+            final long streamMillis = (System.nanoTime() - start) / 1_000_000;
+            final long streamPeak = peakHeap();
+
+            resetPeaks();
+            start = System.nanoTime();
+            final int parsed = loadDom(file);
+            final long domMillis = (System.nanoTime() - start) / 1_000_000;
+            final long domPeak = peakHeap();
+
+            // a binary snapshot next to the JSON file takes precedence when the store loads
+            final Path binary = Paths.get(file + ".bin");
+            new BinarySnapshotCodec(Set.of("username", "plan_id")).importJson(file, binary);
+            start = System.nanoTime();
+            final int decoded = loadStreaming(file);
+            final long binaryMillis = (System.nanoTime() - start) / 1_000_000;
+
+            if (streamed != size || parsed != size || decoded != size) {
+                throw new IllegalStateException(
+                        "Loaded " + streamed + " / " + parsed + " / " + decoded + " of " + size);
+            }
+            System.out.printf("%10d %10.1f %14d %14.1f %14d %14.1f %10.1f %10d%n",
+                    size, Files.size(file) / 1e6, streamMillis, streamPeak / 1e6, domMillis, domPeak / 1e6,
+                    Files.size(binary) / 1e6, binaryMillis);
+            Files.delete(binary);
+            Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    private static int loadStreaming(Path file) {
+        final FileSubgoalDataAccessObject dataAccessObject =
+                new FileSubgoalDataAccessObject(file.toString(), new SubgoalBuilder());
+        return dataAccessObject.getSubgoalsByUsername("user").size();
+    }
+
+    private static int loadDom(Path file) throws IOException {
+        final FileSubgoalDataAccessObject parser = new FileSubgoalDataAccessObject();
+        final JSONArray array = new JSONArray(new String(Files.readAllBytes(file)));
+        int count = 0;
+        for (int i = 0; i < array.length(); i++) {
+            parser.parseJsonObject(array.getJSONObject(i));
+            count++;
+        }
+        return count;
+    }
+
+    private static void writeSubgoals(Path file, int size) throws IOException {
+        final FileSubgoalDataAccessObject serializer = new FileSubgoalDataAccessObject();
+        final SubgoalBuilder builder = new SubgoalBuilder();
+        final LocalDate today = LocalDate.now();
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("[\n");
+            for (int i = 0; i < size; i++) {
+                final String json = serializer.convertObjectToJson(builder
+                        .setId(UUID.randomUUID().toString())
+                        .setPlanId("plan-" + (i / 10))
+                        .setUsername("user")
+                        .setName("Subgoal " + i)
+                        .setDescription("Description of subgoal number " + i)
+                        .setDeadline(today.plusDays(i % 365))
+                        .setIsCompleted(i % 3 == 0)
+                        .setPriority(i % 7 == 0)
+                        .build()).toString(2);
+                writer.write(json);
+                writer.write(i + 1 < size ? ",\n" : "\n");
+            }
+            writer.write("]");
+        }
+    }
+
+    private static void resetPeaks() {
+        System.gc();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,85 @@
+package data_access.file;
+
+import entity.subgoal.Subgoal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubgoalTextIndexTest {
+
+    private static final LocalDate DEADLINE = LocalDate.of(2030, 3, 10);
+
+    private SubgoalTextIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SubgoalTextIndex();
+    }
+
+    @Test
+    void resultsAreOrderedByRelevanceTest() {
+        index.put(subgoal("substring", "alice", "Rerun tests", "Do it."));
+        index.put(subgoal("description", "alice", "Stretch", "Go for a run after"));
+        index.put(subgoal("wordPrefix", "alice", "Morning run", "Do it."));
+        index.put(subgoal("exact", "alice", "Run", "Do it."));
+        index.put(subgoal("longPrefix", "alice", "Running shoes to buy", "Do it."));
+        index.put(subgoal("shortPrefix", "alice", "Run 5k", "Do it."));
+        index.put(subgoal("descriptionSubstring", "alice", "Rest", "Take a brunch break"));
+
+        assertEquals(List.of("exact", "shortPrefix", "longPrefix", "wordPrefix", "substring", "description",
+                        "descriptionSubstring"),
+                index.search("alice", "RUN", true));
+        assertEquals(List.of("exact", "shortPrefix", "longPrefix", "wordPrefix", "substring"),
+                index.search("alice", "run", false));
+    }
+
+    @Test
+    void shortQueriesSearchAllOfTheUsersSubgoalsTest() {
+        index.put(subgoal("sg1", "alice", "Go outside", "Do it."));
+        index.put(subgoal("sg2", "alice", "Read a book", "Go to the library"));
+        index.put(subgoal("sg3", "alice", "Write", "Do it."));
+
+        assertEquals(List.of("sg1"), index.search("alice", "go", false));
+        assertEquals(List.of("sg1", "sg2"), index.search("alice", "go", true));
+        assertEquals(List.of("sg3", "sg1", "sg2"), index.search("alice", "", false));
+    }
+
+    @Test
+    void renamedSubgoalIsFoundByItsNewNameOnlyTest() {
+        index.put(subgoal("sg1", "alice", "Buy groceries", "Do it."));
+        index.put(subgoal("sg1", "alice", "Clean the kitchen", "Do it."));
+
+        assertEquals(List.of(), index.search("alice", "groceries", true));
+        assertEquals(List.of("sg1"), index.search("alice", "kitchen", true));
+    }
+
+    @Test
+    void removedSubgoalIsNotFoundTest() {
+        index.put(subgoal("sg1", "alice", "Buy groceries", "Do it."));
+        index.put(subgoal("sg2", "alice", "Buy a gift", "Do it."));
+
+        index.remove("sg1");
+        index.remove("missing");
+
+        assertEquals(List.of("sg2"), index.search("alice", "buy", false));
+        assertEquals(List.of(), index.search("alice", "groceries", false));
+    }
+
+    @Test
+    void searchOnlyReturnsTheUsersSubgoalsTest() {
+        index.put(subgoal("sg1", "alice", "Practice piano", "Do it."));
+        index.put(subgoal("sg2", "bob", "Practice guitar", "Do it."));
+
+        assertEquals(List.of("sg1"), index.search("alice", "practice", false));
+        assertEquals(List.of("sg2"), index.search("bob", "pr", false));
+        assertEquals(List.of(), index.search("carol", "practice", false));
+    }
+
+    private static Subgoal subgoal(String id, String username, String name, String description) {
+        return new Subgoal(id, "plan1", username, name, description, DEADLINE, false, false);
+    }
+}
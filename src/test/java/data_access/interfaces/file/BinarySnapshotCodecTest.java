@@ -0,0 +1,180 @@
+package data_access.interfaces.file;
+
+import data_access.file.FilePlanDataAccessObject;
+import data_access.file.FileSubgoalDataAccessObject;
+import data_access.file.FileSubgoalQnaDataAccessObject;
+import data_access.file.FileUserDataAccessObject;
+import entity.plan.Plan;
+import entity.subgoal.Subgoal;
+import entity.subgoal.SubgoalBuilder;
+import entity.subgoal.SubgoalQuestionAnswer;
+import entity.user.User;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinarySnapshotCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static List<JSONObject> roundTrip(BinarySnapshotCodec codec, List<JSONObject> records)
+            throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.write(records, out);
+        List<JSONObject> result = new ArrayList<>();
+        codec.read(new ByteArrayInputStream(out.toByteArray()), result::add);
+        return result;
+    }
+
+    private static List<JSONObject> subgoalRecords(int count) {
+        FileSubgoalDataAccessObject serializer = new FileSubgoalDataAccessObject();
+        SubgoalBuilder builder = new SubgoalBuilder();
+        List<JSONObject> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Subgoal subgoal = builder.setId(UUID.randomUUID().toString())
+                    .setPlanId("plan-" + (i % 5))
+                    .setUsername("user" + (i % 3))
+                    .setName("Subgoal " + i)
+                    .setDescription("Description ü " + i)
+                    .setDeadline(LocalDate.of(2025, 1, 1).plusDays(i))
+                    .setIsCompleted(i % 2 == 0)
+                    .setPriority(i % 3 == 0)
+                    .build();
+            // go through a JSON string so the records hold the same types as a parsed file
+            records.add(new JSONObject(serializer.convertObjectToJson(subgoal).toString()));
+        }
+        return records;
+    }
+
+    @Test
+    void subgoalRecordsRoundTripTest() throws IOException {
+        List<JSONObject> records = subgoalRecords(50);
+        List<JSONObject> result = roundTrip(new BinarySnapshotCodec(Set.of("username", "plan_id")), records);
+        assertEquals(records.size(), result.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertTrue(records.get(i).similar(result.get(i)), "record " + i);
+        }
+    }
+
+    @Test
+    void entitiesParseFromDecodedRecordsTest() throws IOException {
+        FileSubgoalDataAccessObject subgoals = new FileSubgoalDataAccessObject();
+        List<JSONObject> records = subgoalRecords(3);
+        List<JSONObject> result = roundTrip(new BinarySnapshotCodec(), records);
+        Subgoal expected = subgoals.parseJsonObject(records.get(1));
+        Subgoal actual = subgoals.parseJsonObject(result.get(1));
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getPlanId(), actual.getPlanId());
+        assertEquals(expected.getDeadline(), actual.getDeadline());
+        assertEquals(expected.isCompleted(), actual.isCompleted());
+        assertEquals(expected.isPriority(), actual.isPriority());
+
+        FilePlanDataAccessObject plans = new FilePlanDataAccessObject();
+        JSONObject planJson = plans.convertObjectToJson(new Plan("p1", "Plan", "Desc", "alice"));
+        Plan plan = plans.parseJsonObject(roundTrip(new BinarySnapshotCodec(), List.of(planJson)).get(0));
+        assertEquals("p1", plan.getId());
+        assertEquals("alice", plan.getUsername());
+
+        FileUserDataAccessObject users = new FileUserDataAccessObject(null);
+        JSONObject userJson = users.convertObjectToJson(new User("bob", "secret"));
+        User user = users.parseJsonObject(roundTrip(new BinarySnapshotCodec(), List.of(userJson)).get(0));
+        assertEquals("bob", user.getName());
+        assertEquals("secret", user.getPassword());
+
+        FileSubgoalQnaDataAccessObject qna = new FileSubgoalQnaDataAccessObject(null);
+        JSONObject qnaJson = new JSONObject().put("id", "q1").put("subgoal_id", "s1")
+                .put("question", "Why?").put("response", "Because.");
+        SubgoalQuestionAnswer answer = qna.parseJsonObject(
+                roundTrip(new BinarySnapshotCodec(Set.of("subgoal_id")), List.of(qnaJson)).get(0));
+        assertEquals("s1", answer.getSubgoalId());
+        assertEquals("Because.", answer.getResponseMessage());
+    }
+
+    @Test
+    void lookalikeStringsAreKeptVerbatimTest() throws IOException {
+        JSONObject record = new JSONObject()
+                .put("upper_uuid", "123E4567-E89B-12D3-A456-426614174000")
+                .put("not_a_date", "2025-13-40")
+                .put("short_date", "2025-1-01")
+                .put("empty", "")
+                .put("number", -42)
+                .put("fraction", 2.5)
+                .put("nothing", JSONObject.NULL)
+                .put("nested", new JSONObject().put("list", new JSONArray().put(1).put("two").put(false)));
+        JSONObject result = roundTrip(new BinarySnapshotCodec(), List.of(record)).get(0);
+        assertTrue(record.similar(result));
+    }
+
+    @Test
+    void emptySnapshotTest() throws IOException {
+        assertTrue(roundTrip(new BinarySnapshotCodec(), List.of()).isEmpty());
+    }
+
+    @Test
+    void rejectsNonSnapshotInputTest() {
+        BinarySnapshotCodec codec = new BinarySnapshotCodec();
+        assertThrows(IOException.class,
+                () -> codec.read(new ByteArrayInputStream("[]".getBytes()), record -> { }));
+    }
+
+    @Test
+    void binaryIsSmallerThanJsonTest() throws IOException {
+        List<JSONObject> records = subgoalRecords(1000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinarySnapshotCodec(Set.of("username", "plan_id")).write(records, out);
+        int jsonSize = new JSONArray(records).toString(2).getBytes().length;
+        assertTrue(out.size() * 2 < jsonSize, out.size() + " bytes vs " + jsonSize + " bytes of JSON");
+    }
+
+    @Test
+    void jsonImportExportTest() throws IOException {
+        Path json = tempDir.resolve("subgoals.json");
+        Path binary = tempDir.resolve("subgoals.json.bin");
+        Path exported = tempDir.resolve("exported.json");
+        JSONArray original = new JSONArray(subgoalRecords(10));
+        Files.writeString(json, original.toString(2));
+
+        BinarySnapshotCodec codec = new BinarySnapshotCodec(Set.of("username", "plan_id"));
+        codec.importJson(json, binary);
+        codec.exportJson(binary, exported);
+        assertTrue(original.similar(new JSONArray(Files.readString(exported))));
+    }
+
+    @Test
+    void storeReloadsFromBinarySnapshotTest() throws IOException {
+        Path file = tempDir.resolve("subgoals.json");
+        Files.writeString(file, "[]");
+        FileSubgoalDataAccessObject store = new FileSubgoalDataAccessObject(file.toString(), new SubgoalBuilder());
+        store.enableBinarySnapshot();
+        SubgoalBuilder builder = new SubgoalBuilder();
+        for (int i = 0; i < 5; i++) {
+            store.saveSubgoal(builder.setId("s" + i).setPlanId("p").setUsername("u").setName("n" + i)
+                    .setDescription("d").setDeadline(LocalDate.of(2025, 6, i + 1)).build());
+        }
+        store.flush();
+        assertTrue(Files.exists(tempDir.resolve("subgoals.json.bin")));
+        assertEquals("[]", Files.readString(file));
+
+        FileSubgoalDataAccessObject reloaded = new FileSubgoalDataAccessObject(file.toString(), new SubgoalBuilder());
+        assertEquals(5, reloaded.getSubgoalsByUsername("u").size());
+        assertEquals(LocalDate.of(2025, 6, 3), reloaded.getSubgoalById("s2").getDeadline());
+
+        reloaded.exportToJson();
+        assertEquals(5, new JSONArray(Files.readString(file)).length());
+    }
+}
@@ -0,0 +1,68 @@
+package data_access.interfaces.file;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonDataAccessTest {
+
+    // long enough that only flush() writes within a test
+    private static final long NEVER = 60_000;
+
+    @TempDir
+    Path tempDir;
+
+    private TestJsonStore emptyStore(String name) throws Exception {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, "[]");
+        TestJsonStore store = new TestJsonStore(file.toString());
+        store.setFlushLatency(NEVER);
+        return store;
+    }
+
+    @Test
+    void burstOfMutationsIsWrittenOnceTest() throws Exception {
+        TestJsonStore store = emptyStore("store.json");
+        for (int i = 0; i < 100; i++) {
+            store.put("e" + i, i);
+        }
+        store.flush();
+
+        // one snapshot of 100 entries, rather than one snapshot per mutation
+        assertEquals(100, store.conversions.get());
+        assertEquals(100, new TestJsonStore(tempDir.resolve("store.json").toString()).values().size());
+    }
+
+    @Test
+    void flushWaitsForTheWriteTest() throws Exception {
+        TestJsonStore store = emptyStore("store.json");
+        store.put("a", 1);
+        assertEquals("[]", Files.readString(tempDir.resolve("store.json")));
+
+        store.flush();
+
+        assertEquals(Map.of("a", 1), new TestJsonStore(tempDir.resolve("store.json").toString()).values());
+    }
+
+    @Test
+    void failedWriteKeepsThePreviousFileTest() throws Exception {
+        TestJsonStore store = emptyStore("store.json");
+        // binary snapshots are written record by record, so the failure happens half way through the file
+        store.enableBinarySnapshot();
+        store.put("a", 1);
+        store.put("b", 2);
+        store.flush();
+
+        store.put("c", 3);
+        store.put("d", TestJsonStore.UNWRITABLE);
+        store.flush();
+
+        Map<String, Integer> reloaded = new TestJsonStore(tempDir.resolve("store.json").toString()).values();
+        assertEquals(Map.of("a", 1, "b", 2), reloaded);
+    }
+}
@@ -0,0 +1,119 @@
+package data_access.interfaces.file;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonJournalTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static String put(String id, int value) {
+        return new JSONObject().put("op", "put")
+                .put("record", new JSONObject().put("id", id).put("value", value)).toString();
+    }
+
+    private static String delete(String id) {
+        return new JSONObject().put("op", "delete").put("key", id).toString();
+    }
+
+    private static List<String> replay(JsonJournal journal) throws Exception {
+        List<String> records = new ArrayList<>();
+        journal.replay(new JsonJournal.Visitor() {
+            @Override
+            public void onPut(JSONObject record) {
+                records.add("put " + record.getString("id"));
+            }
+
+            @Override
+            public void onDelete(String key) {
+                records.add("delete " + key);
+            }
+        });
+        return records;
+    }
+
+    @Test
+    void journalIsReplayedOverSnapshotTest() throws Exception {
+        Path file = tempDir.resolve("store.json");
+        Files.writeString(file, "[{\"id\":\"a\",\"value\":1},{\"id\":\"b\",\"value\":1}]");
+        Files.write(tempDir.resolve("store.json.journal"), List.of(put("a", 2), delete("b"), put("c", 1)));
+
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("a", 2);
+        expected.put("c", 1);
+        assertEquals(expected, new TestJsonStore(file.toString()).values());
+    }
+
+    @Test
+    void tornLastLineIsSkippedTest() throws Exception {
+        Path file = tempDir.resolve("store.json");
+        Files.writeString(file, "[]");
+        // the process died half way through writing the second record
+        String torn = put("b", 1).substring(0, 20);
+        Files.writeString(tempDir.resolve("store.json.journal"), put("a", 1) + "\n" + torn);
+
+        assertEquals(Map.of("a", 1), new TestJsonStore(file.toString()).values());
+    }
+
+    @Test
+    void rotateKeepsEarlierCompactingJournalTest() throws Exception {
+        JsonJournal journal = new JsonJournal(tempDir.resolve("store.json").toString());
+        journal.appendPut(new JSONObject().put("id", "a"));
+        journal.rotate();
+        // the snapshot for the first rotation was never written, so its journal must survive
+        journal.appendPut(new JSONObject().put("id", "b"));
+        journal.appendDelete("a");
+        journal.rotate();
+
+        assertTrue(journal.isCompacting());
+        assertFalse(Files.exists(tempDir.resolve("store.json.journal")));
+        assertEquals(0, journal.getEntryCount());
+        assertEquals(List.of("put a", "put b", "delete a"), replay(journal));
+
+        journal.finishCompaction();
+        assertFalse(journal.exists());
+    }
+
+    @Test
+    void compactionWhileWritesContinueTest() throws Exception {
+        Path file = tempDir.resolve("store.json");
+        Files.writeString(file, "[]");
+        TestJsonStore store = new TestJsonStore(file.toString());
+        store.enableJournal(10);
+        store.setFlushLatency(1);
+
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int writer = w;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < 250; i++) {
+                    store.put(writer + "-" + i, i);
+                    if (i % 50 == 49) {
+                        store.delete(writer + "-" + (i - 1));
+                    }
+                }
+            });
+            writers[w].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        store.flush();
+
+        Map<String, Integer> reloaded = new TestJsonStore(file.toString()).values();
+        assertEquals(store.values(), reloaded);
+        assertEquals(4 * (250 - 5), reloaded.size());
+        assertFalse(Files.exists(tempDir.resolve("store.json.journal.compacting")));
+    }
+}
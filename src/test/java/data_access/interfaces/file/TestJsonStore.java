@@ -0,0 +1,63 @@
+package data_access.interfaces.file;
+
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A minimal JSON store for the persistence tests. Entries are JSON objects keyed by their
+ * "id" field; every mutation holds the store's lock while it is persisted, as the file DAOs do.
+ * The store counts the entries it converts for writing, and fails to convert an entry whose
+ * value is {@link #UNWRITABLE}.
+ */
+class TestJsonStore extends JsonDataAccess<JSONObject> {
+
+    static final int UNWRITABLE = -1;
+
+    final AtomicInteger conversions = new AtomicInteger();
+    private final Map<String, JSONObject> entries = new LinkedHashMap<>();
+
+    TestJsonStore(String filePath) throws IOException {
+        super(filePath);
+        loadFromJson(entries);
+    }
+
+    synchronized void put(String id, int value) {
+        final JSONObject entry = new JSONObject().put("id", id).put("value", value);
+        entries.put(id, entry);
+        persistPut(entry, entries.values());
+    }
+
+    synchronized void delete(String id) {
+        entries.remove(id);
+        persistDelete(id, entries.values());
+    }
+
+    synchronized Map<String, Integer> values() {
+        final Map<String, Integer> values = new LinkedHashMap<>();
+        entries.forEach((id, entry) -> values.put(id, entry.getInt("value")));
+        return values;
+    }
+
+    @Override
+    protected String getKey(JSONObject object) {
+        return object.getString("id");
+    }
+
+    @Override
+    public JSONObject parseJsonObject(JSONObject jsonObject) {
+        return jsonObject;
+    }
+
+    @Override
+    public JSONObject convertObjectToJson(JSONObject object) {
+        conversions.incrementAndGet();
+        if (object.getInt("value") == UNWRITABLE) {
+            throw new IllegalStateException("cannot write " + object.getString("id"));
+        }
+        return object;
+    }
+}
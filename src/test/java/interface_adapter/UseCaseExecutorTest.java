@@ -0,0 +1,202 @@
+package interface_adapter;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UseCaseExecutorTest {
+
+    private static final String EVENT_THREAD = "fake-event-thread";
+
+    private ExecutorService eventThread;
+    private UseCaseExecutor executor;
+
+    interface EchoInputBoundary {
+        void echo(int value);
+
+        int size();
+    }
+
+    interface EchoOutputBoundary {
+        void present(int value);
+    }
+
+    /**
+     * Interactor that blocks until released and records which thread it ran on.
+     */
+    static class EchoInteractor implements EchoInputBoundary {
+        final EchoOutputBoundary presenter;
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        volatile CountDownLatch gate = new CountDownLatch(0);
+
+        EchoInteractor(EchoOutputBoundary presenter) {
+            this.presenter = presenter;
+        }
+
+        @Override
+        public void echo(int value) {
+            threads.add(Thread.currentThread().getName());
+            try {
+                gate.await();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            presenter.present(value);
+        }
+
+        @Override
+        public int size() {
+            return threads.size();
+        }
+    }
+
+    /**
+     * Presenter that records the values and the thread they were delivered on.
+     */
+    static class RecordingPresenter implements EchoOutputBoundary {
+        final List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+
+        @Override
+        public void present(int value) {
+            values.add(value);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        eventThread = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, EVENT_THREAD));
+        executor = new UseCaseExecutor(Executors.newFixedThreadPool(4), eventThread);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+        eventThread.shutdownNow();
+    }
+
+    private void drain() throws Exception {
+        // everything queued on the event thread before this point has run once it returns
+        eventThread.submit(() -> { }).get(5, TimeUnit.SECONDS);
+    }
+
+    private void awaitValues(RecordingPresenter presenter, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (presenter.values.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        drain();
+    }
+
+    @Test
+    void runsInBackgroundAndDeliversOnEventThreadTest() throws Exception {
+        RecordingPresenter presenter = new RecordingPresenter();
+        EchoInteractor interactor = new EchoInteractor(
+                executor.deliverOnEventThread(EchoOutputBoundary.class, presenter));
+        interactor.gate = new CountDownLatch(1);
+        EchoInputBoundary boundary = executor.runInBackground(EchoInputBoundary.class, interactor);
+
+        // returns while the interactor is still blocked
+        boundary.echo(1);
+        interactor.gate.countDown();
+        awaitValues(presenter, 1);
+
+        assertEquals(List.of(1), presenter.values);
+        assertNotEquals(Thread.currentThread().getName(), interactor.threads.get(0));
+        assertEquals(List.of(EVENT_THREAD), presenter.threads);
+    }
+
+    @Test
+    void callsOfOneUseCaseRunInOrderTest() throws Exception {
+        RecordingPresenter presenter = new RecordingPresenter();
+        EchoInputBoundary boundary = executor.runInBackground(EchoInputBoundary.class,
+                new EchoInteractor(executor.deliverOnEventThread(EchoOutputBoundary.class, presenter)));
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            boundary.echo(i);
+            expected.add(i);
+        }
+        awaitValues(presenter, 50);
+        assertEquals(expected, presenter.values);
+    }
+
+    @Test
+    void queriesRunOnCallingThreadTest() {
+        EchoInteractor interactor = new EchoInteractor(value -> { });
+        EchoInputBoundary boundary = executor.runInBackground(EchoInputBoundary.class, interactor);
+        assertEquals(0, boundary.size());
+    }
+
+    @Test
+    void cancelDropsRunningAndQueuedCallsTest() throws Exception {
+        RecordingPresenter presenter = new RecordingPresenter();
+        EchoInteractor interactor = new EchoInteractor(
+                executor.deliverOnEventThread(EchoOutputBoundary.class, presenter));
+        interactor.gate = new CountDownLatch(1);
+        EchoInputBoundary boundary = executor.runInBackground(EchoInputBoundary.class, interactor);
+        assertTrue(boundary instanceof Cancellable);
+
+        boundary.echo(1);
+        boundary.echo(2);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (interactor.threads.isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        ((Cancellable) boundary).cancel();
+
+        // the use case keeps working after a cancel
+        interactor.gate.countDown();
+        boundary.echo(3);
+        awaitValues(presenter, 1);
+
+        assertEquals(List.of(3), presenter.values);
+        assertEquals(2, interactor.threads.size(), "the queued call should never have started");
+    }
+
+    interface StoppableInputBoundary {
+        void start();
+
+        void cancel();
+    }
+
+    @Test
+    void cancelReachesInteractorImmediatelyTest() throws Exception {
+        CountDownLatch gate = new CountDownLatch(1);
+        List<String> cancelThreads = Collections.synchronizedList(new ArrayList<>());
+        StoppableInputBoundary boundary = executor.runInBackground(StoppableInputBoundary.class,
+                new StoppableInputBoundary() {
+                    @Override
+                    public void start() {
+                        try {
+                            gate.await();
+                        }
+                        catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+
+                    @Override
+                    public void cancel() {
+                        cancelThreads.add(Thread.currentThread().getName());
+                    }
+                });
+
+        // the lane is busy, yet the interactor's own cancel runs on the calling thread
+        boundary.start();
+        boundary.cancel();
+        assertEquals(List.of(Thread.currentThread().getName()), cancelThreads);
+        gate.countDown();
+    }
+}
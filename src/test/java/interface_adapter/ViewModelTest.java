@@ -0,0 +1,76 @@
+package interface_adapter;
+
+import org.junit.jupiter.api.Test;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewModelTest {
+
+    static class CounterState extends VersionedState {
+        private int count;
+
+        void setCount(int count) {
+            markChanged(this.count, count);
+            this.count = count;
+        }
+    }
+
+    private static List<String> listenTo(ViewModel<?> viewModel) {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        viewModel.addPropertyChangeListener(evt -> events.add(evt.getPropertyName()));
+        return events;
+    }
+
+    @Test
+    void dispatchesRightAwayByDefaultTest() {
+        final ViewModel<String> viewModel = new ViewModel<>("plain");
+        final List<String> events = listenTo(viewModel);
+
+        viewModel.setState("a");
+        viewModel.firePropertyChange();
+        viewModel.firePropertyChange();
+
+        assertEquals(List.of("state", "state"), events);
+    }
+
+    @Test
+    void coalescesChangesUntilTheEventThreadIsFreeTest() throws Exception {
+        final ViewModel<String> viewModel = new ViewModel<>("coalescing");
+        viewModel.setCoalescing(true);
+        final List<String> events = listenTo(viewModel);
+
+        SwingUtilities.invokeAndWait(() -> {
+            viewModel.firePropertyChange();
+            viewModel.firePropertyChange("other");
+            viewModel.firePropertyChange();
+            assertTrue(events.isEmpty());
+        });
+        SwingUtilities.invokeAndWait(() -> { });
+
+        assertEquals(List.of("state", "other"), events);
+    }
+
+    @Test
+    void skipsUnchangedVersionedStateTest() {
+        final ViewModel<CounterState> viewModel = new ViewModel<>("versioned");
+        final CounterState state = new CounterState();
+        viewModel.setState(state);
+        final List<String> events = listenTo(viewModel);
+
+        viewModel.firePropertyChange();
+        state.setCount(0);
+        viewModel.firePropertyChange();
+        state.setCount(1);
+        viewModel.firePropertyChange();
+        viewModel.firePropertyChange("refresh");
+        viewModel.setState(new CounterState());
+        viewModel.firePropertyChange();
+
+        assertEquals(List.of("state", "state", "refresh", "state"), events);
+    }
+}
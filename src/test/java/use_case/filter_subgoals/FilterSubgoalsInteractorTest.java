@@ -89,7 +89,7 @@ class FilterSubgoalsInteractorTest {
         interactor.filter(inputData);
 
         // Assert
-        assertEquals("getSubgoalsByName", subgoalDAO.lastCalledMethod);
+        assertEquals("searchSubgoals", subgoalDAO.lastCalledMethod);
         assertEquals(SUBGOAL_NAME, subgoalDAO.lastSubgoalName);
         assertEquals(USER_ID, subgoalDAO.lastUserId);
         assertEquals(1, presenter.lastOutputData.getFilteredSubgoals().size());
@@ -97,6 +97,23 @@ class FilterSubgoalsInteractorTest {
         assertFalse(presenter.lastOutputData.getPriorityOnly());
     }
 
+    // ==================== RESULT ORDER TEST ====================
+    @Test
+    void testNameResultsKeepRelevanceOrderAndOtherFiltersAreByDeadline() {
+        Subgoal later = new Subgoal("later", "Run", "Test description", "test-plan", USER_ID,
+                LocalDate.now().plusDays(3), false, false);
+        Subgoal sooner = new Subgoal("sooner", "Morning run", "Test description", "test-plan", USER_ID,
+                LocalDate.now(), false, false);
+        subgoalDAO.setSubgoalsByName(Arrays.asList(later, sooner));
+        subgoalDAO.setSubgoalsByPlanTestData(Arrays.asList(later, sooner));
+
+        interactor.filter(new FilterSubgoalsInputData(USER_ID, null, "run", false));
+        assertEquals(List.of(later, sooner), presenter.lastOutputData.getFilteredSubgoals());
+
+        interactor.filter(new FilterSubgoalsInputData(USER_ID, PLAN_ID, null, false));
+        assertEquals(List.of(sooner, later), presenter.lastOutputData.getFilteredSubgoals());
+    }
+
     // ==================== ALL SUBGOALS TEST ====================
     @Test
     void testFilterAllSubgoals() {
@@ -255,6 +272,14 @@ class FilterSubgoalsInteractorTest {
             return subgoalsByName;
         }
 
+        @Override
+        public List<Subgoal> searchSubgoals(String query, String userId) {
+            lastCalledMethod = "searchSubgoals";
+            lastSubgoalName = query;
+            lastUserId = userId;
+            return subgoalsByName;
+        }
+
         @Override
         public List<Subgoal> getAllSubgoalsForUser(String userId) {
             lastCalledMethod = "getAllSubgoalsForUser";
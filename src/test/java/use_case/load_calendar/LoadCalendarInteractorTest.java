@@ -0,0 +1,80 @@
+package use_case.load_calendar;
+
+import data_access.file.FileSubgoalDataAccessObject;
+import entity.subgoal.Subgoal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadCalendarInteractorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 3, 10);
+
+    /**
+     * Presenter that keeps the last output it was given.
+     */
+    private static class TestPresenter implements LoadCalendarOutputBoundary {
+        LoadCalendarMonthOutputData month;
+        LoadCalendarUpcomingOutputData upcoming;
+
+        @Override
+        public void presentMonth(LoadCalendarMonthOutputData outputData) {
+            month = outputData;
+        }
+
+        @Override
+        public void presentUpcoming(LoadCalendarUpcomingOutputData outputData) {
+            upcoming = outputData;
+        }
+    }
+
+    private TestPresenter presenter;
+    private LoadCalendarInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        FileSubgoalDataAccessObject subgoalDAO = new FileSubgoalDataAccessObject();
+        subgoalDAO.saveSubgoal(new Subgoal("sg1", "plan1", "alice", "First", "Start.", TODAY, false, false));
+        subgoalDAO.saveSubgoal(new Subgoal("sg2", "plan1", "alice", "Second", "Continue.", TODAY.plusDays(5), false, false));
+        subgoalDAO.saveSubgoal(new Subgoal("sg3", "plan1", "alice", "Third", "Finish.", TODAY.plusMonths(1), false, false));
+        subgoalDAO.saveSubgoal(new Subgoal("sg4", "plan2", "bob", "Other", "Elsewhere.", TODAY, false, false));
+        presenter = new TestPresenter();
+        interactor = new LoadCalendarInteractor(subgoalDAO, presenter);
+    }
+
+    @Test
+    void loadMonthPresentsTheWholeMonthTest() {
+        interactor.loadMonth("alice", TODAY);
+
+        assertEquals("alice", presenter.month.getUsername());
+        assertEquals(TODAY.withDayOfMonth(1), presenter.month.getMonth());
+        assertEquals(List.of("sg1", "sg2"), idsOf(presenter.month.getSubgoals()));
+    }
+
+    @Test
+    void loadUpcomingPagesUntilNoMoreTest() {
+        interactor.loadUpcoming("alice", TODAY, null, 2);
+        assertEquals(List.of("sg1", "sg2"), idsOf(presenter.upcoming.getSubgoals()));
+        assertTrue(presenter.upcoming.hasMore());
+        assertNull(presenter.upcoming.getAfter());
+
+        Subgoal last = presenter.upcoming.getSubgoals().get(1);
+        interactor.loadUpcoming("alice", TODAY, last, 2);
+        assertEquals(List.of("sg3"), idsOf(presenter.upcoming.getSubgoals()));
+        assertFalse(presenter.upcoming.hasMore());
+        assertSame(last, presenter.upcoming.getAfter());
+    }
+
+    private static List<String> idsOf(List<Subgoal> subgoals) {
+        List<String> ids = new ArrayList<>();
+        for (Subgoal subgoal : subgoals) {
+            ids.add(subgoal.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,88 @@
+package use_case.login;
+
+import data_access.file.FilePlanDataAccessObject;
+import data_access.file.FileUserDataAccessObject;
+import entity.plan.Plan;
+import entity.user.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginInteractorTest {
+
+    /**
+     * In-memory plan store that records the users whose plans were read.
+     */
+    private static class RecordingPlanDAO extends FilePlanDataAccessObject {
+        final List<String> planReads = new ArrayList<>();
+
+        @Override
+        public List<Plan> getPlansByUsername(String username) {
+            planReads.add(username);
+            return super.getPlansByUsername(username);
+        }
+    }
+
+    /**
+     * Presenter that records what was presented, and which plan reads had happened by then.
+     */
+    private static class RecordingPresenter implements LoginOutputBoundary {
+        private final RecordingPlanDAO planDAO;
+        String loggedIn;
+        String error;
+        int planReadsWhenPresented = -1;
+
+        RecordingPresenter(RecordingPlanDAO planDAO) {
+            this.planDAO = planDAO;
+        }
+
+        @Override
+        public void prepareSuccessView(LoginOutputData outputData) {
+            loggedIn = outputData.getUsername();
+            planReadsWhenPresented = planDAO.planReads.size();
+        }
+
+        @Override
+        public void prepareFailView(String errorMessage) {
+            error = errorMessage;
+        }
+
+        @Override
+        public void switchToSignupView() {
+        }
+    }
+
+    private RecordingPlanDAO planDAO;
+    private RecordingPresenter presenter;
+    private LoginInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        FileUserDataAccessObject userDAO = new FileUserDataAccessObject(null);
+        userDAO.save(new User("alice", "secret"));
+        planDAO = new RecordingPlanDAO();
+        presenter = new RecordingPresenter(planDAO);
+        interactor = new LoginInteractor(userDAO, presenter, planDAO);
+    }
+
+    @Test
+    void plansAreCachedAfterTheLoginIsPresentedTest() {
+        interactor.execute(new LoginInputData("alice", "secret"));
+
+        assertEquals("alice", presenter.loggedIn);
+        assertEquals(0, presenter.planReadsWhenPresented);
+        assertEquals(List.of("alice"), planDAO.planReads);
+    }
+
+    @Test
+    void failedLoginReadsNoPlansTest() {
+        interactor.execute(new LoginInputData("alice", "wrong"));
+
+        assertNotNull(presenter.error);
+        assertTrue(planDAO.planReads.isEmpty());
+    }
+}
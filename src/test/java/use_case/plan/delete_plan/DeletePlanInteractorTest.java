@@ -2,11 +2,13 @@ package use_case.plan.delete_plan;
 
 import entity.plan.Plan;
 import entity.subgoal.Subgoal;
+import entity.subgoal.SubgoalQuestionAnswer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -121,6 +123,33 @@ public class DeletePlanInteractorTest {
         assertNotNull(subgoalDAO.getSubgoalByIdTest("sub2"), "Subgoal for plan2 should still exist");
     }
 
+    /**
+     * Cascade delete also removes the Q/A history of the deleted subgoals, and only theirs.
+     */
+    @Test
+    void execute_planWithQnaHistory_deletesHistoryOfRelatedSubgoals() {
+        // Arrange
+        InMemorySubgoalQnaDAO qnaDAO = new InMemorySubgoalQnaDAO();
+        interactor = new DeletePlanInteractor(planDAO, presenter, subgoalDAO, qnaDAO);
+        planDAO.save(new Plan("plan1", "user1", "Plan 1", "Description 1"));
+        planDAO.save(new Plan("plan2", "user1", "Plan 2", "Description 2"));
+        subgoalDAO.save(new Subgoal("sub1", "plan1", "user1", "Task 1",
+                "Description", LocalDate.of(2025, 1, 1), false, false));
+        subgoalDAO.save(new Subgoal("sub2", "plan2", "user1", "Task 2",
+                "Description", LocalDate.of(2025, 1, 2), false, false));
+        qnaDAO.appendEntry("sub1", "How?", "Like this.");
+        qnaDAO.appendEntry("sub1", "Why?", "Because.");
+        qnaDAO.appendEntry("sub2", "When?", "Now.");
+
+        // Act
+        interactor.execute(new DeletePlanInputData("plan1", "user1"));
+
+        // Assert
+        assertTrue(presenter.outputData.isSuccess());
+        assertTrue(qnaDAO.getHistory("sub1").isEmpty(), "History of deleted subgoal should be removed");
+        assertEquals(1, qnaDAO.getHistory("sub2").size(), "History of other plan should remain");
+    }
+
     /**
      * Error path: Try to delete a plan that doesn't exist.
      */
@@ -285,6 +314,39 @@ public class DeletePlanInteractorTest {
         }
     }
 
+    /**
+     * In-memory Q/A history DAO for testing cascade delete.
+     */
+    private static class InMemorySubgoalQnaDAO
+            implements data_access.interfaces.subgoal.SubgoalQnaDataAccessInterface {
+        private final List<SubgoalQuestionAnswer> entries = new ArrayList<>();
+
+        @Override
+        public List<SubgoalQuestionAnswer> getHistory(String subgoalId) {
+            List<SubgoalQuestionAnswer> result = new ArrayList<>();
+            for (SubgoalQuestionAnswer entry : entries) {
+                if (entry.getSubgoalId().equals(subgoalId)) {
+                    result.add(entry);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        public SubgoalQuestionAnswer appendEntry(String subgoalId, String questionMessage,
+                                                 String responseMessage) {
+            SubgoalQuestionAnswer entry = new SubgoalQuestionAnswer("qa" + entries.size(), subgoalId,
+                    questionMessage, responseMessage);
+            entries.add(entry);
+            return entry;
+        }
+
+        @Override
+        public void deleteHistory(Collection<String> subgoalIds) {
+            entries.removeIf(entry -> subgoalIds.contains(entry.getSubgoalId()));
+        }
+    }
+
     /**
      * Test presenter that captures output.
      */
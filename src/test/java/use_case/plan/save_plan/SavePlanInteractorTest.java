@@ -10,8 +10,12 @@ import interface_adapter.plan.save_plan.SavePlanPresenter;
 import interface_adapter.plan.save_plan.SavePlanViewModel;
 import org.junit.jupiter.api.Test;
 
+import use_case.subgoal.save_subgoal.SaveSubgoalInputData;
+
+import java.time.LocalDate;
 import java.util.ArrayList;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SavePlanInteractorTest {
@@ -38,4 +42,30 @@ public class SavePlanInteractorTest {
                 savePlanDataAccessObject, subgoalDataAccessObject);
         savePlanInteractor.execute(savePlanInputData);
     }
+
+    @Test
+    void failedPlanSaveRollsBackSubgoalsTest() {
+        SavePlanOutputBoundary savePlanPresenter = new SavePlanOutputBoundary() {
+            @Override
+            public void prepareView(SavePlanOutputData outputData) {
+                assertFalse(outputData.getSuccess());
+            }
+        };
+        SavePlanDataAccessInterface failingPlanDataAccessObject = plan -> {
+            throw new IllegalStateException("disk full");
+        };
+        FileSubgoalDataAccessObject subgoalDataAccessObject = new FileSubgoalDataAccessObject();
+        ArrayList<SaveSubgoalInputData> subgoals = new ArrayList<>();
+        subgoals.add(new SaveSubgoalInputData("Step 1", "First", LocalDate.now()));
+        subgoals.add(new SaveSubgoalInputData("Step 2", "Second", LocalDate.now().plusDays(1)));
+        SavePlanInputData savePlanInputData = new SavePlanInputData(
+                "Test",
+                "Test",
+                "Test",
+                subgoals);
+        SavePlanInputBoundary savePlanInteractor = new SavePlanInteractor(savePlanPresenter,
+                failingPlanDataAccessObject, subgoalDataAccessObject);
+        savePlanInteractor.execute(savePlanInputData);
+        assertTrue(subgoalDataAccessObject.getSubgoalsByUsername("Test").isEmpty());
+    }
 }
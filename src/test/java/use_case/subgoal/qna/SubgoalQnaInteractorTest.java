@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -284,6 +286,152 @@ public class SubgoalQnaInteractorTest {
     }
 
 
+    /**
+     * A streaming gateway: each chunk should reach the presenter as it arrives, and only the
+     * complete answer should be saved once the stream ends.
+     */
+    @Test
+    void ask_streamingAnswer_presentsChunksThenSavesWholeAnswer() {
+        InMemoryQnaDAO qnaDAO = new InMemoryQnaDAO();
+        InMemorySubgoalDAO subgoalDAO = new InMemorySubgoalDAO();
+        TestPresenter presenter = new TestPresenter();
+        CompletableFuture<String> streamEnd = new CompletableFuture<>();
+        List<Consumer<String>> listeners = new ArrayList<>();
+
+        SubgoalQnaGeminiDataAccessInterface streamingGemini =
+                new SubgoalQnaGeminiDataAccessInterface() {
+                    @Override
+                    public String getAnswerForQuestion(String question) {
+                        throw new AssertionError("the streaming path should be used");
+                    }
+
+                    @Override
+                    public CompletableFuture<String> streamAnswerForQuestion(String question,
+                                                                             Consumer<String> onChunk) {
+                        listeners.add(onChunk);
+                        return streamEnd;
+                    }
+                };
+
+        SubgoalQnaInteractor interactor =
+                new SubgoalQnaInteractor(qnaDAO, subgoalDAO, streamingGemini, presenter);
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "How do I start?"));
+
+        listeners.get(0).accept("Start ");
+        listeners.get(0).accept("small.");
+        assertEquals("Start small.", presenter.streamedAnswer.toString());
+        assertNull(presenter.updateData, "nothing is saved while the answer streams");
+        assertTrue(qnaDAO.getHistory("sg1").isEmpty());
+
+        streamEnd.complete("Start small.");
+
+        assertNotNull(presenter.updateData);
+        List<SubgoalQuestionAnswer> history = qnaDAO.getHistory("sg1");
+        assertEquals(1, history.size());
+        assertEquals("Start small.", history.get(0).getResponseMessage());
+    }
+
+    /**
+     * Cancelling a question while it streams should neither save nor present its answer.
+     */
+    @Test
+    void cancel_whileStreaming_discardsAnswer() {
+        InMemoryQnaDAO qnaDAO = new InMemoryQnaDAO();
+        TestPresenter presenter = new TestPresenter();
+        CompletableFuture<String> streamEnd = new CompletableFuture<>();
+
+        SubgoalQnaGeminiDataAccessInterface streamingGemini =
+                new SubgoalQnaGeminiDataAccessInterface() {
+                    @Override
+                    public String getAnswerForQuestion(String question) {
+                        throw new AssertionError("the streaming path should be used");
+                    }
+
+                    @Override
+                    public CompletableFuture<String> streamAnswerForQuestion(String question,
+                                                                             Consumer<String> onChunk) {
+                        return streamEnd;
+                    }
+                };
+
+        SubgoalQnaInteractor interactor =
+                new SubgoalQnaInteractor(qnaDAO, new InMemorySubgoalDAO(), streamingGemini, presenter);
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "How do I start?"));
+        interactor.cancel();
+
+        assertTrue(streamEnd.isCancelled());
+        assertNull(presenter.updateData);
+        assertTrue(qnaDAO.getHistory("sg1").isEmpty());
+    }
+
+    /**
+     * Gemini stub whose answers are completed by the test, in any order.
+     */
+    private static class ManualGemini implements SubgoalQnaGeminiDataAccessInterface {
+        final List<String> prompts = new ArrayList<>();
+        final List<CompletableFuture<String>> answers = new ArrayList<>();
+
+        @Override
+        public String getAnswerForQuestion(String question) {
+            throw new AssertionError("the streaming path should be used");
+        }
+
+        @Override
+        public CompletableFuture<String> streamAnswerForQuestion(String question, Consumer<String> onChunk) {
+            prompts.add(question);
+            CompletableFuture<String> answer = new CompletableFuture<>();
+            answers.add(answer);
+            return answer;
+        }
+    }
+
+    /**
+     * The same question sent twice while it is being answered, as with a double-click on
+     * send, should be asked and saved only once.
+     */
+    @Test
+    void ask_sameQuestionWhilePending_isAskedOnce() {
+        InMemoryQnaDAO qnaDAO = new InMemoryQnaDAO();
+        ManualGemini gemini = new ManualGemini();
+        SubgoalQnaInteractor interactor =
+                new SubgoalQnaInteractor(qnaDAO, new InMemorySubgoalDAO(), gemini, new TestPresenter());
+
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "How do I start?"));
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "How do I start?"));
+        gemini.answers.get(0).complete("Start small.");
+
+        assertEquals(1, gemini.prompts.size());
+        assertEquals(1, qnaDAO.getHistory("sg1").size());
+    }
+
+    /**
+     * Questions about one subgoal should be answered one after another, each seeing the
+     * answers before it, and saved in the order they were asked.
+     */
+    @Test
+    void ask_questionsAboutOneSubgoal_areAnsweredInOrder() {
+        InMemoryQnaDAO qnaDAO = new InMemoryQnaDAO();
+        ManualGemini gemini = new ManualGemini();
+        SubgoalQnaInteractor interactor =
+                new SubgoalQnaInteractor(qnaDAO, new InMemorySubgoalDAO(), gemini, new TestPresenter());
+
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "First?"));
+        interactor.ask(new SubgoalQnaAskInputData("sg1", "Second?"));
+        interactor.ask(new SubgoalQnaAskInputData("sg2", "Other subgoal?"));
+        assertEquals(2, gemini.prompts.size(), "the second question waits for the first answer");
+        assertTrue(gemini.prompts.get(1).contains("Other subgoal?"), "other subgoals are not held up");
+
+        gemini.answers.get(0).complete("First answer.");
+        assertEquals(3, gemini.prompts.size());
+        assertTrue(gemini.prompts.get(2).contains("A: First answer."),
+                "the second prompt includes the first answer");
+        gemini.answers.get(2).complete("Second answer.");
+
+        List<SubgoalQuestionAnswer> history = qnaDAO.getHistory("sg1");
+        assertEquals(List.of("First?", "Second?"),
+                List.of(history.get(0).getQuestionMessage(), history.get(1).getQuestionMessage()));
+    }
+
     // =====================================================================
     // Test doubles
     // =====================================================================
@@ -428,6 +576,7 @@ public class SubgoalQnaInteractorTest {
         SubgoalQnaOutputData initialData;
         SubgoalQnaOutputData updateData;
         String errorMessage;
+        StringBuilder streamedAnswer = new StringBuilder();
 
         @Override
         public void presentInitial(SubgoalQnaOutputData outputData) {
@@ -443,5 +592,10 @@ public class SubgoalQnaInteractorTest {
         public void presentError(String message) {
             this.errorMessage = message;
         }
+
+        @Override
+        public void presentAnswerChunk(SubgoalQnaAnswerChunkOutputData outputData) {
+            streamedAnswer.append(outputData.getChunk());
+        }
     }
 }
@@ -0,0 +1,128 @@
+package use_case.subgoal.qna;
+
+import data_access.file.FileSubgoalDataAccessObject;
+import entity.subgoal.Subgoal;
+import entity.subgoal.SubgoalQuestionAnswer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SubgoalQnaPromptBuilderTest {
+
+    /**
+     * In-memory subgoal store that counts the plan lookups.
+     */
+    private static class CountingSubgoalDAO extends FileSubgoalDataAccessObject {
+        int planLookups = 0;
+
+        @Override
+        public List<Subgoal> getSubgoalsByPlanId(String planId) {
+            planLookups++;
+            return super.getSubgoalsByPlanId(planId);
+        }
+    }
+
+    private CountingSubgoalDAO subgoalDAO;
+
+    @BeforeEach
+    void setUp() {
+        subgoalDAO = new CountingSubgoalDAO();
+        for (int i = 1; i <= 3; i++) {
+            subgoalDAO.saveSubgoal(subgoal("sg" + i, "Step " + i, "Description of step " + i + "."));
+        }
+    }
+
+    private static Subgoal subgoal(String id, String name, String description) {
+        int day = Integer.parseInt(id.substring(2));
+        return new Subgoal(id, "plan1", "user1", name, description, LocalDate.of(2030, 1, day), false, false);
+    }
+
+    private static List<SubgoalQuestionAnswer> history(int entries, int answerLength) {
+        List<SubgoalQuestionAnswer> history = new ArrayList<>();
+        for (int i = 1; i <= entries; i++) {
+            history.add(new SubgoalQuestionAnswer("qa" + i, "sg2", "Question " + i + "?",
+                    "Answer " + i + " " + "x".repeat(answerLength)));
+        }
+        return history;
+    }
+
+    @Test
+    void planContextIsCachedUntilSubgoalsChangeTest() {
+        SubgoalQnaPromptBuilder builder = new SubgoalQnaPromptBuilder(subgoalDAO, 4000);
+
+        builder.build("sg2", "How?", List.of());
+        String prompt = builder.build("sg2", "Why?", List.of());
+        assertEquals(1, subgoalDAO.planLookups);
+        assertTrue(prompt.contains("2. Step 2 (CURRENT Q&A SUBGOAL)"));
+
+        subgoalDAO.saveSubgoal(subgoal("sg3", "Renamed step", "Description of step 3."));
+        prompt = builder.build("sg2", "When?", List.of());
+        assertEquals(2, subgoalDAO.planLookups);
+        assertTrue(prompt.contains("The next subgoal in this plan is: Renamed step."));
+    }
+
+    @Test
+    void changesToOtherPlansKeepThePlanContextTest() {
+        SubgoalQnaPromptBuilder builder = new SubgoalQnaPromptBuilder(subgoalDAO, 4000);
+        subgoalDAO.saveSubgoal(new Subgoal("sg4", "plan2", "user1", "Other step", "Description of step 4.",
+                LocalDate.of(2030, 1, 4), false, false));
+
+        builder.build("sg2", "How?", List.of());
+        builder.build("sg4", "How?", List.of());
+        subgoalDAO.saveSubgoal(new Subgoal("sg5", "plan2", "user1", "Another step", "Description of step 5.",
+                LocalDate.of(2030, 1, 5), false, false));
+        subgoalDAO.deleteSubgoal("sg4");
+        builder.build("sg2", "Why?", List.of());
+        assertEquals(2, subgoalDAO.planLookups);
+
+        builder.build("sg5", "Why?", List.of());
+        assertEquals(3, subgoalDAO.planLookups);
+    }
+
+    @Test
+    void oldestHistoryIsLeftOutFirstTest() {
+        SubgoalQnaPromptBuilder builder = new SubgoalQnaPromptBuilder(subgoalDAO, 1000);
+
+        String prompt = builder.build("sg2", "What next?", history(20, 400));
+
+        assertTrue(SubgoalQnaPromptBuilder.estimateTokens(prompt) <= 1000);
+        assertTrue(prompt.contains("Q: Question 20?"), "the newest entry is kept");
+        assertFalse(prompt.contains("Q: Question 1?"), "the oldest entry is left out");
+        assertTrue(prompt.contains("earlier questions are not shown."));
+        assertTrue(prompt.indexOf("Q: Question 19?") < prompt.indexOf("Q: Question 20?"),
+                "entries stay in the order they were asked");
+    }
+
+    @Test
+    void longAnswerIsTruncatedToFitTest() {
+        SubgoalQnaPromptBuilder builder = new SubgoalQnaPromptBuilder(subgoalDAO, 600);
+
+        String prompt = builder.build("sg2", "What next?", history(1, 5000));
+
+        assertTrue(SubgoalQnaPromptBuilder.estimateTokens(prompt) <= 600);
+        assertTrue(prompt.contains("Q: Question 1?"));
+        assertTrue(prompt.contains(" ...\n"));
+        assertTrue(prompt.endsWith("the previous conversation if helpful.\n"));
+    }
+
+    @Test
+    void longPlanListsOnlyNamesOfDistantSubgoalsTest() {
+        for (int i = 4; i <= 9; i++) {
+            subgoalDAO.saveSubgoal(subgoal("sg" + i, "Step " + i, "Long description " + "y".repeat(500)));
+        }
+        SubgoalQnaPromptBuilder builder = new SubgoalQnaPromptBuilder(subgoalDAO, 1000);
+
+        String prompt = builder.build("sg2", "What next?", List.of());
+
+        assertTrue(SubgoalQnaPromptBuilder.estimateTokens(prompt) <= 1000);
+        assertTrue(prompt.contains("Description of step 1."), "neighbours keep their descriptions");
+        assertTrue(prompt.contains("Description of step 3."));
+        assertTrue(prompt.contains("9. Step 9\n"));
+        assertFalse(prompt.contains("Long description"));
+    }
+}